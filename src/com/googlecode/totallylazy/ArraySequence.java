@@ -0,0 +1,48 @@
+package com.googlecode.totallylazy;
+
+import com.googlecode.totallylazy.iterators.ArrayIterator;
+
+import java.util.Iterator;
+
+public final class ArraySequence<T> extends Sequence<T> implements Splittable<T> {
+    private final T[] array;
+    private final int start;
+    private final int end;
+
+    private ArraySequence(T[] array, int start, int end) {
+        this.array = array;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static <T> ArraySequence<T> arraySequence(T[] array) {
+        return new ArraySequence<T>(array, 0, array.length);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayIterator<T>(array, start, end);
+    }
+
+    @Override
+    public int size() {
+        return end - start;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        return array[start + index];
+    }
+
+    @Override
+    public ArraySequence<T> slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        return new ArraySequence<T>(array, start + fromIndex, start + toIndex);
+    }
+}
@@ -1,11 +1,10 @@
 package com.googlecode.totallylazy;
 
-import com.googlecode.totallylazy.concurrent.NamedExecutors;
+import com.googlecode.totallylazy.concurrent.Scheduler;
 import com.googlecode.totallylazy.functions.*;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
@@ -14,17 +13,9 @@ import static com.googlecode.totallylazy.Sequences.sequence;
 
 public final class Callers {
     public static <T> Function0<T> callConcurrently(Callable<? extends T> callable) {
-        ExecutorService service = executorService();
-        try {
-            final Future<? extends T> future = service.submit(callable);
-            return () -> future.get();
-        } finally {
-            service.shutdown();
-        }
-    }
-
-    private static ExecutorService executorService() {
-        return NamedExecutors.newCachedThreadPool(Callers.class);
+        final FutureTask<T> future = new FutureTask<T>(callable::call);
+        Scheduler.unbounded().execute(future);
+        return future::get;
     }
 
     public static <T> Sequence<T> callConcurrently(final Callable<? extends T> first, final Callable<? extends T> second) {
@@ -49,12 +40,7 @@ public final class Callers {
     }
 
     public static <T> Sequence<T> callConcurrently(final Iterable<? extends Callable<? extends T>> callables) {
-        ExecutorService service = executorService();
-        try {
-            return callConcurrently(callables, service);
-        } finally {
-            service.shutdown();
-        }
+        return callConcurrently(callables, Scheduler.unbounded());
     }
 
     public static <T> Sequence<T> callConcurrently(final Iterable<? extends Callable<? extends T>> callables, final Executor executor) {
@@ -7,11 +7,17 @@ import com.googlecode.totallylazy.predicates.LogicalPredicate;
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.reflection.Methods;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.googlecode.totallylazy.LazyException.lazyException;
 import static com.googlecode.totallylazy.functions.Callables.toClass;
 import static com.googlecode.totallylazy.reflection.Methods.methodName;
 import static com.googlecode.totallylazy.reflection.Methods.parameterTypes;
@@ -25,17 +31,16 @@ import static com.googlecode.totallylazy.comparators.Comparators.by;
 import static com.googlecode.totallylazy.numbers.Numbers.ascending;
 import static com.googlecode.totallylazy.numbers.Numbers.minimum;
 import static com.googlecode.totallylazy.numbers.Numbers.sum;
+import static java.lang.reflect.Modifier.isStatic;
 
 public class Dispatcher {
-    private final Class<?> aClass;
+    private static final int POLYMORPHIC_LIMIT = 8;
+    private final Targets targets;
     private final Object instance;
-    private final Predicate<? super Method> predicate;
-    private final ConcurrentMap<List<?>, Option<Method>> cache = new ConcurrentHashMap<List<?>, Option<Method>>();
 
-    private Dispatcher(Class<?> aClass, Object instance, Predicate<? super Method> predicate) {
-        this.aClass = aClass;
+    private Dispatcher(Targets targets, Object instance) {
+        this.targets = targets;
         this.instance = instance;
-        this.predicate = predicate;
     }
 
     public static Dispatcher dispatcher(Class<?> aClass, String name) {
@@ -55,7 +60,11 @@ public class Dispatcher {
     }
 
     public static Dispatcher dispatcher(Class<?> aClass, Object instance, Predicate<? super Method> predicate) {
-        return new Dispatcher(aClass, instance, predicate);
+        return new Dispatcher(new Targets(aClass, predicate), instance);
+    }
+
+    public Dispatcher bind(Object instance) {
+        return instance == this.instance ? this : new Dispatcher(targets, instance);
     }
 
     public <T> T invoke(Object... args) {
@@ -63,12 +72,93 @@ public class Dispatcher {
     }
 
     public <T> Option<T> invokeOption(Object... args) {
-        final List<Class<?>> argumentClasses = sequence(args).map(toClass()).toList();
-        return cache.computeIfAbsent(argumentClasses, key -> Methods.allMethods(aClass).
-                filter(predicate).
-                filter(where(parameterTypes(), matches(argumentClasses))).
-                sort(by(distanceFrom(argumentClasses), ascending())).
-                headOption()).map(Methods.<T>invokeOn(instance, args));
+        MethodHandle handle = targets.target(args).handle;
+        if (handle == null) return Option.none();
+        try {
+            return Option.option(Unchecked.<T>cast((Object) handle.invokeExact(instance, args)));
+        } catch (Throwable e) {
+            // same contract as reflective invocation: whatever the target throws arrives as the cause of a LazyException
+            throw lazyException(new InvocationTargetException(e));
+        }
+    }
+
+    private static class Targets {
+        private final Class<?> aClass;
+        private final Predicate<? super Method> predicate;
+        private final ClassValue<ConcurrentMap<List<Class<?>>, Target>> resolved = new ClassValue<ConcurrentMap<List<Class<?>>, Target>>() {
+            @Override
+            protected ConcurrentMap<List<Class<?>>, Target> computeValue(Class<?> firstArgument) {
+                return new ConcurrentHashMap<List<Class<?>>, Target>();
+            }
+        };
+        private volatile Target[] cache = new Target[0];
+
+        private Targets(Class<?> aClass, Predicate<? super Method> predicate) {
+            this.aClass = aClass;
+            this.predicate = predicate;
+        }
+
+        private Target target(Object[] args) {
+            Target[] cache = this.cache;
+            for (Target target : cache) {
+                if (target.matches(args)) return target;
+            }
+            return miss(args);
+        }
+
+        private Target miss(Object[] args) {
+            final List<Class<?>> argumentClasses = sequence(args).map(toClass()).toList();
+            Class<?> first = argumentClasses.isEmpty() ? Void.class : argumentClasses.get(0);
+            Target target = resolved.get(first).computeIfAbsent(argumentClasses, this::resolve);
+            synchronized (this) {
+                if (cache.length < POLYMORPHIC_LIMIT && !Arrays.asList(cache).contains(target)) {
+                    Target[] newCache = Arrays.copyOf(cache, cache.length + 1);
+                    newCache[cache.length] = target;
+                    cache = newCache;
+                }
+            }
+            return target;
+        }
+
+        private Target resolve(List<Class<?>> argumentClasses) {
+            Option<Method> method = Methods.allMethods(aClass).
+                    filter(predicate).
+                    filter(where(parameterTypes(), matches(argumentClasses))).
+                    sort(by(distanceFrom(argumentClasses), ascending())).
+                    headOption();
+            return new Target(argumentClasses.toArray(new Class<?>[argumentClasses.size()]), method.isEmpty() ? null : compile(method.get()));
+        }
+    }
+
+    private static class Target {
+        private final Class<?>[] argumentClasses;
+        private final MethodHandle handle;
+
+        private Target(Class<?>[] argumentClasses, MethodHandle handle) {
+            this.argumentClasses = argumentClasses;
+            this.handle = handle;
+        }
+
+        private boolean matches(Object[] args) {
+            if (args.length != argumentClasses.length) return false;
+            for (int i = 0; i < args.length; i++) {
+                Object arg = args[i];
+                if ((arg == null ? Void.class : arg.getClass()) != argumentClasses[i]) return false;
+            }
+            return true;
+        }
+    }
+
+    private static MethodHandle compile(Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            int arity = method.getParameterTypes().length;
+            if (isStatic(method.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            return handle.asType(MethodType.genericMethodType(arity + 1)).asSpreader(Object[].class, arity);
+        } catch (IllegalAccessException e) {
+            throw lazyException(e);
+        }
     }
 
     private static Function1<Method, Number> distanceFrom(final Iterable<Class<?>> argumentClasses) {
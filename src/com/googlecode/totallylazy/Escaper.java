@@ -3,34 +3,161 @@ package com.googlecode.totallylazy;
 import com.googlecode.totallylazy.functions.Function1;
 import com.googlecode.totallylazy.predicates.Predicate;
 
-import static com.googlecode.totallylazy.functions.Callables.toString;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.googlecode.totallylazy.Callers.call;
+import static com.googlecode.totallylazy.LazyException.lazyException;
 import static com.googlecode.totallylazy.functions.Functions.returns1;
-import static com.googlecode.totallylazy.predicates.Predicates.always;
 import static com.googlecode.totallylazy.predicates.Predicates.is;
-import static com.googlecode.totallylazy.Sequences.characters;
 
 public class Escaper {
-    private final Rules<Character, String> rules = Rules.rules();
-
-    public Escaper() {
-        rules.addLast(always(Character.class), toString);
-    }
+    private static final int MINIMUM_TABLE_SIZE = 128;
+    private final List<Escape> rules = new ArrayList<Escape>();
+    private volatile Table table;
 
     public Escaper withRule(Character appliesTo, final String result) {
-        return withRule(is(appliesTo), returns1(result));
+        return add(appliesTo, is(appliesTo), returns1(result));
     }
 
     public Escaper withRule(Predicate<? super Character> appliesTo, Function1<? super Character, ? extends String> action) {
-        rules.addFirst(appliesTo, action);
+        return add(null, appliesTo, action);
+    }
+
+    private synchronized Escaper add(Character character, Predicate<? super Character> appliesTo, Function1<? super Character, ? extends String> action) {
+        rules.add(0, new Escape(character, appliesTo, action));
+        table = null;
         return this;
     }
 
     public String escape(Object value) {
-        return value == null ? null : characters(value.toString()).map(escape()).toString("");
+        if (value == null) return null;
+        String string = value.toString();
+        Table table = table();
+        int length = string.length();
+        for (int i = 0; i < length; i++) {
+            if (replacement(table, string.charAt(i)) == null) continue;
+            try {
+                return escape(string, i, length, table, new StringBuilder(length + 16).append(string, 0, i)).toString();
+            } catch (IOException e) {
+                throw lazyException(e);
+            }
+        }
+        return string;
+    }
+
+    public <A extends Appendable> A escape(Object value, A appendable) {
+        try {
+            if (value == null) {
+                appendable.append((CharSequence) null);
+                return appendable;
+            }
+            CharSequence characters = value instanceof CharSequence ? (CharSequence) value : value.toString();
+            return escape(characters, 0, characters.length(), table(), appendable);
+        } catch (IOException e) {
+            throw lazyException(e);
+        }
+    }
+
+    public <A extends Appendable> A escape(char[] characters, int start, int end, A appendable) {
+        try {
+            Table table = table();
+            int run = start;
+            for (int i = start; i < end; i++) {
+                String replacement = replacement(table, characters[i]);
+                if (replacement == null) continue;
+                if (run < i) appendable.append(CharBuffer.wrap(characters, run, i - run));
+                appendable.append(replacement);
+                run = i + 1;
+            }
+            if (run < end) appendable.append(CharBuffer.wrap(characters, run, end - run));
+            return appendable;
+        } catch (IOException e) {
+            throw lazyException(e);
+        }
     }
 
-    private Function1<Character, String> escape() {
-        return character -> rules.apply(character);
+    private <A extends Appendable> A escape(CharSequence characters, int start, int end, Table table, A appendable) throws IOException {
+        int run = start;
+        for (int i = start; i < end; i++) {
+            String replacement = replacement(table, characters.charAt(i));
+            if (replacement == null) continue;
+            if (run < i) appendable.append(characters, run, i);
+            appendable.append(replacement);
+            run = i + 1;
+        }
+        if (run < end) appendable.append(characters, run, end);
+        return appendable;
     }
 
+    private static String replacement(Table table, char character) {
+        String[] lookup = table.lookup;
+        if (character < lookup.length) return lookup[character];
+        if (table.predicates.length == 0) return null;
+        return apply(table.predicates, character);
+    }
+
+    private Table table() {
+        Table current = table;
+        return current == null ? compile() : current;
+    }
+
+    private synchronized Table compile() {
+        if (table != null) return table;
+        Escape[] escapes = rules.toArray(new Escape[rules.size()]);
+        int size = MINIMUM_TABLE_SIZE;
+        for (Escape escape : escapes) {
+            if (escape.character != null) size = Math.max(size, escape.character + 1);
+        }
+        String[] lookup = new String[size];
+        List<Escape> predicates = new ArrayList<Escape>();
+        for (int i = escapes.length - 1; i >= 0; i--) {
+            Escape escape = escapes[i];
+            if (escape.character != null) {
+                lookup[escape.character] = escape.apply(escape.character);
+                continue;
+            }
+            predicates.add(0, escape);
+            for (int c = 0; c < size; c++) {
+                if (escape.predicate.matches((char) c)) lookup[c] = escape.apply((char) c);
+            }
+        }
+        return table = new Table(lookup, predicates.toArray(new Escape[predicates.size()]));
+    }
+
+    private static String apply(Escape[] escapes, char character) {
+        for (Escape escape : escapes) {
+            if (escape.predicate.matches(character)) return escape.apply(character);
+        }
+        return null;
+    }
+
+    private static final class Table {
+        private final String[] lookup;
+        private final Escape[] predicates;
+
+        private Table(String[] lookup, Escape[] predicates) {
+            this.lookup = lookup;
+            this.predicates = predicates;
+        }
+    }
+
+    private static final class Escape {
+        private final Character character;
+        private final Predicate<? super Character> predicate;
+        private final Function1<? super Character, ? extends String> action;
+
+        private Escape(Character character, Predicate<? super Character> predicate, Function1<? super Character, ? extends String> action) {
+            this.character = character;
+            this.predicate = predicate;
+            this.action = action;
+        }
+
+        private String apply(char character) {
+            String result = call(action, character);
+            return result != null && result.length() == 1 && result.charAt(0) == character ? null : result;
+        }
+    }
 }
@@ -0,0 +1,256 @@
+package com.googlecode.totallylazy;
+
+import com.googlecode.totallylazy.io.Serialiser;
+import com.googlecode.totallylazy.iterators.MergeIterator;
+import com.googlecode.totallylazy.iterators.StatefulIterator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.googlecode.totallylazy.Closeables.safeClose;
+import static com.googlecode.totallylazy.LazyException.lazyException;
+
+class ExternalSort<T> {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int FAN_IN = 128;
+
+    private final Comparator<? super T> comparator;
+    private final Serialiser<T> serialiser;
+    private final int runSize;
+    private final File directory;
+
+    private ExternalSort(Comparator<? super T> comparator, Serialiser<T> serialiser, int runSize, File directory) {
+        this.comparator = comparator;
+        this.serialiser = serialiser;
+        this.runSize = runSize;
+        this.directory = directory;
+    }
+
+    static <T> Sequence<T> sort(final Iterable<? extends T> iterable, final Comparator<? super T> comparator, final Serialiser<T> serialiser, final int runSize, final File directory) {
+        if (runSize < 1) throw new IllegalArgumentException("runSize must be at least 1");
+        return new ExternalSort<T>(comparator, serialiser, runSize, directory).new SortedSequence(iterable);
+    }
+
+    private Sorted sort(Iterator<? extends T> source) {
+        List<T> buffer = new ArrayList<T>();
+        fill(source, buffer);
+        if (!source.hasNext()) return new Sorted(buffer, null);
+        List<Run> runs = new ArrayList<Run>();
+        try {
+            runs.add(spill(buffer.iterator()));
+            while (source.hasNext()) {
+                fill(source, buffer);
+                runs.add(spill(buffer.iterator()));
+            }
+            buffer = null;
+            while (runs.size() > FAN_IN) runs = mergePass(runs);
+            for (Run run : runs) run.detach();
+            return new Sorted(null, runs);
+        } catch (IOException e) {
+            delete(runs);
+            throw lazyException(e);
+        } catch (RuntimeException | Error e) {
+            delete(runs);
+            throw e;
+        }
+    }
+
+    private void fill(Iterator<? extends T> source, List<T> buffer) {
+        buffer.clear();
+        while (buffer.size() < runSize && source.hasNext()) buffer.add(source.next());
+        buffer.sort(comparator);
+    }
+
+    private List<Run> mergePass(List<Run> runs) throws IOException {
+        List<Run> result = new ArrayList<Run>();
+        for (int start = 0; start < runs.size(); start += FAN_IN) {
+            List<Run> group = runs.subList(start, Math.min(runs.size(), start + FAN_IN));
+            try {
+                result.add(spill(merge(group)));
+            } catch (IOException | RuntimeException | Error e) {
+                delete(result);
+                delete(runs.subList(start, runs.size()));
+                throw e;
+            } finally {
+                delete(group);
+            }
+        }
+        return result;
+    }
+
+    private Iterator<T> merge(List<Run> runs) throws IOException {
+        List<Iterator<T>> iterators = new ArrayList<Iterator<T>>(runs.size());
+        for (Run run : runs) iterators.add(run.iterator());
+        return new MergeIterator<T>(iterators, comparator);
+    }
+
+    private Run spill(Iterator<? extends T> values) throws IOException {
+        File file = File.createTempFile("totallylazy-sort", ".run", directory);
+        long count = 0;
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE))) {
+            while (values.hasNext()) {
+                serialiser.write(values.next(), output);
+                count++;
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            file.delete();
+            throw e;
+        }
+        return new Run(file, count);
+    }
+
+    private static void delete(List<? extends Closeable> runs) {
+        for (Closeable run : runs) safeClose(run);
+    }
+
+    private class SortedSequence extends Sequence<T> implements Memory {
+        private final Iterable<? extends T> iterable;
+        private Sorted sorted;
+
+        private SortedSequence(Iterable<? extends T> iterable) {
+            this.iterable = iterable;
+        }
+
+        @Override
+        public synchronized Iterator<T> iterator() {
+            Iterator<T> iterator = sorted == null ? null : sorted.open();
+            if (iterator != null) return iterator;
+            sorted = ExternalSort.this.sort(iterable.iterator());
+            return sorted.open();
+        }
+
+        /**
+         * Closes the run files straight away, failing any iterator still reading them; the next iteration sorts again.
+         */
+        @Override
+        public synchronized void forget() {
+            if (sorted != null) sorted.release();
+            sorted = null;
+        }
+
+        @Override
+        public void close() {
+            forget();
+        }
+    }
+
+    private class Sorted {
+        private final List<T> values;
+        private final List<Run> runs;
+        private int readers;
+        private boolean released;
+
+        private Sorted(List<T> values, List<Run> runs) {
+            this.values = values;
+            this.runs = runs;
+        }
+
+        // Runs stay open while any iterator over them is unfinished and are closed once the last one is exhausted;
+        // returns null when that has already happened.
+        private synchronized Iterator<T> open() {
+            if (values != null) return values.iterator();
+            if (released) return null;
+            final Iterator<T> merged;
+            try {
+                merged = merge(runs);
+            } catch (IOException e) {
+                throw lazyException(e);
+            }
+            readers++;
+            return new StatefulIterator<T>() {
+                @Override
+                protected T getNext() throws Exception {
+                    if (merged.hasNext()) return merged.next();
+                    exhausted();
+                    return finished();
+                }
+            };
+        }
+
+        private synchronized void exhausted() {
+            if (--readers == 0) release();
+        }
+
+        private synchronized void release() {
+            if (released || runs == null) return;
+            released = true;
+            delete(runs);
+        }
+    }
+
+    private class Run implements Closeable {
+        private final File file;
+        private final long count;
+        private FileInputStream stream;
+
+        private Run(File file, long count) {
+            this.file = file;
+            this.count = count;
+        }
+
+        // Keep the data reachable through an open descriptor but remove the name, so nothing is left behind
+        // when a sorted sequence is only partially consumed; the space is reclaimed once the run is closed.
+        private void detach() throws IOException {
+            stream = new FileInputStream(file);
+            if (!file.delete()) file.deleteOnExit();
+        }
+
+        private Iterator<T> iterator() throws IOException {
+            final FileChannel channel = stream == null ? (stream = new FileInputStream(file)).getChannel() : stream.getChannel();
+            final DataInputStream input = new DataInputStream(new BufferedInputStream(new ChannelInputStream(channel), BUFFER_SIZE));
+            return new StatefulIterator<T>() {
+                private long remaining = count;
+
+                @Override
+                protected T getNext() throws Exception {
+                    if (remaining == 0) return finished();
+                    remaining--;
+                    return serialiser.read(input);
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            if (stream != null) safeClose(stream);
+            stream = null;
+            file.delete();
+        }
+    }
+
+    private static class ChannelInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+
+        private ChannelInputStream(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, length), position);
+            if (read > 0) position += read;
+            return read;
+        }
+    }
+}
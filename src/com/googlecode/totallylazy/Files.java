@@ -2,6 +2,7 @@ package com.googlecode.totallylazy;
 
 import com.googlecode.totallylazy.functions.Block;
 import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.io.FileWalker;
 import com.googlecode.totallylazy.predicates.LogicalPredicate;
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.predicates.Predicates;
@@ -169,7 +170,7 @@ public class Files {
     }
 
     public static Sequence<File> recursiveFiles(final File directory) {
-        return files(directory).flatMap(recursiveFiles());
+        return FileWalker.directoriesLast(directory.toPath()).map(FileWalker.file());
     }
 
     public static Function1<File, Iterable<File>> recursiveFiles() {
@@ -177,7 +178,7 @@ public class Files {
     }
 
     public static Sequence<File> recursiveFilesDirectoriesFirst(final File directory) {
-        return files(directory).flatMap(recursiveFilesDirectoriesFirst());
+        return FileWalker.directoriesFirst(directory.toPath()).map(FileWalker.file());
     }
 
     public static Function1<File, Iterable<File>> recursiveFilesDirectoriesFirst() {
@@ -16,7 +16,11 @@ public class HtmlEncodedMessage {
     }
 
     public static String encode(String input) {
-        return ESCAPE_HTML4.translate(input);
+        return ESCAPER.escape(input);
+    }
+
+    public static <A extends Appendable> A encode(CharSequence input, A appendable) {
+        return ESCAPER.escape(input, appendable);
     }
 
     public static class functions {
@@ -55,12 +59,18 @@ public class HtmlEncodedMessage {
                     new NumericEntityUnescaper()
             );
 
-    private static final CharSequenceTranslator ESCAPE_HTML4 =
-            new AggregateTranslator(
-                    new LookupTranslator(EntityArrays.BASIC_ESCAPE()),
-                    new LookupTranslator(EntityArrays.ISO8859_1_ESCAPE()),
-                    new LookupTranslator(EntityArrays.HTML40_EXTENDED_ESCAPE())
-            );
+    private static final Escaper ESCAPER = escaper(
+            EntityArrays.BASIC_ESCAPE(),
+            EntityArrays.ISO8859_1_ESCAPE(),
+            EntityArrays.HTML40_EXTENDED_ESCAPE());
+
+    private static Escaper escaper(String[][]... lookups) {
+        Escaper escaper = new Escaper();
+        for (String[][] lookup : lookups) {
+            for (String[] entry : lookup) escaper.withRule(entry[0].charAt(0), entry[1]);
+        }
+        return escaper;
+    }
 
     private static abstract class CharSequenceTranslator {
 
@@ -5,6 +5,8 @@ import com.googlecode.totallylazy.functions.Callables;
 import com.googlecode.totallylazy.functions.Curried2;
 import com.googlecode.totallylazy.functions.Function1;
 import com.googlecode.totallylazy.functions.Function2;
+import com.googlecode.totallylazy.functions.Reducer;
+import com.googlecode.totallylazy.iterators.AdjacentGroupIterator;
 import com.googlecode.totallylazy.iterators.FilterIterator;
 import com.googlecode.totallylazy.iterators.FlattenIterator;
 import com.googlecode.totallylazy.iterators.InitIterator;
@@ -442,6 +444,14 @@ public class Iterators {
         return Maps.entries(Maps.multiMap(iterator, callable)).map(entry -> new Group<Key, T>(entry.getKey(), entry.getValue()));
     }
 
+    public static <T, K, R> Sequence<Pair<K, R>> groupBy(final Iterator<? extends T> iterator, final Function1<? super T, ? extends K> callable, final Reducer<? super T, R> reducer) {
+        return Maps.pairs(Maps.aggregate(iterator, callable, reducer));
+    }
+
+    public static <T, K, R> Iterator<Pair<K, R>> groupAdjacent(final Iterator<? extends T> iterator, final Function1<? super T, ? extends K> callable, final Reducer<? super T, R> reducer) {
+        return new AdjacentGroupIterator<T, K, R>(iterator, callable, reducer);
+    }
+
     public static <T> Iterator<Sequence<T>> windowed(final Iterator<? extends T> iterator, final int size) {
         return new WindowedIterator<T>(iterator, size);
     }
@@ -1,8 +1,10 @@
 package com.googlecode.totallylazy;
 
 import com.googlecode.totallylazy.functions.Callables;
+import com.googlecode.totallylazy.functions.Combiner;
 import com.googlecode.totallylazy.functions.Curried2;
 import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.functions.Reducer;
 import com.googlecode.totallylazy.predicates.Predicate;
 
 import java.util.ArrayList;
@@ -185,6 +187,30 @@ public class Maps {
         return seed;
     }
 
+    public static <T, K, R> Map<K, R> aggregate(final Iterator<? extends T> iterator, final Function1<? super T, ? extends K> callable, final Reducer<? super T, R> reducer) {
+        return aggregate(new LinkedHashMap<K, R>(), iterator, callable, reducer);
+    }
+
+    public static <T, K, R> Map<K, R> aggregate(final Map<K, R> seed, final Iterator<? extends T> iterator, final Function1<? super T, ? extends K> callable, final Reducer<? super T, R> reducer) {
+        while (iterator.hasNext()) {
+            final T value = iterator.next();
+            final K key = call(callable, value);
+            R current = seed.get(key);
+            if (current == null && !seed.containsKey(key)) current = reducer.identity();
+            seed.put(key, call(reducer, current, value));
+        }
+        return seed;
+    }
+
+    public static <K, R> Map<K, R> merge(final Map<K, R> seed, final Map<? extends K, ? extends R> other, final Combiner<?, R> combiner) {
+        for (Map.Entry<? extends K, ? extends R> entry : other.entrySet()) {
+            final K key = entry.getKey();
+            if (seed.containsKey(key)) seed.put(key, call(combiner::combine, seed.get(key), entry.getValue()));
+            else seed.put(key, entry.getValue());
+        }
+        return seed;
+    }
+
     public static <V, K> Map<K, List<V>> multiMap(final Iterable<? extends V> iterable, final Function1<? super V, ? extends K> callable) {
         return multiMap(iterable.iterator(), callable);
     }
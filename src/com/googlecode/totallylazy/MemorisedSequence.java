@@ -0,0 +1,187 @@
+package com.googlecode.totallylazy;
+
+import com.googlecode.totallylazy.iterators.ReadOnlyIterator;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.googlecode.totallylazy.Closeables.safeClose;
+import static com.googlecode.totallylazy.Unchecked.cast;
+import static java.util.Arrays.copyOf;
+
+public class MemorisedSequence<T> extends Sequence<T> implements Memory {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_SIZE = 16;
+
+    private final Store store;
+    private final int offset;
+
+    private MemorisedSequence(Store store, int offset) {
+        this.store = store;
+        this.offset = offset;
+    }
+
+    public static <T> MemorisedSequence<T> memorise(Iterable<? extends T> iterable) {
+        return new MemorisedSequence<T>(new Store(iterable, null), 0);
+    }
+
+    public static <T> MemorisedSequence<T> memorise(Iterator<? extends T> iterator) {
+        return new MemorisedSequence<T>(new Store(null, iterator), 0);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ReadOnlyIterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return memo(index) != null;
+            }
+
+            @Override
+            public T next() {
+                return get(index++);
+            }
+        };
+    }
+
+    @Override
+    public T head() {
+        return get(0);
+    }
+
+    @Override
+    public Option<T> headOption() {
+        Memo current = memo(0);
+        return current == null ? Option.<T>none() : Option.some(current.<T>get(offset));
+    }
+
+    @Override
+    public MemorisedSequence<T> tail() {
+        if (isEmpty()) throw new NoSuchElementException();
+        return drop(1);
+    }
+
+    @Override
+    public MemorisedSequence<T> drop(int count) {
+        if (count <= 0) return this;
+        return new MemorisedSequence<T>(store, absolute(count));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return memo(0) == null;
+    }
+
+    @Override
+    public T get(int index) {
+        Memo current = index < 0 ? null : memo(index);
+        if (current == null) throw new NoSuchElementException();
+        return current.get(offset + index);
+    }
+
+    @Override
+    public int size() {
+        store.memo(Integer.MAX_VALUE);
+        return Math.max(0, store.memo.size - offset);
+    }
+
+    /**
+     * Memories backed by an Iterator cannot be recomputed, so forgetting them keeps what has already been consumed.
+     */
+    @Override
+    public void forget() {
+        store.forget();
+    }
+
+    @Override
+    public void close() {
+        forget();
+    }
+
+    private Memo memo(int index) {
+        return store.memo(absolute(index));
+    }
+
+    private int absolute(int index) {
+        return index > Integer.MAX_VALUE - offset ? Integer.MAX_VALUE : offset + index;
+    }
+
+    private static final class Store {
+        private final Iterable<?> iterable;
+        private final ReentrantLock lock = new ReentrantLock();
+        private Iterator<?> source;
+        private volatile Memo memo = new Memo();
+
+        private Store(Iterable<?> iterable, Iterator<?> source) {
+            this.iterable = iterable;
+            this.source = source;
+        }
+
+        private void forget() {
+            if (iterable == null) return;
+            lock.lock();
+            try {
+                memo = new Memo();
+                safeClose(source);
+                source = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Memo memo(int index) {
+            Memo current = memo;
+            if (index < current.size) return current;
+            if (current.finished) return null;
+            lock.lock();
+            try {
+                current = memo;
+                while (current.size <= index) {
+                    if (current.finished) return null;
+                    if (source == null) source = iterable.iterator();
+                    if (!source.hasNext()) {
+                        current.finished = true;
+                        return null;
+                    }
+                    current.append(source.next());
+                }
+                return current;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Memo {
+        private volatile Object[][] chunks = new Object[0][];
+        private volatile int size;
+        private volatile boolean finished;
+
+        private <T> T get(int index) {
+            return cast(chunks[index >>> CHUNK_BITS][index & CHUNK_MASK]);
+        }
+
+        private void append(Object value) {
+            int index = size;
+            int chunk = index >>> CHUNK_BITS;
+            int offset = index & CHUNK_MASK;
+            Object[][] current = chunks;
+            if (chunk == current.length) {
+                current = copyOf(current, chunk + 1);
+                current[chunk] = new Object[chunk == 0 ? INITIAL_SIZE : CHUNK_SIZE];
+                chunks = current;
+            } else if (offset == current[chunk].length) {
+                current = current.clone();
+                current[chunk] = copyOf(current[chunk], Math.min(offset * 2, CHUNK_SIZE));
+                chunks = current;
+            }
+            current[chunk][offset] = value;
+            size = index + 1;
+        }
+    }
+}
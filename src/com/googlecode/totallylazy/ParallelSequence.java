@@ -0,0 +1,218 @@
+package com.googlecode.totallylazy;
+
+import com.googlecode.totallylazy.collections.LinkedList;
+import com.googlecode.totallylazy.collections.PersistentList;
+import com.googlecode.totallylazy.functions.Associative;
+import com.googlecode.totallylazy.functions.Combiner;
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.functions.Function2;
+import com.googlecode.totallylazy.functions.Reducer;
+import com.googlecode.totallylazy.predicates.Predicate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import static com.googlecode.totallylazy.Option.none;
+import static com.googlecode.totallylazy.Option.some;
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.Unchecked.cast;
+import static com.googlecode.totallylazy.functions.Functions.call;
+
+public class ParallelSequence<T> extends Sequence<T> {
+    private static final int CHUNKS_PER_THREAD = 4;
+    private final Sequence<Sequence<T>> chunks;
+    private final ForkJoinPool pool;
+
+    private ParallelSequence(Sequence<Sequence<T>> chunks, ForkJoinPool pool) {
+        this.chunks = chunks;
+        this.pool = pool;
+    }
+
+    public static <T> ParallelSequence<T> parallel(Iterable<? extends T> iterable) {
+        return parallel(iterable, ForkJoinPool.commonPool());
+    }
+
+    public static <T> ParallelSequence<T> parallel(Iterable<? extends T> iterable, ForkJoinPool pool) {
+        if (iterable instanceof ParallelSequence) return cast(iterable);
+        return new ParallelSequence<T>(ParallelSequence.<T>split(iterable, pool.getParallelism() * CHUNKS_PER_THREAD), pool);
+    }
+
+    public static <T> ParallelSequence<T> chunked(Iterable<? extends Sequence<T>> chunks, ForkJoinPool pool) {
+        return new ParallelSequence<T>(Sequences.<Sequence<T>>sequence(chunks).realise(), pool);
+    }
+
+    static <T> Sequence<Sequence<T>> split(Iterable<? extends T> iterable, int chunks) {
+        if (iterable instanceof Sequences.IterableSequence) return split(((Sequences.IterableSequence<? extends T>) iterable).iterable, chunks);
+        if (iterable instanceof Splittable) return slices(Unchecked.<Splittable<T>>cast(iterable), chunks);
+        if (iterable instanceof LinkedList) return segments(Unchecked.<PersistentList<T>>cast(iterable), chunks);
+        if (iterable instanceof List && iterable instanceof RandomAccess && !(iterable instanceof PersistentList))
+            return sublists(Unchecked.<List<T>>cast(iterable), chunks);
+        return sublists(sequence(iterable).toList(), chunks);
+    }
+
+    private static <T> Sequence<Sequence<T>> slices(Splittable<T> splittable, int chunks) {
+        int size = splittable.size();
+        int chunkSize = chunkSize(size, chunks);
+        List<Sequence<T>> result = new ArrayList<Sequence<T>>();
+        for (int start = 0; start < size; start += chunkSize) {
+            result.add(splittable.slice(start, Math.min(size, start + chunkSize)));
+        }
+        return sequence(result);
+    }
+
+    private static <T> Sequence<Sequence<T>> sublists(List<T> list, int chunks) {
+        int size = list.size();
+        int chunkSize = chunkSize(size, chunks);
+        List<Sequence<T>> result = new ArrayList<Sequence<T>>();
+        for (int start = 0; start < size; start += chunkSize) {
+            result.add(sequence(list.subList(start, Math.min(size, start + chunkSize))));
+        }
+        return sequence(result);
+    }
+
+    private static <T> Sequence<Sequence<T>> segments(PersistentList<T> list, int chunks) {
+        int chunkSize = chunkSize(list.size(), chunks);
+        List<Sequence<T>> result = new ArrayList<Sequence<T>>();
+        PersistentList<T> current = list;
+        while (!current.isEmpty()) {
+            result.add(sequence(current).take(chunkSize));
+            for (int i = 0; i < chunkSize && !current.isEmpty(); i++) current = current.tail();
+        }
+        return sequence(result);
+    }
+
+    private static int chunkSize(int size, int chunks) {
+        return Math.max(1, (size + chunks - 1) / chunks);
+    }
+
+    public Sequence<T> sequential() {
+        return Sequences.flatten(chunks);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        List<Sequence<T>> sources = chunks.toList();
+        List<List<T>> results = new ArrayList<List<T>>(sources.size());
+        for (int i = 0; i < sources.size(); i++) results.add(null);
+        pool.invoke(new Realise<T>(sources, results, 0, sources.size()));
+        return Iterators.flattenIterable(results.iterator());
+    }
+
+    @Override
+    public <S> ParallelSequence<S> map(Function1<? super T, ? extends S> callable) {
+        return new ParallelSequence<S>(chunks.map(chunk -> chunk.<S>map(callable)), pool);
+    }
+
+    @Override
+    public ParallelSequence<T> filter(Predicate<? super T> predicate) {
+        return new ParallelSequence<T>(chunks.map(chunk -> chunk.filter(predicate)), pool);
+    }
+
+    @Override
+    public <S> S fold(S seed, Function2<? super S, ? super T, ? extends S> callable) {
+        if (callable instanceof Combiner) {
+            Combiner<T, S> combiner = cast(callable);
+            return call(combiner::combine, seed, combine(combiner));
+        }
+        if (callable instanceof Associative) {
+            Associative<T> associative = cast(callable);
+            Option<T> result = associate(associative);
+            return result.isEmpty() ? seed : cast(call(associative, Unchecked.<T>cast(seed), result.get()));
+        }
+        return super.fold(seed, callable);
+    }
+
+    @Override
+    public <S> S reduce(Function2<? super S, ? super T, ? extends S> callable) {
+        if (callable instanceof Combiner) return combine(Unchecked.<Combiner<T, S>>cast(callable));
+        if (callable instanceof Associative) return cast(associate(Unchecked.<Associative<T>>cast(callable)).
+                getOrThrow(new NoSuchElementException()));
+        return super.reduce(callable);
+    }
+
+    @Override
+    public <K, R> Sequence<Pair<K, R>> groupBy(Function1<? super T, ? extends K> callable, Reducer<? super T, R> reducer) {
+        if (!(reducer instanceof Combiner)) return super.groupBy(callable, reducer);
+        Combiner<?, R> combiner = cast(reducer);
+        List<Sequence<T>> sources = chunks.toList();
+        if (sources.isEmpty()) return Sequences.empty();
+        return Maps.pairs(pool.invoke(new Fold<T, Map<K, R>>(sources, 0, sources.size(),
+                chunk -> Maps.aggregate(chunk.iterator(), callable, reducer),
+                (a, b) -> Maps.merge(a, b, combiner))));
+    }
+
+    private <S> S combine(Combiner<T, S> combiner) {
+        List<Sequence<T>> sources = chunks.toList();
+        if (sources.isEmpty()) return combiner.identity();
+        return pool.invoke(new Fold<T, S>(sources, 0, sources.size(),
+                chunk -> chunk.fold(combiner.identity(), combiner),
+                (a, b) -> call(combiner::combine, a, b)));
+    }
+
+    private Option<T> associate(Associative<T> associative) {
+        List<Sequence<T>> sources = chunks.toList();
+        if (sources.isEmpty()) return none();
+        return pool.invoke(new Fold<T, Option<T>>(sources, 0, sources.size(),
+                chunk -> chunk.isEmpty() ? Option.<T>none() : some(chunk.reduce(associative)),
+                (a, b) -> a.isEmpty() ? b : b.isEmpty() ? a : some(call(associative, a.get(), b.get()))));
+    }
+
+    private static class Fold<T, S> extends RecursiveTask<S> {
+        private static final long serialVersionUID = 1L;
+        private final List<Sequence<T>> chunks;
+        private final int start;
+        private final int end;
+        private final Function1<Sequence<T>, S> leaf;
+        private final Function2<S, S, S> combine;
+
+        private Fold(List<Sequence<T>> chunks, int start, int end, Function1<Sequence<T>, S> leaf, Function2<S, S, S> combine) {
+            this.chunks = chunks;
+            this.start = start;
+            this.end = end;
+            this.leaf = leaf;
+            this.combine = combine;
+        }
+
+        @Override
+        protected S compute() {
+            if (end - start == 1) return leaf.apply(chunks.get(start));
+            int middle = (start + end) >>> 1;
+            Fold<T, S> left = new Fold<T, S>(chunks, start, middle, leaf, combine);
+            left.fork();
+            S right = new Fold<T, S>(chunks, middle, end, leaf, combine).compute();
+            return combine.apply(left.join(), right);
+        }
+    }
+
+    private static class Realise<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<Sequence<T>> chunks;
+        private final List<List<T>> results;
+        private final int start;
+        private final int end;
+
+        private Realise(List<Sequence<T>> chunks, List<List<T>> results, int start, int end) {
+            this.chunks = chunks;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= 1) {
+                if (end > start) results.set(start, chunks.get(start).toList());
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new Realise<T>(chunks, results, start, middle), new Realise<T>(chunks, results, middle, end));
+        }
+    }
+}
@@ -1,19 +1,74 @@
 package com.googlecode.totallylazy;
 
 
-import com.googlecode.totallylazy.reflection.Fields;
+import com.googlecode.totallylazy.iterators.ReadOnlyIterator;
+import com.googlecode.totallylazy.reflection.FieldAccessors;
 
 import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
-import static com.googlecode.totallylazy.reflection.Fields.nonSyntheticFields;
-import static com.googlecode.totallylazy.Pair.pair;
-import static com.googlecode.totallylazy.Sets.set;
-import static java.util.Collections.unmodifiableSet;
+import static com.googlecode.totallylazy.reflection.Fields.accessors;
 
 public abstract class Record extends AbstractMap<String, Object> {
     @Override
     public Set<Entry<String, Object>> entrySet() {
-        return unmodifiableSet(set(nonSyntheticFields(getClass()).map(f -> pair(f.getName(), Fields.get(f, Record.this)))));
+        final FieldAccessors accessors = accessors(getClass());
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new ReadOnlyIterator<Entry<String, Object>>() {
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < accessors.size();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return entry(index++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return accessors.size();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return accessors(getClass()).size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return accessors(getClass()).index(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        FieldAccessors accessors = accessors(getClass());
+        int index = accessors.index(key);
+        return index < 0 ? null : accessors.get(index, this);
+    }
+
+    public String key(int index) {
+        return accessors(getClass()).name(index);
+    }
+
+    public Object value(int index) {
+        return accessors(getClass()).get(index, this);
+    }
+
+    public Entry<String, Object> entry(int index) {
+        FieldAccessors accessors = accessors(getClass());
+        return new SimpleImmutableEntry<String, Object>(accessors.name(index), accessors.get(index, this));
     }
 }
@@ -5,6 +5,7 @@ import com.googlecode.totallylazy.collections.Indexed;
 import com.googlecode.totallylazy.collections.PersistentCollection;
 import com.googlecode.totallylazy.collections.PersistentList;
 import com.googlecode.totallylazy.functions.*;
+import com.googlecode.totallylazy.io.Serialiser;
 import com.googlecode.totallylazy.predicates.Predicate;
 
 import java.util.Collection;
@@ -15,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.googlecode.totallylazy.functions.Callables.ascending;
 import static com.googlecode.totallylazy.functions.Callables.returnArgument;
@@ -75,6 +77,22 @@ public abstract class Sequence<T> extends AbstractCollection<T> implements Itera
         return Sequences.mapConcurrently(this, callable, executor);
     }
 
+    public <S> Sequence<S> mapConcurrently(final Function1<? super T, S> callable, final int parallelism) {
+        return Sequences.mapConcurrently(this, callable, parallelism);
+    }
+
+    public <S> Sequence<S> mapConcurrentlyUnordered(final Function1<? super T, S> callable, final int parallelism) {
+        return Sequences.mapConcurrentlyUnordered(this, callable, parallelism);
+    }
+
+    public ParallelSequence<T> parallel() {
+        return Sequences.parallel(this);
+    }
+
+    public ParallelSequence<T> parallel(final ForkJoinPool pool) {
+        return Sequences.parallel(this, pool);
+    }
+
     @Override
     public <S> Sequence<S> map(final Function1<? super T, ? extends S> callable) {
         return Sequences.map(this, callable);
@@ -411,6 +429,10 @@ public abstract class Sequence<T> extends AbstractCollection<T> implements Itera
         return Sequences.sortBy(this, comparator);
     }
 
+    public Sequence<T> sortBy(final Comparator<? super T> comparator, final Serialiser<T> serialiser, final int runSize) {
+        return Sequences.sortBy(this, comparator, serialiser, runSize);
+    }
+
     public <S> Sequence<S> safeCast(final Class<? extends S> aClass) {
         return Sequences.safeCast(this, aClass);
     }
@@ -439,6 +461,14 @@ public abstract class Sequence<T> extends AbstractCollection<T> implements Itera
         return Sequences.groupBy(this, callable);
     }
 
+    public <K, R> Sequence<Pair<K, R>> groupBy(final Function1<? super T, ? extends K> callable, final Reducer<? super T, R> reducer) {
+        return Sequences.groupBy(this, callable, reducer);
+    }
+
+    public <K, R> Sequence<Pair<K, R>> groupAdjacent(final Function1<? super T, ? extends K> callable, final Reducer<? super T, R> reducer) {
+        return Sequences.groupAdjacent(this, callable, reducer);
+    }
+
     public Sequence<Sequence<T>> recursive(final Function1<Sequence<T>, Pair<Sequence<T>, Sequence<T>>> callable) {
         return Sequences.recursive(this, callable);
     }
@@ -475,6 +505,10 @@ public abstract class Sequence<T> extends AbstractCollection<T> implements Itera
         return PersistentList.constructors.list(this);
     }
 
+    public PersistentList<T> toVector() {
+        return PersistentList.constructors.vector(this);
+    }
+
     public Sequence<Pair<T, T>> cartesianProduct() {
         return Sequences.cartesianProduct(this);
     }
@@ -2,12 +2,14 @@ package com.googlecode.totallylazy;
 
 import com.googlecode.totallylazy.collections.PersistentList;
 import com.googlecode.totallylazy.comparators.Comparators;
+import com.googlecode.totallylazy.concurrent.Scheduler;
 import com.googlecode.totallylazy.functions.*;
-import com.googlecode.totallylazy.iterators.ArrayIterator;
+import com.googlecode.totallylazy.io.Serialiser;
 import com.googlecode.totallylazy.iterators.CharacterIterator;
 import com.googlecode.totallylazy.iterators.EmptyIterator;
 import com.googlecode.totallylazy.iterators.EnumerationIterator;
 import com.googlecode.totallylazy.iterators.IntersperseIterator;
+import com.googlecode.totallylazy.iterators.MergeIterator;
 import com.googlecode.totallylazy.iterators.PairIterator;
 import com.googlecode.totallylazy.iterators.QuadrupleIterator;
 import com.googlecode.totallylazy.iterators.QuintupleIterator;
@@ -17,6 +19,7 @@ import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.predicates.Predicates;
 import com.googlecode.totallylazy.predicates.UniquePredicate;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
@@ -25,6 +28,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.googlecode.totallylazy.functions.Callables.ascending;
 import static com.googlecode.totallylazy.functions.Callables.deferReturn;
@@ -56,11 +60,19 @@ public class Sequences {
 
         if (iterable instanceof Sequence) return cast(iterable);
 
-        return new Sequence<T>() {
-            public final Iterator<T> iterator() {
-                return cast(iterable.iterator());
-            }
-        };
+        return new IterableSequence<T>(iterable);
+    }
+
+    static final class IterableSequence<T> extends Sequence<T> {
+        final Iterable<? extends T> iterable;
+
+        private IterableSequence(Iterable<? extends T> iterable) {
+            this.iterable = iterable;
+        }
+
+        public final Iterator<T> iterator() {
+            return cast(iterable.iterator());
+        }
     }
 
     public static <T> Sequence<T> sequence() {
@@ -108,11 +120,7 @@ public class Sequences {
         if (items == null || items.length == 0) {
             return empty();
         }
-        return new Sequence<T>() {
-            public final Iterator<T> iterator() {
-                return new ArrayIterator<T>(items);
-            }
-        };
+        return ArraySequence.arraySequence(items);
     }
 
     public static <T> Sequence<T> memoize(final Enumeration<T> enumeration) {
@@ -148,7 +156,7 @@ public class Sequences {
     }
 
     public static <T> Sequence<T> memorise(final Iterator<? extends T> iterator) {
-        return Computation.memorise(iterator);
+        return MemorisedSequence.memorise(iterator);
     }
 
     public static <T> ForwardOnlySequence<T> forwardOnly(final Iterator<? extends T> iterator) {
@@ -526,7 +534,7 @@ public class Sequences {
     }
 
     public static <T> Sequence<T> memorise(final Iterable<? extends T> iterable) {
-        return Computation.memorise(iterable);
+        return MemorisedSequence.memorise(iterable);
     }
 
     public static <F, S> Sequence<Pair<F, S>> zip(final Iterable<? extends F> first, final Iterable<? extends S> second) {
@@ -614,6 +622,22 @@ public class Sequences {
         return sequence(toSortedList(iterable, comparator));
     }
 
+    public static <T> Sequence<T> sortBy(final Iterable<? extends T> iterable, final Comparator<? super T> comparator, final Serialiser<T> serialiser, final int runSize) {
+        return sortBy(iterable, comparator, serialiser, runSize, Files.TEMP_DIR);
+    }
+
+    public static <T> Sequence<T> sortBy(final Iterable<? extends T> iterable, final Comparator<? super T> comparator, final Serialiser<T> serialiser, final int runSize, final File directory) {
+        return ExternalSort.sort(iterable, comparator, serialiser, runSize, directory);
+    }
+
+    public static <T> Sequence<T> mergeSorted(final Iterable<? extends Iterable<? extends T>> iterables, final Comparator<? super T> comparator) {
+        return new Sequence<T>() {
+            public Iterator<T> iterator() {
+                return new MergeIterator<T>(sequence(iterables).<Iterator<? extends T>>map(Iterable::iterator).toList(), comparator);
+            }
+        };
+    }
+
     public static <T extends Comparable<? super T>> Sequence<T> sort(final Iterable<? extends T> iterable) {
         return sort(iterable, Comparators.<T>ascending());
     }
@@ -654,6 +678,14 @@ public class Sequences {
         return flatten(repeat(memorise(iterable)));
     }
 
+    public static <T> ParallelSequence<T> parallel(final Iterable<? extends T> iterable) {
+        return ParallelSequence.parallel(iterable);
+    }
+
+    public static <T> ParallelSequence<T> parallel(final Iterable<? extends T> iterable, final ForkJoinPool pool) {
+        return ParallelSequence.parallel(iterable, pool);
+    }
+
     public static <T, S> Sequence<S> mapConcurrently(final Iterable<? extends T> iterable, final Function1<? super T, ? extends S> callable) {
         return callConcurrently(sequence(iterable).map(deferReturn(callable)));
     }
@@ -662,10 +694,30 @@ public class Sequences {
         return callConcurrently(sequence(iterable).map(deferReturn(callable)), executor);
     }
 
+    public static <T, S> Sequence<S> mapConcurrently(final Iterable<? extends T> iterable, final Function1<? super T, ? extends S> callable, final int parallelism) {
+        return Scheduler.shared().map(iterable, callable, parallelism);
+    }
+
+    public static <T, S> Sequence<S> mapConcurrentlyUnordered(final Iterable<? extends T> iterable, final Function1<? super T, ? extends S> callable, final int parallelism) {
+        return Scheduler.shared().mapUnordered(iterable, callable, parallelism);
+    }
+
     public static <T, K> Sequence<Group<K, T>> groupBy(final Iterable<? extends T> iterable, final Function1<? super T, ? extends K> callable) {
         return Iterators.groupBy(iterable.iterator(), callable);
     }
 
+    public static <T, K, R> Sequence<Pair<K, R>> groupBy(final Iterable<? extends T> iterable, final Function1<? super T, ? extends K> callable, final Reducer<? super T, R> reducer) {
+        return Iterators.groupBy(iterable.iterator(), callable, reducer);
+    }
+
+    public static <T, K, R> Sequence<Pair<K, R>> groupAdjacent(final Iterable<? extends T> iterable, final Function1<? super T, ? extends K> callable, final Reducer<? super T, R> reducer) {
+        return new Sequence<Pair<K, R>>() {
+            public Iterator<Pair<K, R>> iterator() {
+                return Iterators.groupAdjacent(iterable.iterator(), callable, reducer);
+            }
+        };
+    }
+
     public static boolean equalTo(Iterable<?> iterable, Iterable<?> other) {
         return Iterators.equalsTo(iterable.iterator(), other.iterator());
     }
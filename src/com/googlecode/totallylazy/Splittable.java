@@ -0,0 +1,7 @@
+package com.googlecode.totallylazy;
+
+public interface Splittable<T> {
+    int size();
+
+    Sequence<T> slice(int fromIndex, int toIndex) throws IndexOutOfBoundsException;
+}
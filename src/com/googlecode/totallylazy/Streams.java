@@ -1,6 +1,7 @@
 package com.googlecode.totallylazy;
 
 import com.googlecode.totallylazy.functions.Function0;
+import com.googlecode.totallylazy.io.MappedRecords;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -12,6 +13,7 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.Reader;
+import java.util.Iterator;
 
 import static com.googlecode.totallylazy.functions.Block.block;
 import static com.googlecode.totallylazy.Closeables.using;
@@ -20,6 +22,8 @@ import static com.googlecode.totallylazy.predicates.Predicates.notNullValue;
 import static com.googlecode.totallylazy.Sequences.repeat;
 
 public class Streams {
+    private static final long MAPPED_LINES_THRESHOLD = Long.getLong("totallylazy.lines.mapped.threshold", 1 << 20);
+
     public static void copyAndClose(final InputStream input, final OutputStream out) {
         using(input, inputStream ->
                 using(out, block(outputStream ->
@@ -74,12 +78,18 @@ public class Streams {
         return new InputStreamReader(stream, Strings.UTF8);
     }
 
-    public static Sequence<String> lines(File file) {
-        try {
-            return lines(new FileInputStream(file));
-        } catch (FileNotFoundException e) {
-            throw lazyException(e);
-        }
+    public static Sequence<String> lines(final File file) {
+        return new Sequence<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                if (file.isFile() && file.length() >= MAPPED_LINES_THRESHOLD) return MappedRecords.lines(file).map(CharSequence::toString).iterator();
+                try {
+                    return lines(new FileInputStream(file)).iterator();
+                } catch (FileNotFoundException e) {
+                    throw lazyException(e);
+                }
+            }
+        };
     }
 
     public static Sequence<String> lines(InputStream stream) {
@@ -2,12 +2,13 @@ package com.googlecode.totallylazy;
 
 import com.googlecode.totallylazy.functions.Function1;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.googlecode.totallylazy.LazyException.lazyException;
 import static com.googlecode.totallylazy.Pair.pair;
 import static com.googlecode.totallylazy.Sequences.sequence;
 import static com.googlecode.totallylazy.Strings.UTF8;
@@ -19,23 +20,35 @@ public class UrlEncodedMessage {
             return result;
         }
 
-        for (String pair : value.split("&")) {
-            if(!pair.contains("=")) {
-                result.add(Pair.<String, String>pair(decode(pair), null));
-                continue;
-            }
-            String[] nameValue = pair.split("=");
-            if (nameValue.length == 1) {
-                result.add(Pair.<String, String>pair(decode(nameValue[0]), ""));
-                continue;
-            }
-            if (nameValue.length == 2) {
-                result.add(pair(decode(nameValue[0]), decode(nameValue[1])));
-            }
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == '&') end--;
+        int start = 0;
+        while (start < end) {
+            int next = value.indexOf('&', start);
+            if (next < 0 || next > end) next = end;
+            addPair(result, value, start, next);
+            start = next + 1;
         }
         return result;
     }
 
+    private static void addPair(List<Pair<String, String>> result, String value, int start, int end) {
+        int equals = value.indexOf('=', start);
+        if (equals < 0 || equals >= end) {
+            result.add(Pair.<String, String>pair(decode(value.substring(start, end)), null));
+            return;
+        }
+        int valueEnd = end;
+        while (valueEnd > equals + 1 && value.charAt(valueEnd - 1) == '=') valueEnd--;
+        int another = value.indexOf('=', equals + 1);
+        if (another >= 0 && another < valueEnd) return;
+        if (valueEnd == equals + 1) {
+            if (equals > start) result.add(Pair.<String, String>pair(decode(value.substring(start, equals)), ""));
+            return;
+        }
+        result.add(pair(decode(value.substring(start, equals)), decode(value.substring(equals + 1, valueEnd))));
+    }
+
     public static String toString(Iterable<? extends Pair<String, String>> pairs) {
         return sequence(pairs).map(pair -> {
             if(pair.second() == null) return encode(pair.first());
@@ -45,6 +58,7 @@ public class UrlEncodedMessage {
 
 
     public static String decode(String value) {
+        if (value.indexOf('%') < 0 && value.indexOf('+') < 0) return value;
         try {
             return URLDecoder.decode(value, UTF8.toString());
         } catch (UnsupportedEncodingException e) {
@@ -54,13 +68,50 @@ public class UrlEncodedMessage {
 
     public static String encode(String value) {
         if (value == null) return null;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= SAFE.length || !SAFE[c]) return encode(value, new StringBuilder(length + 16)).toString();
+        }
+        return value;
+    }
+
+    public static <A extends Appendable> A encode(CharSequence value, A appendable) {
         try {
-            return URLEncoder.encode(value, UTF8.toString());
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
+            int length = value.length();
+            int i = 0;
+            while (i < length) {
+                char c = value.charAt(i);
+                if (c < SAFE.length && SAFE[c]) {
+                    appendable.append(c);
+                    i++;
+                } else if (c == ' ') {
+                    appendable.append('+');
+                    i++;
+                } else {
+                    int start = i;
+                    while (i < length && (c = value.charAt(i)) != ' ' && (c >= SAFE.length || !SAFE[c])) i++;
+                    for (byte b : value.subSequence(start, i).toString().getBytes(UTF8)) {
+                        appendable.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+                    }
+                }
+            }
+            return appendable;
+        } catch (IOException e) {
+            throw lazyException(e);
         }
     }
 
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] SAFE = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) SAFE[c] = true;
+        for (char c = 'A'; c <= 'Z'; c++) SAFE[c] = true;
+        for (char c = '0'; c <= '9'; c++) SAFE[c] = true;
+        for (char c : ".-*_".toCharArray()) SAFE[c] = true;
+    }
+
     public static class functions {
         public static Function1<String, String> encode() {
             return UrlEncodedMessage::encode;
@@ -49,6 +49,15 @@ public interface AVLTree<K, V> extends TreeMap<K, V> {
     @Override
     Pair<AVLTree<K, V>, Pair<K, V>> removeLast();
 
+    @Override
+    AVLTree<K, V> headMap(K to, boolean inclusive);
+
+    @Override
+    AVLTree<K, V> tailMap(K from, boolean inclusive);
+
+    @Override
+    AVLTree<K, V> subMap(K from, boolean fromInclusive, K to, boolean toInclusive);
+
     @Override
     AVLTree<K, V> left();
 
@@ -85,6 +94,11 @@ public interface AVLTree<K, V> extends TreeMap<K, V> {
             return methods.balance(new Node<K, V>(comparator, key, value, Unchecked.<AVLTree<K, V>>cast(left), Unchecked.<AVLTree<K, V>>cast(right)));
         }
 
+        @Override
+        public <K, V> AVLTree<K, V> join(TreeMap<K, V> left, K key, V value, TreeMap<K, V> right) {
+            return methods.join(Unchecked.<AVLTree<K, V>>cast(left), key, value, Unchecked.<AVLTree<K, V>>cast(right));
+        }
+
         public static <K extends Comparable<? super K>, V> AVLTree<K, V> avlTree(K key, V value) {
             return factory.create(Comparators.<K>ascending(), key, value);
         }
@@ -99,44 +113,65 @@ public interface AVLTree<K, V> extends TreeMap<K, V> {
     }
 
     class methods {
+        static <K, V> AVLTree<K, V> join(AVLTree<K, V> left, K key, V value, AVLTree<K, V> right) {
+            if (left.height() > right.height() + 1)
+                return balance(node(left.comparator(), left.key(), left.value(), left.left(), join(left.right(), key, value, right)));
+            if (right.height() > left.height() + 1)
+                return balance(node(right.comparator(), right.key(), right.value(), join(left, key, value, right.left()), right.right()));
+            return node(left.comparator(), key, value, left, right);
+        }
+
         // http://upload.wikimedia.org/wikipedia/commons/thumb/f/f5/AVL_Tree_Rebalancing.svg/350px-AVL_Tree_Rebalancing.svg.png
         static <K, V> AVLTree<K, V> balance(AVLTree<K, V> node) {
             int balance = node.balance();
-            if (balance == -2) return balanceRight(node);
-            if (balance == 2) return balanceLeft(node);
+            if (balance < -1) return balanceRight(node);
+            if (balance > 1) return balanceLeft(node);
             return node;
         }
 
         static <K, V> AVLTree<K, V> balanceLeft(AVLTree<K, V> node) {
-            int balance = node.left().balance();
-            if (balance == -1) return balanceLeftRight(node);
-            if (balance == 1) return balanceLeftLeft(node);
-            return node;
+            if (node.left().balance() < 0) return balanceLeftRight(node);
+            return balanceLeftLeft(node);
         }
 
         static <K, V> AVLTree<K, V> balanceRight(AVLTree<K, V> node) {
-            int balance = node.right().balance();
-            if (balance == 1) return balanceRightLeft(node);
-            if (balance == -1) return balanceRightRight(node);
-            return node;
+            if (node.right().balance() > 0) return balanceRightLeft(node);
+            return balanceRightRight(node);
         }
 
         static <K, V> AVLTree<K, V> balanceLeftLeft(AVLTree<K, V> parent) {
-            return parent.rotateRight();
+            return rotateRight(parent);
         }
 
         static <K, V> AVLTree<K, V> balanceLeftRight(AVLTree<K, V> parent) {
-            AVLTree<K, V> four = parent.left().rotateLeft();
-            return balanceLeftLeft(parent.left(four));
+            AVLTree<K, V> four = rotateLeft(parent.left());
+            return balanceLeftLeft(node(parent.comparator(), parent.key(), parent.value(), four, parent.right()));
         }
 
         static <K, V> AVLTree<K, V> balanceRightRight(AVLTree<K, V> parent) {
-            return parent.rotateLeft();
+            return rotateLeft(parent);
         }
 
         static <K, V> AVLTree<K, V> balanceRightLeft(AVLTree<K, V> parent) {
-            AVLTree<K, V> four = parent.right().rotateRight();
-            return balanceRightRight(parent.right(four));
+            AVLTree<K, V> four = rotateRight(parent.right());
+            return balanceRightRight(node(parent.comparator(), parent.key(), parent.value(), parent.left(), four));
+        }
+
+        // Rotations build nodes directly: rebalancing the intermediate node would undo a double rotation
+        private static <K, V> AVLTree<K, V> rotateLeft(AVLTree<K, V> parent) {
+            AVLTree<K, V> right = parent.right();
+            AVLTree<K, V> three = node(parent.comparator(), parent.key(), parent.value(), parent.left(), right.left());
+            return node(parent.comparator(), right.key(), right.value(), three, right.right());
+        }
+
+        private static <K, V> AVLTree<K, V> rotateRight(AVLTree<K, V> parent) {
+            AVLTree<K, V> left = parent.left();
+            AVLTree<K, V> five = node(parent.comparator(), parent.key(), parent.value(), left.right(), parent.right());
+            return node(parent.comparator(), left.key(), left.value(), left.left(), five);
+        }
+
+        private static <K, V> AVLTree<K, V> node(Comparator<K> comparator, K key, V value, AVLTree<K, V> left, AVLTree<K, V> right) {
+            return new Node<K, V>(comparator, key, value, left, right);
         }
     }
 
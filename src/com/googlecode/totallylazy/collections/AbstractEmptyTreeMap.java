@@ -113,6 +113,57 @@ public abstract class AbstractEmptyTreeMap<K, V, Self extends TreeMap<K, V>> ext
         throw new NoSuchElementException();
     }
 
+    @Override
+    public Option<Pair<K, V>> floor(K key) {
+        return none();
+    }
+
+    @Override
+    public Option<Pair<K, V>> ceiling(K key) {
+        return none();
+    }
+
+    @Override
+    public Option<Pair<K, V>> lower(K key) {
+        return none();
+    }
+
+    @Override
+    public Option<Pair<K, V>> higher(K key) {
+        return none();
+    }
+
+    @Override
+    public Self headMap(K to, boolean inclusive) {
+        return cast(this);
+    }
+
+    @Override
+    public Self tailMap(K from, boolean inclusive) {
+        return cast(this);
+    }
+
+    @Override
+    public Self subMap(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        if (comparator.compare(from, to) > 0) throw new IllegalArgumentException("from is greater than to");
+        return cast(this);
+    }
+
+    @Override
+    public Sequence<Pair<K, V>> ascendingFrom(K key) {
+        return Sequences.empty();
+    }
+
+    @Override
+    public Sequence<Pair<K, V>> descendingFrom(K key) {
+        return Sequences.empty();
+    }
+
+    @Override
+    public Sequence<Pair<K, V>> descending() {
+        return Sequences.empty();
+    }
+
     @Override
     public Sequence<K> keys() {
         return Sequences.empty();
@@ -8,6 +8,7 @@ import com.googlecode.totallylazy.Pair;
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.predicates.Predicates;
 import com.googlecode.totallylazy.Segment;
+import com.googlecode.totallylazy.Sequence;
 import com.googlecode.totallylazy.Unchecked;
 
 import java.util.Comparator;
@@ -188,6 +189,71 @@ public abstract class AbstractTreeMap<K, V, Self extends TreeMap<K, V>> extends
         return Pair.pair(create(comparator, key, value, left, newRight.first()), newRight.second());
     }
 
+    @Override
+    public Option<Pair<K, V>> floor(K key) {
+        return TreeMap.navigable.below(this, key, true);
+    }
+
+    @Override
+    public Option<Pair<K, V>> ceiling(K key) {
+        return TreeMap.navigable.above(this, key, true);
+    }
+
+    @Override
+    public Option<Pair<K, V>> lower(K key) {
+        return TreeMap.navigable.below(this, key, false);
+    }
+
+    @Override
+    public Option<Pair<K, V>> higher(K key) {
+        return TreeMap.navigable.above(this, key, false);
+    }
+
+    @Override
+    public Self headMap(K to, boolean inclusive) {
+        return self(TreeMap.navigable.head(this, to, inclusive));
+    }
+
+    @Override
+    public Self tailMap(K from, boolean inclusive) {
+        return self(TreeMap.navigable.tail(this, from, inclusive));
+    }
+
+    @Override
+    public Self subMap(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        return self(TreeMap.navigable.sub(this, from, fromInclusive, to, toInclusive));
+    }
+
+    @Override
+    public Sequence<Pair<K, V>> ascendingFrom(final K key) {
+        return new Sequence<Pair<K, V>>() {
+            @Override
+            public Iterator<Pair<K, V>> iterator() {
+                return DirectionalTreeIterator.ascending(AbstractTreeMap.this, key);
+            }
+        };
+    }
+
+    @Override
+    public Sequence<Pair<K, V>> descendingFrom(final K key) {
+        return new Sequence<Pair<K, V>>() {
+            @Override
+            public Iterator<Pair<K, V>> iterator() {
+                return DirectionalTreeIterator.descending(AbstractTreeMap.this, key);
+            }
+        };
+    }
+
+    @Override
+    public Sequence<Pair<K, V>> descending() {
+        return new Sequence<Pair<K, V>>() {
+            @Override
+            public Iterator<Pair<K, V>> iterator() {
+                return DirectionalTreeIterator.descending(AbstractTreeMap.this);
+            }
+        };
+    }
+
     @Override
     public <C extends Segment<Pair<K, V>>> C joinTo(C rest) {
         return cast(left.joinTo(right.joinTo(rest).cons(pair())));
@@ -0,0 +1,61 @@
+package com.googlecode.totallylazy.collections;
+
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.iterators.StatefulIterator;
+
+import java.util.ArrayDeque;
+
+public class DirectionalTreeIterator<K, V> extends StatefulIterator<Pair<K, V>> {
+    private final ArrayDeque<TreeMap<K, V>> stack = new ArrayDeque<TreeMap<K, V>>();
+    private final boolean ascending;
+
+    private DirectionalTreeIterator(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    public static <K, V> DirectionalTreeIterator<K, V> ascending(TreeMap<K, V> treeMap) {
+        return new DirectionalTreeIterator<K, V>(true).descend(treeMap);
+    }
+
+    public static <K, V> DirectionalTreeIterator<K, V> ascending(TreeMap<K, V> treeMap, K from) {
+        DirectionalTreeIterator<K, V> iterator = new DirectionalTreeIterator<K, V>(true);
+        for (TreeMap<K, V> node = treeMap; !node.isEmpty(); ) {
+            if (node.comparator().compare(node.key(), from) >= 0) {
+                iterator.stack.push(node);
+                node = node.left();
+            } else node = node.right();
+        }
+        return iterator;
+    }
+
+    public static <K, V> DirectionalTreeIterator<K, V> descending(TreeMap<K, V> treeMap) {
+        return new DirectionalTreeIterator<K, V>(false).descend(treeMap);
+    }
+
+    public static <K, V> DirectionalTreeIterator<K, V> descending(TreeMap<K, V> treeMap, K from) {
+        DirectionalTreeIterator<K, V> iterator = new DirectionalTreeIterator<K, V>(false);
+        for (TreeMap<K, V> node = treeMap; !node.isEmpty(); ) {
+            if (node.comparator().compare(node.key(), from) <= 0) {
+                iterator.stack.push(node);
+                node = node.right();
+            } else node = node.left();
+        }
+        return iterator;
+    }
+
+    @Override
+    protected Pair<K, V> getNext() throws Exception {
+        if (stack.isEmpty()) return finished();
+        TreeMap<K, V> node = stack.pop();
+        descend(ascending ? node.right() : node.left());
+        return Pair.pair(node.key(), node.value());
+    }
+
+    private DirectionalTreeIterator<K, V> descend(TreeMap<K, V> node) {
+        while (!node.isEmpty()) {
+            stack.push(node);
+            node = ascending ? node.left() : node.right();
+        }
+        return this;
+    }
+}
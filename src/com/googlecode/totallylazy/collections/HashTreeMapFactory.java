@@ -1,5 +1,11 @@
 package com.googlecode.totallylazy.collections;
 
+import com.googlecode.totallylazy.Maps;
+import com.googlecode.totallylazy.Pair;
+
+import java.util.HashMap;
+import java.util.Map;
+
 import static com.googlecode.totallylazy.Unchecked.cast;
 
 public class HashTreeMapFactory<K, V> extends AbstractMapFactory<K, V, HashTreeMap<K, V>> {
@@ -12,4 +18,15 @@ public class HashTreeMapFactory<K, V> extends AbstractMapFactory<K, V, HashTreeM
     public HashTreeMap<K, V> empty() {
         return HashTreeMap.hashTreeMap();
     }
+
+    @Override
+    public HashTreeMap<K, V> map(Iterable<? extends Pair<K, V>> values) {
+        Map<Integer, PersistentMap<K, V>> buckets = new HashMap<Integer, PersistentMap<K, V>>();
+        for (Pair<K, V> pair : values) {
+            Integer hashCode = pair.first().hashCode();
+            PersistentMap<K, V> bucket = buckets.get(hashCode);
+            buckets.put(hashCode, (bucket == null ? ListMap.<K, V>emptyListMap() : bucket).insert(pair.first(), pair.second()));
+        }
+        return HashTreeMap.hashTreeMap(PersistentSortedMap.constructors.sortedMap(Maps.pairs(buckets)));
+    }
 }
@@ -0,0 +1,531 @@
+package com.googlecode.totallylazy.collections;
+
+import com.googlecode.totallylazy.Option;
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.Unchecked;
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.functions.Function2;
+import com.googlecode.totallylazy.iterators.ReadOnlyIterator;
+import com.googlecode.totallylazy.predicates.Predicate;
+import com.googlecode.totallylazy.predicates.Predicates;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.googlecode.totallylazy.Unchecked.cast;
+import static com.googlecode.totallylazy.functions.Functions.call;
+
+public class HashTrieMap<K, V> extends AbstractMap<K, V> {
+    private static final HashTrieMap<?, ?> empty = new HashTrieMap<Object, Object>(BitmapNode.EMPTY, 0);
+    private final Node root;
+    private final int size;
+
+    HashTrieMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <K, V> HashTrieMapFactory<K, V> factory() {
+        return HashTrieMapFactory.factory();
+    }
+
+    public static <K, V> HashTrieMap<K, V> hashTrieMap() {
+        return cast(empty);
+    }
+
+    public static <K, V> HashTrieMap<K, V> hashTrieMap(Iterable<? extends Pair<K, V>> values) {
+        return HashTrieMap.<K, V>factory().map(values);
+    }
+
+    public TransientHashTrieMap<K, V> transientMap() {
+        return new TransientHashTrieMap<K, V>(root, size);
+    }
+
+    @Override
+    public HashTrieMap<K, V> empty() {
+        return hashTrieMap();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Pair<K, V> head() throws NoSuchElementException {
+        return iterator().next();
+    }
+
+    @Override
+    public Option<Pair<K, V>> headOption() {
+        if (isEmpty()) return Option.none();
+        return Option.some(head());
+    }
+
+    @Override
+    public HashTrieMap<K, V> cons(Pair<K, V> head) {
+        return insert(head.first(), head.second());
+    }
+
+    @Override
+    public HashTrieMap<K, V> tail() throws NoSuchElementException {
+        return delete(head().first());
+    }
+
+    @Override
+    public Option<V> lookup(K key) {
+        Object value = root.find(key, key.hashCode(), 0);
+        return value == NOT_FOUND ? Option.<V>none() : Option.some(Unchecked.<V>cast(value));
+    }
+
+    @Override
+    public boolean contains(Object other) {
+        return root.find(other, other.hashCode(), 0) != NOT_FOUND;
+    }
+
+    @Override
+    public HashTrieMap<K, V> insert(K key, V value) {
+        Change change = new Change();
+        Node newRoot = root.insert(key, value, key.hashCode(), 0, change, null);
+        if (newRoot == root) return this;
+        return new HashTrieMap<K, V>(newRoot, change.added ? size + 1 : size);
+    }
+
+    @Override
+    public HashTrieMap<K, V> delete(K key) {
+        Node newRoot = root.delete(key, key.hashCode(), 0, new Change(), null);
+        if (newRoot == root) return this;
+        return new HashTrieMap<K, V>(newRoot, size - 1);
+    }
+
+    @Override
+    public HashTrieMap<K, V> filter(Predicate<? super Pair<K, V>> predicate) {
+        TransientHashTrieMap<K, V> result = transientMap();
+        for (Pair<K, V> pair : this) {
+            if (!predicate.matches(pair)) result.delete(pair.first());
+        }
+        return result.persistent();
+    }
+
+    @Override
+    public HashTrieMap<K, V> filterKeys(Predicate<? super K> predicate) {
+        return filter(Predicates.<K>first(predicate));
+    }
+
+    @Override
+    public HashTrieMap<K, V> filterValues(Predicate<? super V> predicate) {
+        return filter(Predicates.<V>second(predicate));
+    }
+
+    @Override
+    public <NewV> HashTrieMap<K, NewV> map(Function1<? super V, ? extends NewV> transformer) {
+        return new HashTrieMap<K, NewV>(root.map(transformer), size);
+    }
+
+    @Override
+    public <S> S fold(S seed, Function2<? super S, ? super Pair<K, V>, ? extends S> callable) {
+        S accumulator = seed;
+        for (Pair<K, V> pair : this) accumulator = call(callable, accumulator, pair);
+        return accumulator;
+    }
+
+    @Override
+    public boolean exists(Predicate<? super K> predicate) {
+        for (Pair<K, V> pair : this) {
+            if (predicate.matches(pair.first())) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<Pair<K, V>> iterator() {
+        return new NodeIterator<K, V>(root);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (Pair<K, V> pair : this) hashCode += pair.first().hashCode() ^ (pair.second() == null ? 0 : pair.second().hashCode());
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (!(obj instanceof HashTrieMap)) return false;
+        HashTrieMap<?, ?> other = (HashTrieMap<?, ?>) obj;
+        if (other.size != size) return false;
+        for (Pair<K, V> pair : this) {
+            Object value = other.root.find(pair.first(), pair.first().hashCode(), 0);
+            if (value == NOT_FOUND || !equal(value, pair.second())) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return toSequence().toString("");
+    }
+
+    static final Object NOT_FOUND = new Object();
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    static class Change {
+        boolean added;
+        boolean removed;
+    }
+
+    static abstract class Node {
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node insert(Object key, Object value, int hash, int shift, Change change, Object edit);
+
+        abstract Node delete(Object key, int hash, int shift, Change change, Object edit);
+
+        abstract Node map(Function1<?, ?> transformer);
+
+        abstract int payloadArity();
+
+        abstract int nodeArity();
+
+        abstract Object key(int index);
+
+        abstract Object value(int index);
+
+        abstract Node node(int index);
+
+        static Node merge(Object key1, Object value1, int hash1, Object key2, Object value2, int hash2, int shift, Object edit) {
+            if (shift >= 32) return new CollisionNode(edit, hash1, new Object[]{key1, value1, key2, value2});
+            int mask1 = (hash1 >>> shift) & MASK;
+            int mask2 = (hash2 >>> shift) & MASK;
+            if (mask1 != mask2) {
+                int dataMap = (1 << mask1) | (1 << mask2);
+                return mask1 < mask2
+                        ? new BitmapNode(edit, dataMap, 0, new Object[]{key1, value1, key2, value2})
+                        : new BitmapNode(edit, dataMap, 0, new Object[]{key2, value2, key1, value1});
+            }
+            return new BitmapNode(edit, 0, 1 << mask1, new Object[]{merge(key1, value1, hash1, key2, value2, hash2, shift + BITS, edit)});
+        }
+    }
+
+    static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, 0, new Object[0]);
+        private final Object edit;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+
+        private BitmapNode(Object edit, int dataMap, int nodeMap, Object[] content) {
+            this.edit = edit;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        private BitmapNode update(Object edit, int dataMap, int nodeMap, Object[] content) {
+            if (edit == null || this.edit != edit) return new BitmapNode(edit, dataMap, nodeMap, content);
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+            return this;
+        }
+
+        private BitmapNode set(Object edit, int index, Object value) {
+            if (edit != null && this.edit == edit) {
+                content[index] = value;
+                return this;
+            }
+            Object[] copy = content.clone();
+            copy[index] = value;
+            return new BitmapNode(edit, dataMap, nodeMap, copy);
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = 2 * dataIndex(bit);
+                return key.equals(content[index]) ? content[index + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) return ((Node) content[nodeIndex(bit)]).find(key, hash, shift + BITS);
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node insert(Object key, Object value, int hash, int shift, Change change, Object edit) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = 2 * dataIndex(bit);
+                Object currentKey = content[index];
+                if (key.equals(currentKey)) {
+                    if (content[index + 1] == value) return this;
+                    return set(edit, index + 1, value);
+                }
+                change.added = true;
+                Node child = merge(currentKey, content[index + 1], currentKey.hashCode(), key, value, hash, shift + BITS, edit);
+                return dataToNode(bit, index, child, edit);
+            }
+            if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node child = (Node) content[index];
+                Node newChild = child.insert(key, value, hash, shift + BITS, change, edit);
+                if (newChild == child) return this;
+                return set(edit, index, newChild);
+            }
+            change.added = true;
+            int index = 2 * dataIndex(bit);
+            Object[] copy = new Object[content.length + 2];
+            System.arraycopy(content, 0, copy, 0, index);
+            copy[index] = key;
+            copy[index + 1] = value;
+            System.arraycopy(content, index, copy, index + 2, content.length - index);
+            return update(edit, dataMap | bit, nodeMap, copy);
+        }
+
+        @Override
+        Node delete(Object key, int hash, int shift, Change change, Object edit) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = 2 * dataIndex(bit);
+                if (!key.equals(content[index])) return this;
+                change.removed = true;
+                Object[] copy = new Object[content.length - 2];
+                System.arraycopy(content, 0, copy, 0, index);
+                System.arraycopy(content, index + 2, copy, index, content.length - index - 2);
+                return update(edit, dataMap ^ bit, nodeMap, copy);
+            }
+            if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node child = (Node) content[index];
+                Node newChild = child.delete(key, hash, shift + BITS, change, edit);
+                if (!change.removed) return this;
+                if (newChild.payloadArity() == 1 && newChild.nodeArity() == 0)
+                    return nodeToData(bit, index, newChild.key(0), newChild.value(0), edit);
+                if (newChild == child) return this;
+                return set(edit, index, newChild);
+            }
+            return this;
+        }
+
+        private Node dataToNode(int bit, int dataIndex, Node child, Object edit) {
+            Object[] copy = new Object[content.length - 1];
+            int nodeIndex = content.length - 2 - Integer.bitCount(nodeMap & (bit - 1));
+            System.arraycopy(content, 0, copy, 0, dataIndex);
+            System.arraycopy(content, dataIndex + 2, copy, dataIndex, nodeIndex - dataIndex);
+            copy[nodeIndex] = child;
+            System.arraycopy(content, nodeIndex + 2, copy, nodeIndex + 1, content.length - nodeIndex - 2);
+            return update(edit, dataMap ^ bit, nodeMap | bit, copy);
+        }
+
+        private Node nodeToData(int bit, int nodeIndex, Object key, Object value, Object edit) {
+            Object[] copy = new Object[content.length + 1];
+            int dataIndex = 2 * dataIndex(bit);
+            System.arraycopy(content, 0, copy, 0, dataIndex);
+            copy[dataIndex] = key;
+            copy[dataIndex + 1] = value;
+            System.arraycopy(content, dataIndex, copy, dataIndex + 2, nodeIndex - dataIndex);
+            System.arraycopy(content, nodeIndex + 1, copy, nodeIndex + 2, content.length - nodeIndex - 1);
+            return update(edit, dataMap | bit, nodeMap ^ bit, copy);
+        }
+
+        @Override
+        Node map(Function1<?, ?> transformer) {
+            Object[] copy = new Object[content.length];
+            int payload = 2 * payloadArity();
+            for (int i = 0; i < payload; i += 2) {
+                copy[i] = content[i];
+                copy[i + 1] = call(Unchecked.<Function1<Object, Object>>cast(transformer), content[i + 1]);
+            }
+            for (int i = payload; i < content.length; i++) copy[i] = ((Node) content[i]).map(transformer);
+            return new BitmapNode(null, dataMap, nodeMap, copy);
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Object key(int index) {
+            return content[2 * index];
+        }
+
+        @Override
+        Object value(int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        Node node(int index) {
+            return (Node) content[content.length - 1 - index];
+        }
+    }
+
+    static final class CollisionNode extends Node {
+        private final Object edit;
+        private final int hash;
+        private Object[] content;
+
+        private CollisionNode(Object edit, int hash, Object[] content) {
+            this.edit = edit;
+            this.hash = hash;
+            this.content = content;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < content.length; i += 2) {
+                if (key.equals(content[i])) return i;
+            }
+            return -1;
+        }
+
+        private CollisionNode update(Object edit, Object[] content) {
+            if (edit == null || this.edit != edit) return new CollisionNode(edit, hash, content);
+            this.content = content;
+            return this;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            if (hash != this.hash) return NOT_FOUND;
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : content[index + 1];
+        }
+
+        @Override
+        Node insert(Object key, Object value, int hash, int shift, Change change, Object edit) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (content[index + 1] == value) return this;
+                Object[] copy = content.clone();
+                copy[index + 1] = value;
+                return update(edit, copy);
+            }
+            change.added = true;
+            Object[] copy = Arrays.copyOf(content, content.length + 2);
+            copy[content.length] = key;
+            copy[content.length + 1] = value;
+            return update(edit, copy);
+        }
+
+        @Override
+        Node delete(Object key, int hash, int shift, Change change, Object edit) {
+            int index = indexOf(key);
+            if (index < 0) return this;
+            change.removed = true;
+            Object[] copy = new Object[content.length - 2];
+            System.arraycopy(content, 0, copy, 0, index);
+            System.arraycopy(content, index + 2, copy, index, content.length - index - 2);
+            return update(edit, copy);
+        }
+
+        @Override
+        Node map(Function1<?, ?> transformer) {
+            Object[] copy = new Object[content.length];
+            for (int i = 0; i < content.length; i += 2) {
+                copy[i] = content[i];
+                copy[i + 1] = call(Unchecked.<Function1<Object, Object>>cast(transformer), content[i + 1]);
+            }
+            return new CollisionNode(null, hash, copy);
+        }
+
+        @Override
+        int payloadArity() {
+            return content.length / 2;
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        Object key(int index) {
+            return content[2 * index];
+        }
+
+        @Override
+        Object value(int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        Node node(int index) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    static final class NodeIterator<K, V> extends ReadOnlyIterator<Pair<K, V>> {
+        private final Node[] nodes = new Node[8];
+        private final int[] positions = new int[8];
+        private int depth = 0;
+        private Node current;
+        private int index;
+
+        NodeIterator(Node root) {
+            current = root;
+            nodes[0] = root;
+            advance();
+        }
+
+        private void advance() {
+            while (index >= current.payloadArity()) {
+                if (positions[depth] < nodes[depth].nodeArity()) {
+                    Node child = nodes[depth].node(positions[depth]++);
+                    depth++;
+                    nodes[depth] = child;
+                    positions[depth] = 0;
+                    current = child;
+                    index = 0;
+                } else if (depth > 0) {
+                    depth--;
+                } else {
+                    current = null;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public Pair<K, V> next() {
+            if (current == null) throw new NoSuchElementException();
+            Pair<K, V> pair = Pair.pair(Unchecked.<K>cast(current.key(index)), Unchecked.<V>cast(current.value(index)));
+            index++;
+            advance();
+            return pair;
+        }
+    }
+}
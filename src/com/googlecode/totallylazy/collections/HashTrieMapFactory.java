@@ -0,0 +1,24 @@
+package com.googlecode.totallylazy.collections;
+
+import com.googlecode.totallylazy.Pair;
+
+import static com.googlecode.totallylazy.Unchecked.cast;
+
+public class HashTrieMapFactory<K, V> extends AbstractMapFactory<K, V, HashTrieMap<K, V>> {
+    private static final HashTrieMapFactory<?,?> instance = new HashTrieMapFactory<Object, Object>();
+    private HashTrieMapFactory() {}
+
+    public static <K,V> HashTrieMapFactory<K, V> factory() {return cast(instance);}
+
+    @Override
+    public HashTrieMap<K, V> empty() {
+        return HashTrieMap.hashTrieMap();
+    }
+
+    @Override
+    public HashTrieMap<K, V> map(Iterable<? extends Pair<K, V>> values) {
+        TransientHashTrieMap<K, V> map = HashTrieMap.<K, V>hashTrieMap().transientMap();
+        for (Pair<K, V> pair : values) map.insert(pair.first(), pair.second());
+        return map.persistent();
+    }
+}
@@ -0,0 +1,164 @@
+package com.googlecode.totallylazy.collections;
+
+import com.googlecode.totallylazy.Option;
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.functions.Callables;
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.functions.Function2;
+import com.googlecode.totallylazy.iterators.ReadOnlyIterator;
+import com.googlecode.totallylazy.predicates.Predicate;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.functions.Functions.call;
+
+public class HashTrieSet<T> extends AbstractCollection<T> implements PersistentSet<T> {
+    private final HashTrieMap<T, T> map;
+
+    private HashTrieSet(HashTrieMap<T, T> map) {
+        this.map = map;
+    }
+
+    public static <T> HashTrieSet<T> hashTrieSet() {
+        return new HashTrieSet<T>(HashTrieMap.<T, T>hashTrieMap());
+    }
+
+    @SafeVarargs
+    public static <T> HashTrieSet<T> hashTrieSet(T... values) {
+        return hashTrieSet(sequence(values));
+    }
+
+    public static <T> HashTrieSet<T> hashTrieSet(Iterable<? extends T> values) {
+        TransientHashTrieMap<T, T> map = HashTrieMap.<T, T>hashTrieMap().transientMap();
+        for (T value : values) map.insert(value, value);
+        return new HashTrieSet<T>(map.persistent());
+    }
+
+    private HashTrieSet<T> hashTrieSet(HashTrieMap<T, T> map) {
+        return map == this.map ? this : new HashTrieSet<T>(map);
+    }
+
+    @Override
+    public Option<T> lookup(T value) {
+        return map.lookup(value);
+    }
+
+    @Override
+    public Option<T> find(Predicate<? super T> predicate) {
+        for (T value : this) {
+            if (predicate.matches(value)) return Option.some(value);
+        }
+        return Option.none();
+    }
+
+    @Override
+    public HashTrieSet<T> empty() {
+        return hashTrieSet();
+    }
+
+    @Override
+    public HashTrieSet<T> cons(T head) {
+        return hashTrieSet(map.insert(head, head));
+    }
+
+    @Override
+    public HashTrieSet<T> delete(T value) {
+        return hashTrieSet(map.delete(value));
+    }
+
+    @Override
+    public HashTrieSet<T> filter(Predicate<? super T> predicate) {
+        return hashTrieSet(map.filterKeys(predicate));
+    }
+
+    @Override
+    public <NewT> HashTrieSet<NewT> map(Function1<? super T, ? extends NewT> transformer) {
+        return hashTrieSet(toSequence().map(transformer));
+    }
+
+    @Override
+    public PersistentList<T> toPersistentList() {
+        return map.keys().toPersistentList();
+    }
+
+    @Override
+    public Set<T> toSet() {
+        return map.keys().toSet();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public T head() throws NoSuchElementException {
+        return map.head().first();
+    }
+
+    @Override
+    public Option<T> headOption() {
+        return map.headOption().map(Callables.<T>first());
+    }
+
+    @Override
+    public HashTrieSet<T> tail() throws NoSuchElementException {
+        return hashTrieSet(map.tail());
+    }
+
+    @Override
+    public boolean contains(Object other) {
+        return map.contains(other);
+    }
+
+    @Override
+    public boolean exists(Predicate<? super T> predicate) {
+        return map.exists(predicate);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<Pair<T, T>> iterator = map.iterator();
+        return new ReadOnlyIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return iterator.next().first();
+            }
+        };
+    }
+
+    @Override
+    public <S> S fold(S seed, Function2<? super S, ? super T, ? extends S> callable) {
+        S accumulator = seed;
+        for (T value : this) accumulator = call(callable, accumulator, value);
+        return accumulator;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) return true;
+        if (!(other instanceof HashTrieSet)) return false;
+        HashTrieSet<?> set = (HashTrieSet<?>) other;
+        return set.size() == size() && map.keys().forAll(set::contains);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (T value : this) hashCode += value.hashCode();
+        return hashCode;
+    }
+}
@@ -5,8 +5,10 @@ import com.googlecode.totallylazy.functions.Function2;
 import com.googlecode.totallylazy.Option;
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.Segment;
+import com.googlecode.totallylazy.Unchecked;
 import com.googlecode.totallylazy.iterators.SegmentIterator;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -30,6 +32,14 @@ public abstract class LinkedList<T> extends AbstractList<T> implements Persisten
         return Node.node(head, tail);
     }
 
+    static <T> PersistentList<T> linkedList(Iterable<? extends T> values) {
+        if (values instanceof LinkedList) return cast(values);
+        Object[] items = values instanceof Collection ? ((Collection<?>) values).toArray() : sequence(values).toList().toArray();
+        PersistentList<T> result = emptyList();
+        for (int i = items.length - 1; i >= 0; i--) result = Node.node(Unchecked.<T>cast(items[i]), result);
+        return result;
+    }
+
     @Override
     public PersistentList<T> empty() {
         return emptyList();
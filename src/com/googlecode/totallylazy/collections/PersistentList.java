@@ -162,7 +162,16 @@ public interface PersistentList<T> extends List<T>, PersistentCollection<T>, Ite
         }
 
         public static <T> PersistentList<T> list(Iterable<? extends T> values) {
-            return sequence(values).reverse().foldLeft(constructors.<T>empty(), functions.<T>cons());
+            return LinkedList.linkedList(values);
+        }
+
+        @SafeVarargs
+        public static <T> PersistentList<T> vector(T... values) {
+            return Vector.vector(values);
+        }
+
+        public static <T> PersistentList<T> vector(Iterable<? extends T> values) {
+            return Vector.vector(values);
         }
 
         public static <T> PersistentList<T> reverse(Iterable<? extends T> values) {
@@ -36,7 +36,20 @@ public interface PersistentSet<T> extends Set<T>, Iterable<T>, Segment<T>, Persi
 
     Set<T> toSet();
 
+    class constructors {
+        public static <T> PersistentSet<T> set() {
+            return HashTrieSet.hashTrieSet();
+        }
+
+        @SafeVarargs
+        public static <T> PersistentSet<T> set(T... values) {
+            return HashTrieSet.hashTrieSet(values);
+        }
 
+        public static <T> PersistentSet<T> set(Iterable<? extends T> values) {
+            return HashTrieSet.hashTrieSet(values);
+        }
+    }
 
     class functions extends Segment.functions {
         public static <T> Function1<PersistentSet<T>,Option<T>> get(final T value) {
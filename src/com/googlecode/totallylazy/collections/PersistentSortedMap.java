@@ -3,7 +3,9 @@ package com.googlecode.totallylazy.collections;
 import com.googlecode.totallylazy.functions.Function1;
 import com.googlecode.totallylazy.functions.Callables;
 import com.googlecode.totallylazy.Maps;
+import com.googlecode.totallylazy.Option;
 import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.Sequence;
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.comparators.Comparators;
 
@@ -48,6 +50,44 @@ public interface PersistentSortedMap<K, V> extends PersistentMap<K, V>, Sorted<P
     @Override
     Pair<? extends PersistentSortedMap<K, V>, Pair<K, V>> removeLast();
 
+    Option<Pair<K, V>> floor(K key);
+
+    Option<Pair<K, V>> ceiling(K key);
+
+    Option<Pair<K, V>> lower(K key);
+
+    Option<Pair<K, V>> higher(K key);
+
+    PersistentSortedMap<K, V> headMap(K to, boolean inclusive);
+
+    PersistentSortedMap<K, V> tailMap(K from, boolean inclusive);
+
+    PersistentSortedMap<K, V> subMap(K from, boolean fromInclusive, K to, boolean toInclusive);
+
+    default PersistentSortedMap<K, V> headMap(K to) {
+        return headMap(to, false);
+    }
+
+    default PersistentSortedMap<K, V> tailMap(K from) {
+        return tailMap(from, true);
+    }
+
+    default PersistentSortedMap<K, V> subMap(K from, K to) {
+        return subMap(from, true, to, false);
+    }
+
+    PersistentSortedMap<K, V> union(PersistentSortedMap<K, V> other);
+
+    PersistentSortedMap<K, V> intersection(PersistentSortedMap<K, V> other);
+
+    PersistentSortedMap<K, V> difference(PersistentSortedMap<K, V> other);
+
+    Sequence<Pair<K, V>> ascendingFrom(K key);
+
+    Sequence<Pair<K, V>> descendingFrom(K key);
+
+    Sequence<Pair<K, V>> descending();
+
     class constructors {
         private static TreeFactory factory = AVLTree.constructors.factory;
 
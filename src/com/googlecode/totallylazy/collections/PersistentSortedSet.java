@@ -1,7 +1,9 @@
 package com.googlecode.totallylazy.collections;
 
 import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.Option;
 import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.Sequence;
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.comparators.Comparators;
 
@@ -33,6 +35,44 @@ public interface PersistentSortedSet<T> extends PersistentSet<T>, Sorted<T>, Ind
     @Override
     Pair<PersistentSortedSet<T>, T> removeLast() throws NoSuchElementException;
 
+    Option<T> floor(T value);
+
+    Option<T> ceiling(T value);
+
+    Option<T> lower(T value);
+
+    Option<T> higher(T value);
+
+    PersistentSortedSet<T> headSet(T to, boolean inclusive);
+
+    PersistentSortedSet<T> tailSet(T from, boolean inclusive);
+
+    PersistentSortedSet<T> subSet(T from, boolean fromInclusive, T to, boolean toInclusive);
+
+    default PersistentSortedSet<T> headSet(T to) {
+        return headSet(to, false);
+    }
+
+    default PersistentSortedSet<T> tailSet(T from) {
+        return tailSet(from, true);
+    }
+
+    default PersistentSortedSet<T> subSet(T from, T to) {
+        return subSet(from, true, to, false);
+    }
+
+    PersistentSortedSet<T> union(PersistentSortedSet<T> other);
+
+    PersistentSortedSet<T> intersection(PersistentSortedSet<T> other);
+
+    PersistentSortedSet<T> difference(PersistentSortedSet<T> other);
+
+    Sequence<T> ascendingFrom(T value);
+
+    Sequence<T> descendingFrom(T value);
+
+    Sequence<T> descending();
+
     class constructors {
         public static <A extends Comparable<? super A>> PersistentSortedSet<A> sortedSet() {
             return constructors.<A>sortedSet(Comparators.<A>ascending());
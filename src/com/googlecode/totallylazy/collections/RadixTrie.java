@@ -0,0 +1,382 @@
+package com.googlecode.totallylazy.collections;
+
+import com.googlecode.totallylazy.Option;
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.Sequences;
+import com.googlecode.totallylazy.Unchecked;
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.functions.Function2;
+import com.googlecode.totallylazy.iterators.StatefulIterator;
+import com.googlecode.totallylazy.predicates.Predicate;
+import com.googlecode.totallylazy.predicates.Predicates;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.googlecode.totallylazy.Unchecked.cast;
+import static com.googlecode.totallylazy.functions.Functions.call;
+
+public class RadixTrie<V> extends AbstractMap<String, V> {
+    private static final Object NOT_FOUND = new Object();
+    private static final RadixTrie<?> empty = new RadixTrie<Object>(Node.EMPTY, 0);
+    private final Node root;
+    private final int size;
+
+    private RadixTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <V> RadixTrie<V> radixTrie() {
+        return cast(empty);
+    }
+
+    public static <V> RadixTrie<V> radixTrie(Iterable<? extends Pair<String, V>> values) {
+        RadixTrie<V> result = radixTrie();
+        for (Pair<String, V> pair : values) result = result.insert(pair.first(), pair.second());
+        return result;
+    }
+
+    @Override
+    public RadixTrie<V> empty() {
+        return radixTrie();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Pair<String, V> head() throws NoSuchElementException {
+        return iterator().next();
+    }
+
+    @Override
+    public Option<Pair<String, V>> headOption() {
+        if (isEmpty()) return Option.none();
+        return Option.some(head());
+    }
+
+    @Override
+    public RadixTrie<V> cons(Pair<String, V> head) {
+        return insert(head.first(), head.second());
+    }
+
+    @Override
+    public RadixTrie<V> tail() throws NoSuchElementException {
+        return delete(head().first());
+    }
+
+    @Override
+    public Option<V> lookup(String key) {
+        Object value = root.find(key);
+        return value == NOT_FOUND ? Option.<V>none() : Option.some(Unchecked.<V>cast(value));
+    }
+
+    @Override
+    public V get(Object key) {
+        if (!(key instanceof CharSequence)) return null;
+        Object value = root.find((CharSequence) key);
+        return value == NOT_FOUND ? null : Unchecked.<V>cast(value);
+    }
+
+    @Override
+    public boolean contains(Object other) {
+        return other instanceof CharSequence && root.find((CharSequence) other) != NOT_FOUND;
+    }
+
+    @Override
+    public RadixTrie<V> insert(String key, V value) {
+        Object existing = root.find(key);
+        if (existing != NOT_FOUND && existing == value) return this;
+        return new RadixTrie<V>(root.insert(key, 0, value), existing == NOT_FOUND ? size + 1 : size);
+    }
+
+    @Override
+    public RadixTrie<V> delete(String key) {
+        if (root.find(key) == NOT_FOUND) return this;
+        return new RadixTrie<V>(root.delete(key, 0), size - 1);
+    }
+
+    public Sequence<Pair<String, V>> prefixed(final CharSequence prefix) {
+        Node node = root;
+        int position = 0, length = prefix.length();
+        while (position < length) {
+            int index = node.index(prefix.charAt(position));
+            if (index < 0) return Sequences.empty();
+            Node child = node.children[index];
+            int end = Math.min(child.edge.length, length - position);
+            for (int i = 1; i < end; i++) {
+                if (child.edge[i] != prefix.charAt(position + i)) return Sequences.empty();
+            }
+            if (position + child.edge.length >= length) {
+                final Node start = child;
+                final String path = prefix.subSequence(0, position).toString();
+                return new Sequence<Pair<String, V>>() {
+                    @Override
+                    public Iterator<Pair<String, V>> iterator() {
+                        return new NodeIterator<V>(start, path);
+                    }
+                };
+            }
+            position += child.edge.length;
+            node = child;
+        }
+        return toSequence();
+    }
+
+    public Option<Pair<String, V>> longestPrefix(CharSequence input) {
+        Node node = root, match = root.value == NOT_FOUND ? null : root;
+        int position = 0, matched = 0, length = input.length();
+        search:
+        while (position < length) {
+            int index = node.index(input.charAt(position));
+            if (index < 0) break;
+            Node child = node.children[index];
+            if (length - position < child.edge.length) break;
+            for (int i = 1; i < child.edge.length; i++) {
+                if (child.edge[i] != input.charAt(position + i)) break search;
+            }
+            position += child.edge.length;
+            node = child;
+            if (node.value != NOT_FOUND) {
+                match = node;
+                matched = position;
+            }
+        }
+        if (match == null) return Option.none();
+        return Option.some(Pair.pair(input.subSequence(0, matched).toString(), Unchecked.<V>cast(match.value)));
+    }
+
+    @Override
+    public RadixTrie<V> filter(Predicate<? super Pair<String, V>> predicate) {
+        RadixTrie<V> result = this;
+        for (Pair<String, V> pair : this) {
+            if (!predicate.matches(pair)) result = result.delete(pair.first());
+        }
+        return result;
+    }
+
+    @Override
+    public RadixTrie<V> filterKeys(Predicate<? super String> predicate) {
+        return filter(Predicates.<String>first(predicate));
+    }
+
+    @Override
+    public RadixTrie<V> filterValues(Predicate<? super V> predicate) {
+        return filter(Predicates.<V>second(predicate));
+    }
+
+    @Override
+    public <NewV> RadixTrie<NewV> map(Function1<? super V, ? extends NewV> transformer) {
+        return new RadixTrie<NewV>(root.map(transformer), size);
+    }
+
+    @Override
+    public <S> S fold(S seed, Function2<? super S, ? super Pair<String, V>, ? extends S> callable) {
+        S accumulator = seed;
+        for (Pair<String, V> pair : this) accumulator = call(callable, accumulator, pair);
+        return accumulator;
+    }
+
+    @Override
+    public boolean exists(Predicate<? super String> predicate) {
+        for (Pair<String, V> pair : this) {
+            if (predicate.matches(pair.first())) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<Pair<String, V>> iterator() {
+        return new NodeIterator<V>(root, "");
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (Pair<String, V> pair : this) hashCode += pair.first().hashCode() ^ (pair.second() == null ? 0 : pair.second().hashCode());
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (!(obj instanceof RadixTrie)) return false;
+        RadixTrie<?> other = (RadixTrie<?>) obj;
+        if (other.size != size) return false;
+        for (Pair<String, V> pair : this) {
+            Object value = other.root.find(pair.first());
+            if (value == NOT_FOUND || !(value == null ? pair.second() == null : value.equals(pair.second()))) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return toSequence().toString("");
+    }
+
+
+    private static final class Node {
+        private static final char[] NO_CHARACTERS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Node EMPTY = new Node(NO_CHARACTERS, NOT_FOUND, NO_CHARACTERS, NO_CHILDREN);
+        private final char[] edge;
+        private final Object value;
+        private final char[] firsts;
+        private final Node[] children;
+
+        private Node(char[] edge, Object value, char[] firsts, Node[] children) {
+            this.edge = edge;
+            this.value = value;
+            this.firsts = firsts;
+            this.children = children;
+        }
+
+        private int index(char character) {
+            int length = firsts.length;
+            if (length == 0) return -1;
+            int offset = character - firsts[0];
+            if (offset >= 0 && offset < length && firsts[offset] == character) return offset;
+            if (length < 8) {
+                for (int i = 0; i < length; i++) if (firsts[i] == character) return i;
+                return -1;
+            }
+            int index = Arrays.binarySearch(firsts, character);
+            return index < 0 ? -1 : index;
+        }
+
+        private Object find(CharSequence key) {
+            Node node = this;
+            int position = 0, length = key.length();
+            while (position < length) {
+                int index = node.index(key.charAt(position));
+                if (index < 0) return NOT_FOUND;
+                node = node.children[index];
+                char[] edge = node.edge;
+                if (length - position < edge.length) return NOT_FOUND;
+                for (int i = 1; i < edge.length; i++) {
+                    if (edge[i] != key.charAt(position + i)) return NOT_FOUND;
+                }
+                position += edge.length;
+            }
+            return node.value;
+        }
+
+        private Node insert(CharSequence key, int position, Object value) {
+            if (position == key.length()) return new Node(edge, value, firsts, children);
+            int index = Arrays.binarySearch(firsts, key.charAt(position));
+            if (index < 0) return add(-index - 1, new Node(characters(key, position), value, NO_CHARACTERS, NO_CHILDREN));
+            Node child = children[index];
+            int common = 1;
+            while (common < child.edge.length && position + common < key.length() && child.edge[common] == key.charAt(position + common)) common++;
+            if (common == child.edge.length) return replace(index, child.insert(key, position + common, value));
+            Node suffix = child.edge(Arrays.copyOfRange(child.edge, common, child.edge.length));
+            char[] prefix = Arrays.copyOf(child.edge, common);
+            Node split = position + common == key.length() ?
+                    new Node(prefix, value, new char[]{suffix.edge[0]}, new Node[]{suffix}) :
+                    new Node(prefix, NOT_FOUND, NO_CHARACTERS, NO_CHILDREN).add(0, suffix).add(key.charAt(position + common) < suffix.edge[0] ? 0 : 1,
+                            new Node(characters(key, position + common), value, NO_CHARACTERS, NO_CHILDREN));
+            return replace(index, split);
+        }
+
+        private Node delete(CharSequence key, int position) {
+            if (position == key.length()) return new Node(edge, NOT_FOUND, firsts, children);
+            int index = index(key.charAt(position));
+            Node child = children[index];
+            Node result = child.delete(key, position + child.edge.length).compact();
+            return result == null ? remove(index) : replace(index, result);
+        }
+
+        private Node compact() {
+            if (value != NOT_FOUND) return this;
+            if (children.length == 0) return null;
+            if (children.length > 1) return this;
+            Node child = children[0];
+            char[] merged = Arrays.copyOf(edge, edge.length + child.edge.length);
+            System.arraycopy(child.edge, 0, merged, edge.length, child.edge.length);
+            return child.edge(merged);
+        }
+
+        private Node map(Function1<?, ?> transformer) {
+            Node[] mapped = new Node[children.length];
+            for (int i = 0; i < mapped.length; i++) mapped[i] = children[i].map(transformer);
+            return new Node(edge, value == NOT_FOUND ? NOT_FOUND : call(Unchecked.<Function1<Object, Object>>cast(transformer), value), firsts, mapped);
+        }
+
+        private Node edge(char[] edge) {
+            return new Node(edge, value, firsts, children);
+        }
+
+        private Node add(int index, Node child) {
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newFirsts[index] = child.edge[0];
+            newChildren[index] = child;
+            System.arraycopy(firsts, index, newFirsts, index + 1, firsts.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            return new Node(edge, value, newFirsts, newChildren);
+        }
+
+        private Node replace(int index, Node child) {
+            Node[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new Node(edge, value, firsts, newChildren);
+        }
+
+        private Node remove(int index) {
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index + 1, newFirsts, index, newFirsts.length - index);
+            System.arraycopy(children, index + 1, newChildren, index, newChildren.length - index);
+            return new Node(edge, value, newFirsts, newChildren);
+        }
+
+        private static char[] characters(CharSequence key, int from) {
+            char[] result = new char[key.length() - from];
+            for (int i = 0; i < result.length; i++) result[i] = key.charAt(from + i);
+            return result;
+        }
+    }
+
+    private static final class NodeIterator<V> extends StatefulIterator<Pair<String, V>> {
+        private final ArrayDeque<Node> nodes = new ArrayDeque<Node>();
+        private final ArrayDeque<Integer> depths = new ArrayDeque<Integer>();
+        private final StringBuilder path;
+
+        private NodeIterator(Node start, String path) {
+            this.path = new StringBuilder(path);
+            nodes.push(start);
+            depths.push(path.length());
+        }
+
+        @Override
+        protected Pair<String, V> getNext() throws Exception {
+            while (!nodes.isEmpty()) {
+                Node node = nodes.pop();
+                path.setLength(depths.pop());
+                path.append(node.edge);
+                for (int i = node.children.length - 1; i >= 0; i--) {
+                    nodes.push(node.children[i]);
+                    depths.push(path.length());
+                }
+                if (node.value != NOT_FOUND) return Pair.pair(path.toString(), Unchecked.<V>cast(node.value));
+            }
+            return finished();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.googlecode.totallylazy.collections;
+
+import com.googlecode.totallylazy.Option;
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.Unchecked;
+
+public class TransientHashTrieMap<K, V> {
+    private final Thread owner = Thread.currentThread();
+    private Object edit = new Object();
+    private HashTrieMap.Node root;
+    private int size;
+
+    TransientHashTrieMap(HashTrieMap.Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public TransientHashTrieMap<K, V> insert(K key, V value) {
+        HashTrieMap.Change change = new HashTrieMap.Change();
+        root = root.insert(key, value, key.hashCode(), 0, change, editable());
+        if (change.added) size++;
+        return this;
+    }
+
+    public TransientHashTrieMap<K, V> cons(Pair<K, V> pair) {
+        return insert(pair.first(), pair.second());
+    }
+
+    public TransientHashTrieMap<K, V> delete(K key) {
+        HashTrieMap.Change change = new HashTrieMap.Change();
+        root = root.delete(key, key.hashCode(), 0, change, editable());
+        if (change.removed) size--;
+        return this;
+    }
+
+    public Option<V> lookup(K key) {
+        editable();
+        Object value = root.find(key, key.hashCode(), 0);
+        return value == HashTrieMap.NOT_FOUND ? Option.<V>none() : Option.some(Unchecked.<V>cast(value));
+    }
+
+    public int size() {
+        editable();
+        return size;
+    }
+
+    public HashTrieMap<K, V> persistent() {
+        editable();
+        edit = null;
+        return new HashTrieMap<K, V>(root, size);
+    }
+
+    private Object editable() {
+        if (edit == null || owner != Thread.currentThread()) throw new IllegalMutationException();
+        return edit;
+    }
+}
@@ -0,0 +1,94 @@
+package com.googlecode.totallylazy.collections;
+
+import java.util.Arrays;
+
+import static com.googlecode.totallylazy.collections.Vector.BITS;
+import static com.googlecode.totallylazy.collections.Vector.MASK;
+import static com.googlecode.totallylazy.collections.Vector.WIDTH;
+import static com.googlecode.totallylazy.collections.Vector.newPath;
+import static com.googlecode.totallylazy.collections.Vector.tailOffset;
+
+public class TransientVector<T> {
+    private final Thread owner = Thread.currentThread();
+    private boolean editable = true;
+    private Object[] root;
+    private int shift;
+    private int count;
+    private Object[] tail;
+
+    TransientVector(Vector<T> vector) {
+        if (vector.start != 0 || vector.end != vector.count) {
+            root = Vector.EMPTY_NODE.clone();
+            shift = BITS;
+            tail = new Object[WIDTH];
+            for (T value : vector) append(value);
+            return;
+        }
+        shift = vector.shift;
+        count = vector.count;
+        root = ownRightmostPath(vector.root, shift);
+        tail = Arrays.copyOf(vector.tail, WIDTH);
+    }
+
+    private static Object[] ownRightmostPath(Object[] node, int level) {
+        Object[] result = node.clone();
+        if (level == BITS) return result;
+        for (int i = WIDTH - 1; i >= 0; i--) {
+            if (result[i] != null) {
+                result[i] = ownRightmostPath((Object[]) result[i], level - BITS);
+                break;
+            }
+        }
+        return result;
+    }
+
+    public TransientVector<T> append(T value) {
+        editable();
+        if (count - tailOffset(count) < WIDTH) {
+            tail[count & MASK] = value;
+            count++;
+            return this;
+        }
+        Object[] tailNode = tail;
+        tail = new Object[WIDTH];
+        tail[0] = value;
+        if ((count >>> BITS) > (1 << shift)) {
+            Object[] newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tailNode);
+            root = newRoot;
+            shift += BITS;
+        } else {
+            pushTail(shift, root, tailNode);
+        }
+        count++;
+        return this;
+    }
+
+    private void pushTail(int level, Object[] parent, Object[] tailNode) {
+        int child = ((count - 1) >>> level) & MASK;
+        if (level == BITS) {
+            parent[child] = tailNode;
+            return;
+        }
+        Object[] node = (Object[]) parent[child];
+        if (node == null) parent[child] = newPath(level - BITS, tailNode);
+        else pushTail(level - BITS, node, tailNode);
+    }
+
+    public int size() {
+        editable();
+        return count;
+    }
+
+    public Vector<T> persistent() {
+        editable();
+        editable = false;
+        Object[] trimmed = Arrays.copyOf(tail, count - tailOffset(count));
+        return new Vector<T>(root, shift, count, trimmed, 0, count);
+    }
+
+    private void editable() {
+        if (!editable || owner != Thread.currentThread()) throw new IllegalMutationException();
+    }
+}
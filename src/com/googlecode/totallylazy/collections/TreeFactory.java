@@ -8,4 +8,8 @@ public interface TreeFactory {
     <K, V> TreeMap<K, V> create(Comparator<K> comparator, K key, V value);
 
     <K, V> TreeMap<K, V> create(Comparator<K> comparator, K key, V value, TreeMap<K, V> left, TreeMap<K, V> right);
+
+    default <K, V> TreeMap<K, V> join(TreeMap<K, V> left, K key, V value, TreeMap<K, V> right) {
+        return right.fold(left.insert(key, value), (tree, pair) -> tree.insert(pair.first(), pair.second()));
+    }
 }
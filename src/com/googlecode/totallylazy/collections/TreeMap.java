@@ -1,14 +1,22 @@
 package com.googlecode.totallylazy.collections;
 
 import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.Option;
 import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.Unchecked;
+import com.googlecode.totallylazy.comparators.Comparators;
+import com.googlecode.totallylazy.functions.Callables;
 import com.googlecode.totallylazy.predicates.Predicate;
 
 import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static com.googlecode.totallylazy.Callers.call;
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.Unchecked.cast;
 
 public interface TreeMap<K, V> extends PersistentSortedMap<K, V> {
     Comparator<K> comparator();
@@ -62,6 +70,45 @@ public interface TreeMap<K, V> extends PersistentSortedMap<K, V> {
     @Override
     Pair<? extends TreeMap<K, V>, Pair<K, V>> removeLast();
 
+    @Override
+    TreeMap<K, V> headMap(K to, boolean inclusive);
+
+    @Override
+    TreeMap<K, V> tailMap(K from, boolean inclusive);
+
+    @Override
+    TreeMap<K, V> subMap(K from, boolean fromInclusive, K to, boolean toInclusive);
+
+    @Override
+    default TreeMap<K, V> headMap(K to) {
+        return headMap(to, false);
+    }
+
+    @Override
+    default TreeMap<K, V> tailMap(K from) {
+        return tailMap(from, true);
+    }
+
+    @Override
+    default TreeMap<K, V> subMap(K from, K to) {
+        return subMap(from, true, to, false);
+    }
+
+    @Override
+    default TreeMap<K, V> union(PersistentSortedMap<K, V> other) {
+        return methods.union(this, methods.compatible(this, other));
+    }
+
+    @Override
+    default TreeMap<K, V> intersection(PersistentSortedMap<K, V> other) {
+        return methods.intersection(this, methods.compatible(this, other));
+    }
+
+    @Override
+    default TreeMap<K, V> difference(PersistentSortedMap<K, V> other) {
+        return methods.difference(this, methods.compatible(this, other));
+    }
+
     TreeFactory factory();
 
     class methods {
@@ -69,16 +116,203 @@ public interface TreeMap<K, V> extends PersistentSortedMap<K, V> {
             return factory.create(treeMap.comparator(), treeMap.key(), call(transformer, treeMap.value()), treeMap.left().map(transformer), treeMap.right().map(transformer));
         }
 
+        private static final int PARALLEL_THRESHOLD = Integer.getInteger("totallylazy.tree.parallel.threshold", 8192);
+
+        public static <K, V> TreeMap<K, V> union(TreeMap<K, V> first, TreeMap<K, V> second) {
+            if (first.isEmpty()) return second;
+            if (second.isEmpty()) return first;
+            Split<K, V> split = split(first, second.key());
+            return second.factory().join(union(split.left, second.left()), second.key(), second.value(), union(split.right, second.right()));
+        }
+
+        public static <K, V> TreeMap<K, V> intersection(TreeMap<K, V> first, TreeMap<K, V> second) {
+            if (first.isEmpty()) return first;
+            if (second.isEmpty()) return first.empty();
+            Split<K, V> split = split(second, first.key());
+            return intersection(first, split, intersection(first.left(), split.left), intersection(first.right(), split.right));
+        }
+
+        public static <K, V> TreeMap<K, V> difference(TreeMap<K, V> first, TreeMap<K, V> second) {
+            if (first.isEmpty() || second.isEmpty()) return first;
+            Split<K, V> split = split(first, second.key());
+            return concat(difference(split.left, second.left()), difference(split.right, second.right()));
+        }
+
+        public static <K, V> TreeMap<K, V> union(TreeMap<K, V> first, TreeMap<K, V> second, ForkJoinPool pool) {
+            return pool.invoke(new Operation<K, V>(Operation.UNION, first, second));
+        }
+
+        public static <K, V> TreeMap<K, V> intersection(TreeMap<K, V> first, TreeMap<K, V> second, ForkJoinPool pool) {
+            return pool.invoke(new Operation<K, V>(Operation.INTERSECTION, first, second));
+        }
+
+        public static <K, V> TreeMap<K, V> difference(TreeMap<K, V> first, TreeMap<K, V> second, ForkJoinPool pool) {
+            return pool.invoke(new Operation<K, V>(Operation.DIFFERENCE, first, second));
+        }
+
+        public static <K, V> TreeMap<K, V> concat(TreeMap<K, V> left, TreeMap<K, V> right) {
+            if (left.isEmpty()) return right;
+            if (right.isEmpty()) return left;
+            Pair<? extends TreeMap<K, V>, Pair<K, V>> last = left.removeLast();
+            return left.factory().join(last.first(), last.second().first(), last.second().second(), right);
+        }
+
+        static <K, V> TreeMap<K, V> compatible(TreeMap<K, V> treeMap, PersistentSortedMap<K, V> other) {
+            if (other instanceof TreeMap) {
+                TreeMap<K, V> tree = cast(other);
+                if (tree.factory() == treeMap.factory() && tree.comparator().equals(treeMap.comparator())) return tree;
+            }
+            return treeMap(treeMap.factory(), treeMap.comparator(), sequence(other).toSortedList(Comparators.<Pair<K, V>, K>by(Callables.<K>first(), treeMap.comparator())));
+        }
+
+        private static <K, V> TreeMap<K, V> intersection(TreeMap<K, V> first, Split<K, V> split, TreeMap<K, V> left, TreeMap<K, V> right) {
+            return split.node == null ? concat(left, right) : first.factory().join(left, first.key(), first.value(), right);
+        }
+
+        private static <K, V> Split<K, V> split(TreeMap<K, V> treeMap, K key) {
+            if (treeMap.isEmpty()) return new Split<K, V>(treeMap, null, treeMap);
+            int difference = treeMap.comparator().compare(key, treeMap.key());
+            if (difference == 0) return new Split<K, V>(treeMap.left(), treeMap, treeMap.right());
+            if (difference < 0) {
+                Split<K, V> split = split(treeMap.left(), key);
+                return new Split<K, V>(split.left, split.node, treeMap.factory().join(split.right, treeMap.key(), treeMap.value(), treeMap.right()));
+            }
+            Split<K, V> split = split(treeMap.right(), key);
+            return new Split<K, V>(treeMap.factory().join(treeMap.left(), treeMap.key(), treeMap.value(), split.left), split.node, split.right);
+        }
+
+        private static final class Split<K, V> {
+            private final TreeMap<K, V> left;
+            private final TreeMap<K, V> node;
+            private final TreeMap<K, V> right;
+
+            private Split(TreeMap<K, V> left, TreeMap<K, V> node, TreeMap<K, V> right) {
+                this.left = left;
+                this.node = node;
+                this.right = right;
+            }
+        }
+
+        private static final class Operation<K, V> extends RecursiveTask<TreeMap<K, V>> {
+            private static final long serialVersionUID = 1L;
+            private static final int UNION = 0, INTERSECTION = 1, DIFFERENCE = 2;
+            private final int operation;
+            private final TreeMap<K, V> first;
+            private final TreeMap<K, V> second;
+
+            private Operation(int operation, TreeMap<K, V> first, TreeMap<K, V> second) {
+                this.operation = operation;
+                this.first = first;
+                this.second = second;
+            }
+
+            @Override
+            protected TreeMap<K, V> compute() {
+                if (first.size() + second.size() < PARALLEL_THRESHOLD) return sequential();
+                if (first.isEmpty() || second.isEmpty()) return sequential();
+                switch (operation) {
+                    case UNION: {
+                        Split<K, V> split = split(first, second.key());
+                        Pair<TreeMap<K, V>, TreeMap<K, V>> children = both(split.left, second.left(), split.right, second.right());
+                        return second.factory().join(children.first(), second.key(), second.value(), children.second());
+                    }
+                    case INTERSECTION: {
+                        Split<K, V> split = split(second, first.key());
+                        Pair<TreeMap<K, V>, TreeMap<K, V>> children = both(first.left(), split.left, first.right(), split.right);
+                        return intersection(first, split, children.first(), children.second());
+                    }
+                    default: {
+                        Split<K, V> split = split(first, second.key());
+                        Pair<TreeMap<K, V>, TreeMap<K, V>> children = both(split.left, second.left(), split.right, second.right());
+                        return concat(children.first(), children.second());
+                    }
+                }
+            }
+
+            private Pair<TreeMap<K, V>, TreeMap<K, V>> both(TreeMap<K, V> leftFirst, TreeMap<K, V> leftSecond, TreeMap<K, V> rightFirst, TreeMap<K, V> rightSecond) {
+                Operation<K, V> left = new Operation<K, V>(operation, leftFirst, leftSecond);
+                left.fork();
+                TreeMap<K, V> right = new Operation<K, V>(operation, rightFirst, rightSecond).compute();
+                return Pair.pair(left.join(), right);
+            }
+
+            private TreeMap<K, V> sequential() {
+                switch (operation) {
+                    case UNION: return union(first, second);
+                    case INTERSECTION: return intersection(first, second);
+                    default: return difference(first, second);
+                }
+            }
+        }
+
         public static <K, V> TreeMap<K, V> treeMap(final TreeFactory factory, final Comparator<K> comparator, final List<Pair<K, V>> sortedList) {
-            if(sortedList.size() == 0) return factory.create(comparator);
-            int middle = sortedList.size() / 2;
-            Pair<K, V> pair = sortedList.get(middle);
-            TreeMap<K, V> left = treeMap(factory, comparator, sortedList.subList(0, middle));
-            TreeMap<K, V> right = treeMap(factory, comparator, sortedList.subList(middle + 1, sortedList.size()));
+            Object[] pairs = sortedList.toArray();
+            int size = 0;
+            for (Object item : pairs) {
+                Pair<K, V> pair = cast(item);
+                if (size > 0 && comparator.compare(Unchecked.<Pair<K, V>>cast(pairs[size - 1]).first(), pair.first()) == 0) size--;
+                pairs[size++] = pair;
+            }
+            return treeMap(factory, comparator, pairs, 0, size);
+        }
+
+        private static <K, V> TreeMap<K, V> treeMap(final TreeFactory factory, final Comparator<K> comparator, final Object[] sortedPairs, int start, int end) {
+            if (start == end) return factory.create(comparator);
+            int middle = (start + end) >>> 1;
+            Pair<K, V> pair = cast(sortedPairs[middle]);
+            TreeMap<K, V> left = treeMap(factory, comparator, sortedPairs, start, middle);
+            TreeMap<K, V> right = treeMap(factory, comparator, sortedPairs, middle + 1, end);
             return factory.create(comparator, pair.first(), pair.second(), left, right);
         }
     }
 
+    class navigable {
+        public static <K, V> Option<Pair<K, V>> below(TreeMap<K, V> treeMap, K key, boolean inclusive) {
+            TreeMap<K, V> result = null;
+            for (TreeMap<K, V> node = treeMap; !node.isEmpty(); ) {
+                int difference = node.comparator().compare(key, node.key());
+                if (difference > 0 || (inclusive && difference == 0)) {
+                    result = node;
+                    node = node.right();
+                } else node = node.left();
+            }
+            return result == null ? Option.<Pair<K, V>>none() : Option.some(Pair.pair(result.key(), result.value()));
+        }
+
+        public static <K, V> Option<Pair<K, V>> above(TreeMap<K, V> treeMap, K key, boolean inclusive) {
+            TreeMap<K, V> result = null;
+            for (TreeMap<K, V> node = treeMap; !node.isEmpty(); ) {
+                int difference = node.comparator().compare(key, node.key());
+                if (difference < 0 || (inclusive && difference == 0)) {
+                    result = node;
+                    node = node.left();
+                } else node = node.right();
+            }
+            return result == null ? Option.<Pair<K, V>>none() : Option.some(Pair.pair(result.key(), result.value()));
+        }
+
+        public static <K, V> TreeMap<K, V> head(TreeMap<K, V> treeMap, K to, boolean inclusive) {
+            if (treeMap.isEmpty()) return treeMap;
+            int difference = treeMap.comparator().compare(treeMap.key(), to);
+            if (difference > 0 || (difference == 0 && !inclusive)) return head(treeMap.left(), to, inclusive);
+            if (difference == 0) return treeMap.factory().join(treeMap.left(), treeMap.key(), treeMap.value(), treeMap.empty());
+            return treeMap.factory().join(treeMap.left(), treeMap.key(), treeMap.value(), head(treeMap.right(), to, inclusive));
+        }
+
+        public static <K, V> TreeMap<K, V> tail(TreeMap<K, V> treeMap, K from, boolean inclusive) {
+            if (treeMap.isEmpty()) return treeMap;
+            int difference = treeMap.comparator().compare(treeMap.key(), from);
+            if (difference < 0 || (difference == 0 && !inclusive)) return tail(treeMap.right(), from, inclusive);
+            if (difference == 0) return treeMap.factory().join(treeMap.empty(), treeMap.key(), treeMap.value(), treeMap.right());
+            return treeMap.factory().join(tail(treeMap.left(), from, inclusive), treeMap.key(), treeMap.value(), treeMap.right());
+        }
+
+        public static <K, V> TreeMap<K, V> sub(TreeMap<K, V> treeMap, K from, boolean fromInclusive, K to, boolean toInclusive) {
+            if (treeMap.comparator().compare(from, to) > 0) throw new IllegalArgumentException("from is greater than to");
+            return tail(head(treeMap, to, toInclusive), from, fromInclusive);
+        }
+    }
+
     class functions {
         public static <K, V> Function1<TreeMap<K, V>, TreeMap<K, V>> replace(final K key, final V value) {
             return focus -> focus.factory().create(focus.comparator(), key, value, focus.left(), focus.right());
@@ -8,6 +8,7 @@ import com.googlecode.totallylazy.Option;
 import com.googlecode.totallylazy.Pair;
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.Segment;
+import com.googlecode.totallylazy.Sequence;
 import com.googlecode.totallylazy.Unchecked;
 import com.googlecode.totallylazy.iterators.SegmentIterator;
 
@@ -83,6 +84,76 @@ public class TreeSet<T> extends AbstractCollection<T> implements PersistentSorte
         return treeSet(map.removeLast());
     }
 
+    @Override
+    public Option<T> floor(T value) {
+        return map.floor(value).map(Callables.<T>first());
+    }
+
+    @Override
+    public Option<T> ceiling(T value) {
+        return map.ceiling(value).map(Callables.<T>first());
+    }
+
+    @Override
+    public Option<T> lower(T value) {
+        return map.lower(value).map(Callables.<T>first());
+    }
+
+    @Override
+    public Option<T> higher(T value) {
+        return map.higher(value).map(Callables.<T>first());
+    }
+
+    @Override
+    public PersistentSortedSet<T> headSet(T to, boolean inclusive) {
+        return treeSet(map.headMap(to, inclusive));
+    }
+
+    @Override
+    public PersistentSortedSet<T> tailSet(T from, boolean inclusive) {
+        return treeSet(map.tailMap(from, inclusive));
+    }
+
+    @Override
+    public PersistentSortedSet<T> subSet(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return treeSet(map.subMap(from, fromInclusive, to, toInclusive));
+    }
+
+    @Override
+    public PersistentSortedSet<T> union(PersistentSortedSet<T> other) {
+        return treeSet(map.union(map(other)));
+    }
+
+    @Override
+    public PersistentSortedSet<T> intersection(PersistentSortedSet<T> other) {
+        return treeSet(map.intersection(map(other)));
+    }
+
+    @Override
+    public PersistentSortedSet<T> difference(PersistentSortedSet<T> other) {
+        return treeSet(map.difference(map(other)));
+    }
+
+    private PersistentSortedMap<T, T> map(PersistentSortedSet<T> other) {
+        if (other instanceof TreeSet) return ((TreeSet<T>) other).map;
+        return other.fold(map.empty(), (result, value) -> result.insert(value, value));
+    }
+
+    @Override
+    public Sequence<T> ascendingFrom(T value) {
+        return map.ascendingFrom(value).map(Callables.<T>first());
+    }
+
+    @Override
+    public Sequence<T> descendingFrom(T value) {
+        return map.descendingFrom(value).map(Callables.<T>first());
+    }
+
+    @Override
+    public Sequence<T> descending() {
+        return map.descending().map(Callables.<T>first());
+    }
+
     @Override
     public Set<T> toSet() {
         return map.keys().toSet();
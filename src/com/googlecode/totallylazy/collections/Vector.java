@@ -0,0 +1,305 @@
+package com.googlecode.totallylazy.collections;
+
+import com.googlecode.totallylazy.Option;
+import com.googlecode.totallylazy.Segment;
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.Splittable;
+import com.googlecode.totallylazy.Unchecked;
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.functions.Function2;
+import com.googlecode.totallylazy.iterators.ReadOnlyIterator;
+import com.googlecode.totallylazy.predicates.Predicate;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.Unchecked.cast;
+import static com.googlecode.totallylazy.functions.Functions.call;
+
+public class Vector<T> extends AbstractList<T> implements PersistentList<T>, RandomAccess, Splittable<T> {
+    static final int BITS = 5;
+    static final int WIDTH = 1 << BITS;
+    static final int MASK = WIDTH - 1;
+    static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final Vector<?> empty = new Vector<Object>(EMPTY_NODE, BITS, 0, new Object[0], 0, 0);
+
+    final Object[] root;
+    final int shift;
+    final int count;
+    final Object[] tail;
+    final int start;
+    final int end;
+
+    Vector(Object[] root, int shift, int count, Object[] tail, int start, int end) {
+        this.root = root;
+        this.shift = shift;
+        this.count = count;
+        this.tail = tail;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static <T> Vector<T> vector() {
+        return cast(empty);
+    }
+
+    @SafeVarargs
+    public static <T> Vector<T> vector(T... values) {
+        return vector(sequence(values));
+    }
+
+    public static <T> Vector<T> vector(Iterable<? extends T> values) {
+        if (values instanceof Vector) return cast(values);
+        TransientVector<T> vector = new TransientVector<T>(Vector.<T>vector());
+        for (T value : values) vector.append(value);
+        return vector.persistent();
+    }
+
+    public TransientVector<T> transientVector() {
+        return new TransientVector<T>(this);
+    }
+
+    static int tailOffset(int count) {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] arrayFor(int index) {
+        if (index >= tailOffset(count)) return tail;
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) node = (Object[]) node[(index >>> level) & MASK];
+        return node;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(String.valueOf(index));
+    }
+
+    @Override
+    public T get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        int i = start + index;
+        return cast(arrayFor(i)[i & MASK]);
+    }
+
+    public Vector<T> update(int index, T value) {
+        checkIndex(index);
+        int i = start + index;
+        if (i >= tailOffset(count)) {
+            Object[] newTail = tail.clone();
+            newTail[i & MASK] = value;
+            return new Vector<T>(root, shift, count, newTail, start, end);
+        }
+        return new Vector<T>(update(shift, root, i, value), shift, count, tail, start, end);
+    }
+
+    private static Object[] update(int level, Object[] node, int index, Object value) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = value;
+        } else {
+            int child = (index >>> level) & MASK;
+            result[child] = update(level - BITS, (Object[]) node[child], index, value);
+        }
+        return result;
+    }
+
+    @Override
+    public Vector<T> append(T value) {
+        if (end != count) return transientVector().append(value).persistent();
+        if (count - tailOffset(count) < WIDTH) {
+            Object[] newTail = new Object[tail.length + 1];
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = value;
+            return new Vector<T>(root, shift, count + 1, newTail, start, end + 1);
+        }
+        Object[] newRoot;
+        int newShift = shift;
+        if ((count >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(count, shift, root, tail);
+        }
+        return new Vector<T>(newRoot, newShift, count + 1, new Object[]{value}, start, end + 1);
+    }
+
+    static Object[] newPath(int level, Object[] node) {
+        if (level == 0) return node;
+        Object[] result = new Object[WIDTH];
+        result[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    private static Object[] pushTail(int count, int level, Object[] parent, Object[] tailNode) {
+        int child = ((count - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        if (level == BITS) {
+            result[child] = tailNode;
+        } else {
+            Object[] node = (Object[]) parent[child];
+            result[child] = node == null ? newPath(level - BITS, tailNode) : pushTail(count, level - BITS, node, tailNode);
+        }
+        return result;
+    }
+
+    public Vector<T> join(Iterable<? extends T> values) {
+        TransientVector<T> vector = transientVector();
+        for (T value : values) vector.append(value);
+        return vector.persistent();
+    }
+
+    @Override
+    public Vector<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        if (fromIndex == toIndex) return vector();
+        return new Vector<T>(root, shift, count, tail, start + fromIndex, start + toIndex);
+    }
+
+    @Override
+    public Sequence<T> slice(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+        return sequence(subList(fromIndex, toIndex));
+    }
+
+    @Override
+    public int size() {
+        return end - start;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    @Override
+    public Vector<T> empty() {
+        return vector();
+    }
+
+    @Override
+    public T head() throws NoSuchElementException {
+        if (isEmpty()) throw new NoSuchElementException();
+        return get(0);
+    }
+
+    @Override
+    public Option<T> headOption() {
+        return isEmpty() ? Option.<T>none() : Option.some(head());
+    }
+
+    @Override
+    public Vector<T> tail() throws NoSuchElementException {
+        if (isEmpty()) throw new NoSuchElementException();
+        return subList(1, size());
+    }
+
+    @Override
+    public T last() {
+        if (isEmpty()) throw new NoSuchElementException();
+        return get(size() - 1);
+    }
+
+    @Override
+    public Option<T> lastOption() {
+        return isEmpty() ? Option.<T>none() : Option.some(last());
+    }
+
+    @Override
+    public Vector<T> cons(T head) {
+        TransientVector<T> vector = new TransientVector<T>(Vector.<T>vector());
+        vector.append(head);
+        for (T value : this) vector.append(value);
+        return vector.persistent();
+    }
+
+    @Override
+    public Vector<T> delete(T value) {
+        int index = indexOf(value);
+        if (index < 0) return this;
+        return subList(0, index).join(subList(index + 1, size()));
+    }
+
+    @Override
+    public Vector<T> filter(Predicate<? super T> predicate) {
+        TransientVector<T> vector = new TransientVector<T>(Vector.<T>vector());
+        for (T value : this) if (predicate.matches(value)) vector.append(value);
+        return vector.persistent();
+    }
+
+    @Override
+    public <S> Vector<S> map(Function1<? super T, ? extends S> callable) {
+        TransientVector<S> vector = new TransientVector<S>(Vector.<S>vector());
+        for (T value : this) vector.append(call(callable, value));
+        return vector.persistent();
+    }
+
+    @Override
+    public Vector<T> reverse() {
+        TransientVector<T> vector = new TransientVector<T>(Vector.<T>vector());
+        for (int i = size() - 1; i >= 0; i--) vector.append(get(i));
+        return vector.persistent();
+    }
+
+    @Override
+    public <S> S fold(S seed, Function2<? super S, ? super T, ? extends S> callable) {
+        S accumulator = seed;
+        for (T value : this) accumulator = call(callable, accumulator, value);
+        return accumulator;
+    }
+
+    @Override
+    public Option<T> find(Predicate<? super T> predicate) {
+        for (T value : this) if (predicate.matches(value)) return Option.some(value);
+        return Option.none();
+    }
+
+    @Override
+    public boolean contains(Object other) {
+        return indexOf(other) >= 0;
+    }
+
+    @Override
+    public boolean exists(Predicate<? super T> predicate) {
+        return find(predicate).isDefined();
+    }
+
+    @Override
+    public int indexOf(Object other) {
+        int index = 0;
+        for (T value : this) {
+            if (other == null ? value == null : other.equals(value)) return index;
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public <C extends Segment<T>> C joinTo(C rest) {
+        Segment<T> result = rest;
+        for (int i = size() - 1; i >= 0; i--) result = result.cons(get(i));
+        return cast(result);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ReadOnlyIterator<T>() {
+            private int index = start;
+            private Object[] array = index < end ? arrayFor(index) : null;
+
+            @Override
+            public boolean hasNext() {
+                return index < end;
+            }
+
+            @Override
+            public T next() {
+                if (index >= end) throw new NoSuchElementException();
+                if ((index & MASK) == 0) array = arrayFor(index);
+                return Unchecked.<T>cast(array[index++ & MASK]);
+            }
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package com.googlecode.totallylazy.concurrent;
+
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.iterators.StatefulIterator;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.googlecode.totallylazy.LazyException.lazyException;
+import static com.googlecode.totallylazy.concurrent.NamedExecutors.namedThreadFactory;
+import static java.lang.Integer.getInteger;
+
+public class Scheduler implements Executor, Closeable {
+    private static final Scheduler shared = scheduler(getInteger("totallylazy.scheduler.threads", Runtime.getRuntime().availableProcessors() * 8));
+    private static final Scheduler unbounded = new Scheduler(new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(), daemon(namedThreadFactory(Scheduler.class))), true);
+    private final Executor executor;
+    private final boolean owned;
+
+    private Scheduler(Executor executor, boolean owned) {
+        this.executor = executor;
+        this.owned = owned;
+    }
+
+    public static Scheduler shared() {
+        return shared;
+    }
+
+    /**
+     * A thread per concurrent task, reused while idle. Every task gets its own thread, so callables that wait on
+     * each other (latches, barriers, producer/consumer pairs) can not starve the pool the way they can in shared().
+     */
+    public static Scheduler unbounded() {
+        return unbounded;
+    }
+
+    public static Scheduler scheduler(int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(), daemon(namedThreadFactory(Scheduler.class)), new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return new Scheduler(executor, true);
+    }
+
+    public static Scheduler scheduler(Executor executor) {
+        return new Scheduler(executor, false);
+    }
+
+    public static Scheduler virtualThreads() {
+        try {
+            Executor executor = (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return new Scheduler(executor, true);
+        } catch (ReflectiveOperationException e) {
+            return shared();
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    public <T, S> Sequence<S> map(final Iterable<? extends T> iterable, final Function1<? super T, ? extends S> callable, final int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        return new Sequence<S>() {
+            @Override
+            public Iterator<S> iterator() {
+                return new Ordered<T, S>(iterable.iterator(), callable, parallelism);
+            }
+        };
+    }
+
+    public <T, S> Sequence<S> mapUnordered(final Iterable<? extends T> iterable, final Function1<? super T, ? extends S> callable, final int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        return new Sequence<S>() {
+            @Override
+            public Iterator<S> iterator() {
+                return new Unordered<T, S>(iterable.iterator(), callable, parallelism);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (owned && executor instanceof ExecutorService) ((ExecutorService) executor).shutdown();
+    }
+
+    private static ThreadFactory daemon(final ThreadFactory threadFactory) {
+        return runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static <S> S get(Future<? extends S> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw lazyException(e.getCause());
+        }
+    }
+
+    private class Ordered<T, S> extends StatefulIterator<S> {
+        private final Iterator<? extends T> source;
+        private final Function1<? super T, ? extends S> callable;
+        private final int parallelism;
+        private final Deque<Future<S>> window = new ArrayDeque<Future<S>>();
+
+        private Ordered(Iterator<? extends T> source, Function1<? super T, ? extends S> callable, int parallelism) {
+            this.source = source;
+            this.callable = callable;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        protected S getNext() throws Exception {
+            while (window.size() < parallelism && source.hasNext()) {
+                final T value = source.next();
+                FutureTask<S> task = new FutureTask<S>(() -> callable.call(value));
+                window.addLast(task);
+                execute(task);
+            }
+            if (window.isEmpty()) return finished();
+            return get(window.removeFirst());
+        }
+    }
+
+    private class Unordered<T, S> extends StatefulIterator<S> {
+        private final Iterator<? extends T> source;
+        private final Function1<? super T, ? extends S> callable;
+        private final int parallelism;
+        private final BlockingQueue<Future<S>> completed = new LinkedBlockingQueue<Future<S>>();
+        private int inFlight;
+
+        private Unordered(Iterator<? extends T> source, Function1<? super T, ? extends S> callable, int parallelism) {
+            this.source = source;
+            this.callable = callable;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        protected S getNext() throws Exception {
+            while (inFlight < parallelism && source.hasNext()) {
+                final T value = source.next();
+                inFlight++;
+                execute(new FutureTask<S>(() -> callable.call(value)) {
+                    @Override
+                    protected void done() {
+                        completed.add(this);
+                    }
+                });
+            }
+            if (inFlight == 0) return finished();
+            Future<S> future = completed.take();
+            inFlight--;
+            return get(future);
+        }
+    }
+}
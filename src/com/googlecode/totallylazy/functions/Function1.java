@@ -25,6 +25,10 @@ public interface Function1<A, B> extends Functor<B> {
          return Lazy1.lazy(this);
      }
 
+     default Function1<A, B> lazy(Memoise memoise) {
+         return Lazy1.lazy(this, memoise);
+     }
+
      default Function1<A, B> sleep(int millis) {
          return Sleepy1.sleepy(this, millis);
      }
@@ -1,54 +1,248 @@
 package com.googlecode.totallylazy.functions;
 
-import com.googlecode.totallylazy.Either;
 import com.googlecode.totallylazy.Memory;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.googlecode.totallylazy.Closeables.safeClose;
+import static com.googlecode.totallylazy.functions.Memoise.memoise;
 
 public final class Lazy1<T, R> implements Function1<T, R>, Memory {
+    private static final Object NULL = new Object();
     private final Function1<? super T, ? extends R> callable;
-    private final Map<T, Either<Exception, R>> state = new HashMap<>();
-    private final Object lock = new Object();
+    private final Memoise memoise;
+    private final ConcurrentMap<Object, Entry> state = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
-    private Lazy1(Function1<? super T, ? extends R> callable) {
+    private Lazy1(Function1<? super T, ? extends R> callable, Memoise memoise) {
         this.callable = callable;
+        this.memoise = memoise;
     }
 
     public static <T, R> Lazy1<T, R> lazy(Function1<? super T, ? extends R> callable) {
-        return new Lazy1<>(callable);
+        return lazy(callable, memoise());
     }
 
-    public final R call(T instance) throws Exception{
-        synchronized (lock) {
-            if (!state.containsKey(instance)) {
-                try {
-                    state.put(instance, Either.right(callable.call(instance)));
-                } catch (Exception e) {
-                    state.put(instance, Either.left(e));
+    public static <T, R> Lazy1<T, R> lazy(Function1<? super T, ? extends R> callable, Memoise memoise) {
+        return new Lazy1<>(callable, memoise);
+    }
+
+    public final R call(T instance) throws Exception {
+        Object key = instance == null ? NULL : instance;
+        while (true) {
+            Entry entry = state.get(key);
+            boolean added = false;
+            if (entry == null) {
+                Entry created = new Entry(key);
+                entry = state.putIfAbsent(key, created);
+                if (entry == null) {
+                    entry = created;
+                    added = true;
                 }
             }
-            Either<Exception, R> either = state.get(instance);
-            if(either.isLeft()) {
-                throw either.left();
-            }
-            return either.right();
+            Object result = entry.value(instance);
+            if (added && memoise.bounded() && state.size() > memoise.maximumSize) evict();
+            if (result != entry) return unwrap(result);
+            if (state.remove(key, entry)) entry.close();
         }
     }
 
+    public Statistics statistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public int size() {
+        return state.size();
+    }
+
+    public void forget(T instance) {
+        Entry entry = state.remove(instance == null ? NULL : instance);
+        if (entry != null) entry.close();
+    }
+
     public void forget() {
         close();
     }
 
     @Override
     public void close() {
-        synchronized (lock) {
-            for (Either<Exception, R> r : state.values()) {
-                if(r != null) safeClose(r.value());
+        for (Object key : state.keySet()) {
+            Entry entry = state.remove(key);
+            if (entry != null) entry.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private R unwrap(Object result) throws Exception {
+        if (result instanceof Failure) throw ((Failure) result).exception;
+        return result == NULL ? null : (R) result;
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) return;
+        try {
+            int size = state.size();
+            if (size <= memoise.maximumSize) return;
+            int target = (int) Math.max(0, memoise.maximumSize - Math.max(1, memoise.maximumSize / 10));
+            List<Candidate> candidates = new ArrayList<>(size);
+            for (Entry entry : state.values()) if (entry.value != null) candidates.add(new Candidate(entry));
+            candidates.sort(memoise.eviction == Memoise.Eviction.LFU ?
+                    Comparator.comparingInt((Candidate candidate) -> candidate.frequency).thenComparingLong(candidate -> candidate.accessed) :
+                    Comparator.comparingLong((Candidate candidate) -> candidate.accessed));
+            for (int i = 0; i < candidates.size() && state.size() > target; i++) {
+                Entry entry = candidates.get(i).entry;
+                if (state.remove(entry.key, entry)) {
+                    evictions.increment();
+                    entry.close();
+                }
             }
-            state.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private long now() {
+        return memoise.clock.now().getTime();
+    }
+
+    private static final class Failure {
+        private final Exception exception;
+
+        private Failure(Exception exception) {
+            this.exception = exception;
+        }
+    }
+
+    private final class Candidate {
+        private final Entry entry;
+        private final int frequency;
+        private final long accessed;
+
+        private Candidate(Entry entry) {
+            this.entry = entry;
+            this.frequency = entry.frequency.get();
+            this.accessed = entry.accessed;
+        }
+    }
+
+    private final class Entry {
+        private final Object key;
+        private volatile Object value;
+        private volatile long written;
+        private volatile long accessed;
+        private final AtomicInteger frequency = new AtomicInteger();
+
+        private Entry(Object key) {
+            this.key = key;
+        }
+
+        private Object value(T instance) {
+            Object current = value;
+            if (current == null) {
+                synchronized (this) {
+                    current = value;
+                    if (current == null) {
+                        misses.increment();
+                        current = value = compute(instance);
+                        if (memoise.expires()) written = accessed = now();
+                        touch();
+                        return resolve(current);
+                    }
+                }
+            }
+            if (expired()) return this;
+            Object result = resolve(current);
+            if (result == this) return this;
+            hits.increment();
+            if (memoise.expireAfterAccess >= 0) accessed = now();
+            touch();
+            return result;
+        }
+
+        private Object compute(T instance) {
+            try {
+                R result = callable.call(instance);
+                if (result == null) return NULL;
+                switch (memoise.values) {
+                    case WEAK: return new WeakReference<Object>(result);
+                    case SOFT: return new SoftReference<Object>(result);
+                    default: return result;
+                }
+            } catch (Exception e) {
+                return new Failure(e);
+            }
+        }
+
+        private Object resolve(Object current) {
+            if (!(current instanceof Reference)) return current;
+            Object referent = ((Reference<?>) current).get();
+            return referent == null ? this : referent;
+        }
+
+        private void touch() {
+            if (!memoise.bounded()) return;
+            if (memoise.expireAfterAccess < 0) accessed = System.nanoTime();
+            frequency.incrementAndGet();
+        }
+
+        private boolean expired() {
+            if (!memoise.expires()) return false;
+            long now = now();
+            return (memoise.expireAfterWrite >= 0 && now - written >= memoise.expireAfterWrite) ||
+                    (memoise.expireAfterAccess >= 0 && now - accessed >= memoise.expireAfterAccess);
+        }
+
+        private void close() {
+            Object current = resolve(value);
+            if (current instanceof Failure) safeClose(((Failure) current).exception);
+            else if (current != this && current != NULL) safeClose(current);
+        }
+    }
+
+    public static final class Statistics {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        private Statistics(long hits, long misses, long evictions) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public long hits() {
+            return hits;
+        }
+
+        public long misses() {
+            return misses;
+        }
+
+        public long evictions() {
+            return evictions;
+        }
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Statistics(hits=%d, misses=%d, evictions=%d)", hits, misses, evictions);
         }
     }
 }
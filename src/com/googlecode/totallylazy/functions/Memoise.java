@@ -0,0 +1,84 @@
+package com.googlecode.totallylazy.functions;
+
+import com.googlecode.totallylazy.time.Clock;
+import com.googlecode.totallylazy.time.SystemClock;
+
+import java.util.concurrent.TimeUnit;
+
+public class Memoise {
+    public enum Eviction {LRU, LFU}
+
+    public enum Values {STRONG, WEAK, SOFT}
+
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+    private static final long NEVER = -1;
+
+    final long maximumSize;
+    final Eviction eviction;
+    final long expireAfterWrite;
+    final long expireAfterAccess;
+    final Clock clock;
+    final Values values;
+
+    private Memoise(long maximumSize, Eviction eviction, long expireAfterWrite, long expireAfterAccess, Clock clock, Values values) {
+        this.maximumSize = maximumSize;
+        this.eviction = eviction;
+        this.expireAfterWrite = expireAfterWrite;
+        this.expireAfterAccess = expireAfterAccess;
+        this.clock = clock;
+        this.values = values;
+    }
+
+    public static Memoise memoise() {
+        return new Memoise(UNBOUNDED, Eviction.LRU, NEVER, NEVER, new SystemClock(), Values.STRONG);
+    }
+
+    public Memoise maximumSize(long maximumSize) {
+        if (maximumSize < 1) throw new IllegalArgumentException("maximumSize must be at least 1");
+        return new Memoise(maximumSize, eviction, expireAfterWrite, expireAfterAccess, clock, values);
+    }
+
+    public Memoise eviction(Eviction eviction) {
+        return new Memoise(maximumSize, eviction, expireAfterWrite, expireAfterAccess, clock, values);
+    }
+
+    public Memoise lru() {
+        return eviction(Eviction.LRU);
+    }
+
+    public Memoise lfu() {
+        return eviction(Eviction.LFU);
+    }
+
+    public Memoise expireAfterWrite(long duration, TimeUnit unit) {
+        return new Memoise(maximumSize, eviction, unit.toMillis(duration), expireAfterAccess, clock, values);
+    }
+
+    public Memoise expireAfterAccess(long duration, TimeUnit unit) {
+        return new Memoise(maximumSize, eviction, expireAfterWrite, unit.toMillis(duration), clock, values);
+    }
+
+    public Memoise clock(Clock clock) {
+        return new Memoise(maximumSize, eviction, expireAfterWrite, expireAfterAccess, clock, values);
+    }
+
+    public Memoise values(Values values) {
+        return new Memoise(maximumSize, eviction, expireAfterWrite, expireAfterAccess, clock, values);
+    }
+
+    public Memoise weakValues() {
+        return values(Values.WEAK);
+    }
+
+    public Memoise softValues() {
+        return values(Values.SOFT);
+    }
+
+    boolean bounded() {
+        return maximumSize != UNBOUNDED;
+    }
+
+    boolean expires() {
+        return expireAfterWrite != NEVER || expireAfterAccess != NEVER;
+    }
+}
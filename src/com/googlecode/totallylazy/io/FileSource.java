@@ -5,12 +5,13 @@ import com.googlecode.totallylazy.Pair;
 import com.googlecode.totallylazy.Sequence;
 import com.googlecode.totallylazy.collections.CloseableList;
 import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.predicates.Predicate;
+import com.googlecode.totallylazy.predicates.Predicates;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Date;
 
 import static com.googlecode.totallylazy.Sequences.sequence;
@@ -21,19 +22,24 @@ public class FileSource implements Sources {
     private final CloseableList<InputStream> closeables;
     private final Sequence<Source> sources;
 
-    private FileSource(final Sequence<Pair<String, File>> sources) {
-        closeables = closeableList(InputStream.class);
-        this.sources = sources.map(pair ->
-                new Source(pair.first(), new Date(pair.second().lastModified()), inputStream(pair.second()), pair.second().isDirectory()));
+    private FileSource(final CloseableList<InputStream> closeables, final Sequence<Source> sources) {
+        this.closeables = closeables;
+        this.sources = sources;
     }
 
-    private InputStream inputStream(File file) throws FileNotFoundException {
-        if (file.isDirectory()) return emptyInputStream();
-        return closeables.manage(new FileInputStream(file));
+    private static InputStream inputStream(CloseableList<InputStream> closeables, Path path, boolean isDirectory) {
+        if (isDirectory) return emptyInputStream();
+        return closeables.manage(new PathInputStream(path));
     }
 
     public static FileSource fileSource(File folder) {
-        return fileSource(folder, Files.recursiveFilesDirectoriesFirst(folder));
+        return fileSource(folder, Predicates.<FileWalker.Entry>always());
+    }
+
+    public static FileSource fileSource(File folder, Predicate<? super FileWalker.Entry> descend) {
+        final CloseableList<InputStream> closeables = closeableList(InputStream.class);
+        return new FileSource(closeables, FileWalker.directoriesFirst(folder.toPath(), descend).map(entry ->
+                new Source(entry.relativePath(), entry.modified(), inputStream(closeables, entry.path(), entry.isDirectory()), entry.isDirectory())));
     }
 
     public static FileSource fileSource(File folder, Sequence<File> files) {
@@ -41,7 +47,12 @@ public class FileSource implements Sources {
     }
 
     public static FileSource fileSource(final Iterable<? extends Pair<String, File>> sources) {
-        return new FileSource(sequence(sources));
+        final CloseableList<InputStream> closeables = closeableList(InputStream.class);
+        return new FileSource(closeables, sequence(sources).map(pair -> {
+            File file = pair.second();
+            boolean isDirectory = file.isDirectory();
+            return new Source(pair.first(), new Date(file.lastModified()), inputStream(closeables, file.toPath(), isDirectory), isDirectory);
+        }));
     }
 
 
@@ -58,4 +69,46 @@ public class FileSource implements Sources {
     public static Function1<File, Pair<String, File>> relativeTo(final File folder) {
         return file -> Pair.pair(Files.relativePath(folder, file), file);
     }
+
+    private static class PathInputStream extends InputStream {
+        private final Path path;
+        private InputStream stream;
+        private boolean closed;
+
+        private PathInputStream(Path path) {
+            this.path = path;
+        }
+
+        private InputStream stream() throws IOException {
+            if (closed) throw new IOException("Stream closed");
+            if (stream == null) stream = java.nio.file.Files.newInputStream(path);
+            return stream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return stream().read();
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            return stream().read(bytes, offset, length);
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            return stream().skip(count);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return stream == null ? 0 : stream.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            if (stream != null) stream.close();
+        }
+    }
 }
@@ -0,0 +1,286 @@
+package com.googlecode.totallylazy.io;
+
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.iterators.StatefulIterator;
+import com.googlecode.totallylazy.predicates.LogicalPredicate;
+import com.googlecode.totallylazy.predicates.Predicate;
+import com.googlecode.totallylazy.predicates.Predicates;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static com.googlecode.totallylazy.LazyException.lazyException;
+import static com.googlecode.totallylazy.Sequences.sequence;
+
+public class FileWalker {
+    public static Sequence<Entry> directoriesFirst(Path root) {
+        return directoriesFirst(root, Predicates.<Entry>always());
+    }
+
+    public static Sequence<Entry> directoriesFirst(final Path root, final Predicate<? super Entry> descend, final LinkOption... options) {
+        return new Sequence<Entry>() {
+            @Override
+            public Iterator<Entry> iterator() {
+                return new Walker(root, descend, true, options);
+            }
+        };
+    }
+
+    public static Sequence<Entry> directoriesLast(Path root) {
+        return directoriesLast(root, Predicates.<Entry>always());
+    }
+
+    public static Sequence<Entry> directoriesLast(final Path root, final Predicate<? super Entry> descend, final LinkOption... options) {
+        return new Sequence<Entry>() {
+            @Override
+            public Iterator<Entry> iterator() {
+                return new Walker(root, descend, false, options);
+            }
+        };
+    }
+
+    public static Sequence<Entry> parallel(Path root, Predicate<? super Entry> descend) {
+        return parallel(root, descend, ForkJoinPool.commonPool());
+    }
+
+    public static Sequence<Entry> parallel(Path root, Predicate<? super Entry> descend, ForkJoinPool pool, LinkOption... options) {
+        return sequence(pool.invoke(new Walk(root, root, Ancestor.root(root, options), descend, options)));
+    }
+
+    public static LogicalPredicate<Entry> glob(String pattern) {
+        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        return new LogicalPredicate<Entry>() {
+            @Override
+            public boolean matches(Entry entry) {
+                return matcher.matches(entry.relative());
+            }
+        };
+    }
+
+    public static LogicalPredicate<Entry> isDirectory() {
+        return new LogicalPredicate<Entry>() {
+            @Override
+            public boolean matches(Entry entry) {
+                return entry.isDirectory();
+            }
+        };
+    }
+
+    public static Function1<Entry, File> file() {
+        return Entry::file;
+    }
+
+    private static List<Entry> children(Path root, Path directory, LinkOption... options) {
+        List<Entry> result = new ArrayList<Entry>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                BasicFileAttributes attributes = attributes(path, options);
+                if (attributes != null) result.add(new Entry(root, path, attributes));
+            }
+        } catch (NoSuchFileException | NotDirectoryException | AccessDeniedException ignored) {
+        } catch (IOException e) {
+            throw lazyException(e);
+        }
+        return result;
+    }
+
+    private static BasicFileAttributes attributes(Path path, LinkOption... options) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, options);
+        } catch (NoSuchFileException e) {
+            if (options.length > 0) return null;
+            return attributes(path, LinkOption.NOFOLLOW_LINKS);
+        }
+    }
+
+    private static final class Ancestor {
+        private final Object key;
+        private final Ancestor parent;
+
+        private Ancestor(Object key, Ancestor parent) {
+            this.key = key;
+            this.parent = parent;
+        }
+
+        private static Ancestor root(Path root, LinkOption... options) {
+            try {
+                return new Ancestor(key(root, Files.readAttributes(root, BasicFileAttributes.class, options)), null);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        private static Ancestor child(Ancestor parent, Entry entry) {
+            Object key = key(entry.path, entry.attributes);
+            for (Ancestor ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+                if (ancestor.key.equals(key)) return null;
+            }
+            return new Ancestor(key, parent);
+        }
+
+        private static Object key(Path path, BasicFileAttributes attributes) {
+            Object key = attributes.fileKey();
+            if (key != null) return key;
+            try {
+                return path.toRealPath();
+            } catch (IOException e) {
+                return path.toAbsolutePath().normalize();
+            }
+        }
+    }
+
+    public static final class Entry {
+        private final Path root;
+        private final Path path;
+        private final BasicFileAttributes attributes;
+
+        private Entry(Path root, Path path, BasicFileAttributes attributes) {
+            this.root = root;
+            this.path = path;
+            this.attributes = attributes;
+        }
+
+        public Path path() {
+            return path;
+        }
+
+        public Path relative() {
+            return root.relativize(path);
+        }
+
+        public String relativePath() {
+            String relative = relative().toString().replace(File.separatorChar, '/');
+            return isDirectory() ? relative + "/" : relative;
+        }
+
+        public File file() {
+            return path.toFile();
+        }
+
+        public BasicFileAttributes attributes() {
+            return attributes;
+        }
+
+        public boolean isDirectory() {
+            return attributes.isDirectory();
+        }
+
+        public Date modified() {
+            return new Date(attributes.lastModifiedTime().toMillis());
+        }
+
+        public long size() {
+            return attributes.size();
+        }
+
+        @Override
+        public String toString() {
+            return path.toString();
+        }
+    }
+
+    private static final class Walker extends StatefulIterator<Entry> {
+        private final ArrayDeque<Iterator<Entry>> children = new ArrayDeque<Iterator<Entry>>();
+        private final ArrayDeque<Entry> directories = new ArrayDeque<Entry>();
+        private final ArrayDeque<Ancestor> ancestors = new ArrayDeque<Ancestor>();
+        private final Path root;
+        private final Predicate<? super Entry> descend;
+        private final boolean directoriesFirst;
+        private final LinkOption[] options;
+
+        private Walker(Path root, Predicate<? super Entry> descend, boolean directoriesFirst, LinkOption... options) {
+            this.root = root;
+            this.descend = descend;
+            this.directoriesFirst = directoriesFirst;
+            this.options = options;
+            Ancestor ancestor = Ancestor.root(root, options);
+            if (ancestor == null) return;
+            children.push(children(root, root, options).iterator());
+            ancestors.push(ancestor);
+        }
+
+        @Override
+        protected Entry getNext() throws Exception {
+            while (!children.isEmpty()) {
+                Iterator<Entry> iterator = children.peek();
+                if (!iterator.hasNext()) {
+                    children.pop();
+                    ancestors.pop();
+                    if (!directories.isEmpty()) {
+                        Entry directory = directories.pop();
+                        if (!directoriesFirst) return directory;
+                    }
+                    continue;
+                }
+                Entry entry = iterator.next();
+                if (!entry.isDirectory() || !descend.matches(entry)) return entry;
+                Ancestor ancestor = Ancestor.child(ancestors.peek(), entry);
+                if (ancestor == null) return entry;
+                children.push(children(root, entry.path, options).iterator());
+                ancestors.push(ancestor);
+                directories.push(entry);
+                if (directoriesFirst) return entry;
+            }
+            return finished();
+        }
+    }
+
+    private static final class Walk extends RecursiveTask<List<Entry>> {
+        private static final long serialVersionUID = 1L;
+        private final Path root;
+        private final Path directory;
+        private final Ancestor ancestor;
+        private final Predicate<? super Entry> descend;
+        private final LinkOption[] options;
+
+        private Walk(Path root, Path directory, Ancestor ancestor, Predicate<? super Entry> descend, LinkOption... options) {
+            this.root = root;
+            this.directory = directory;
+            this.ancestor = ancestor;
+            this.descend = descend;
+            this.options = options;
+        }
+
+        @Override
+        protected List<Entry> compute() {
+            if (ancestor == null) return new ArrayList<Entry>();
+            List<Entry> entries = children(root, directory, options);
+            Walk[] walks = new Walk[entries.size()];
+            boolean forked = false;
+            for (int i = 0; i < walks.length; i++) {
+                Entry entry = entries.get(i);
+                if (!entry.isDirectory() || !descend.matches(entry)) continue;
+                Ancestor child = Ancestor.child(ancestor, entry);
+                if (child == null) continue;
+                walks[i] = new Walk(root, entry.path, child, descend, options);
+                walks[i].fork();
+                forked = true;
+            }
+            if (!forked) return entries;
+            List<Entry> result = new ArrayList<Entry>();
+            for (int i = 0; i < walks.length; i++) {
+                result.add(entries.get(i));
+                if (walks[i] != null) result.addAll(walks[i].join());
+            }
+            return result;
+        }
+    }
+}
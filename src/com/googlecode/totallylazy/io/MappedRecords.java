@@ -0,0 +1,176 @@
+package com.googlecode.totallylazy.io;
+
+import com.googlecode.totallylazy.ParallelSequence;
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.iterators.StatefulIterator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.googlecode.totallylazy.LazyException.lazyException;
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.functions.Functions.call;
+
+public class MappedRecords<T> extends Sequence<T> {
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int LINES = -1;
+    private final Mapping mapping;
+    private final long start;
+    private final long end;
+    private final int delimiter;
+    private final Function1<? super ByteBuffer, ? extends T> converter;
+
+    private MappedRecords(Mapping mapping, long start, long end, int delimiter, Function1<? super ByteBuffer, ? extends T> converter) {
+        this.mapping = mapping;
+        this.start = start;
+        this.end = end;
+        this.delimiter = delimiter;
+        this.converter = converter;
+    }
+
+    public static MappedRecords<CharSequence> lines(File file) {
+        return lines(file, Mapping.CHUNK_SIZE);
+    }
+
+    public static MappedRecords<ByteBuffer> records(File file, byte delimiter) {
+        return records(file, delimiter, Mapping.CHUNK_SIZE);
+    }
+
+    static MappedRecords<CharSequence> lines(File file, long chunkSize) {
+        Mapping mapping = Mapping.map(file, chunkSize);
+        return new MappedRecords<CharSequence>(mapping, 0, mapping.size, LINES, Utf8CharSequence::new);
+    }
+
+    static MappedRecords<ByteBuffer> records(File file, byte delimiter, long chunkSize) {
+        Mapping mapping = Mapping.map(file, chunkSize);
+        return new MappedRecords<ByteBuffer>(mapping, 0, mapping.size, delimiter & 0xff, buffer -> buffer);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new RecordIterator();
+    }
+
+    @Override
+    public <S> MappedRecords<S> map(Function1<? super T, ? extends S> callable) {
+        return new MappedRecords<S>(mapping, start, end, delimiter, buffer -> call(callable, call(converter, buffer)));
+    }
+
+    public Sequence<MappedRecords<T>> split(int parts) {
+        List<MappedRecords<T>> result = new ArrayList<MappedRecords<T>>(parts);
+        long size = Math.max(1, (end - start + parts - 1) / parts);
+        for (long from = start; from < end; ) {
+            long to = from + size >= end ? end : following(from + size - 1, end);
+            result.add(new MappedRecords<T>(mapping, from, to, delimiter, converter));
+            from = to;
+        }
+        return sequence(result);
+    }
+
+    @Override
+    public ParallelSequence<T> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public ParallelSequence<T> parallel(ForkJoinPool pool) {
+        return ParallelSequence.chunked(split(pool.getParallelism() * CHUNKS_PER_THREAD), pool);
+    }
+
+    private long find(long position, long limit) {
+        while (position < limit) {
+            ByteBuffer chunk = mapping.chunk(position);
+            int offset = mapping.offset(position);
+            int last = (int) Math.min(chunk.limit(), offset + (limit - position));
+            for (int i = offset; i < last; i++) {
+                int value = chunk.get(i) & 0xff;
+                if (value == delimiter || (delimiter == LINES && (value == '\n' || value == '\r'))) return position + i - offset;
+            }
+            position += last - offset;
+        }
+        return limit;
+    }
+
+    private long following(long position, long limit) {
+        long terminator = find(position, limit);
+        if (terminator == limit) return limit;
+        long next = terminator + 1;
+        if (delimiter == LINES && mapping.get(terminator) == '\r' && next < limit && mapping.get(next) == '\n') next++;
+        return next;
+    }
+
+    private class RecordIterator extends StatefulIterator<T> {
+        private long position = start;
+
+        @Override
+        protected T getNext() throws Exception {
+            if (position >= end) return finished();
+            long terminator = find(position, end);
+            ByteBuffer record = mapping.slice(position, terminator);
+            position = following(terminator, end);
+            return call(converter, record);
+        }
+    }
+
+    private static class Mapping {
+        private static final long CHUNK_SIZE = 1L << 30;
+        private final ByteBuffer[] chunks;
+        private final long chunkSize;
+        private final long size;
+
+        private Mapping(ByteBuffer[] chunks, long chunkSize, long size) {
+            this.chunks = chunks;
+            this.chunkSize = chunkSize;
+            this.size = size;
+        }
+
+        private static Mapping map(File file, long chunkSize) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long size = channel.size();
+                ByteBuffer[] chunks = new ByteBuffer[(int) ((size + chunkSize - 1) / chunkSize)];
+                for (int i = 0; i < chunks.length; i++) {
+                    long position = i * chunkSize;
+                    chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, size - position));
+                }
+                return new Mapping(chunks, chunkSize, size);
+            } catch (IOException e) {
+                throw lazyException(e);
+            }
+        }
+
+        private ByteBuffer chunk(long position) {
+            return chunks[(int) (position / chunkSize)];
+        }
+
+        private int offset(long position) {
+            return (int) (position % chunkSize);
+        }
+
+        private byte get(long position) {
+            return chunk(position).get(offset(position));
+        }
+
+        private ByteBuffer slice(long from, long to) {
+            int length = (int) (to - from);
+            int offset = offset(from);
+            ByteBuffer chunk = chunk(from);
+            if (offset + length <= chunk.limit()) {
+                ByteBuffer slice = chunk.duplicate();
+                slice.limit(offset + length).position(offset);
+                return slice.slice();
+            }
+            ByteBuffer copy = ByteBuffer.allocate(length);
+            for (long position = from; position < to; position++) copy.put(get(position));
+            copy.flip();
+            return copy;
+        }
+    }
+}
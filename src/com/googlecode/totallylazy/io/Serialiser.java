@@ -0,0 +1,76 @@
+package com.googlecode.totallylazy.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+import static com.googlecode.totallylazy.Unchecked.cast;
+
+public interface Serialiser<T> {
+    void write(T value, DataOutput output) throws IOException;
+
+    T read(DataInput input) throws IOException;
+
+    static Serialiser<String> strings() {
+        return new Serialiser<String>() {
+            @Override
+            public void write(String value, DataOutput output) throws IOException {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+
+            @Override
+            public String read(DataInput input) throws IOException {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    static Serialiser<Long> longs() {
+        return new Serialiser<Long>() {
+            @Override
+            public void write(Long value, DataOutput output) throws IOException {
+                output.writeLong(value);
+            }
+
+            @Override
+            public Long read(DataInput input) throws IOException {
+                return input.readLong();
+            }
+        };
+    }
+
+    static <T extends Serializable> Serialiser<T> serializable() {
+        return new Serialiser<T>() {
+            @Override
+            public void write(T value, DataOutput output) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+                    stream.writeObject(value);
+                }
+                output.writeInt(bytes.size());
+                output.write(bytes.toByteArray());
+            }
+
+            @Override
+            public T read(DataInput input) throws IOException {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return cast(stream.readObject());
+                } catch (ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.googlecode.totallylazy.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class Utf8CharSequence implements CharSequence {
+    private final ByteBuffer bytes;
+    private int ascii = -1;
+    private String decoded;
+
+    public Utf8CharSequence(ByteBuffer bytes) {
+        this.bytes = bytes;
+    }
+
+    public ByteBuffer bytes() {
+        return bytes.duplicate();
+    }
+
+    @Override
+    public int length() {
+        return ascii() ? bytes.remaining() : toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (!ascii()) return toString().charAt(index);
+        if (index < 0 || index >= bytes.remaining()) throw new IndexOutOfBoundsException(String.valueOf(index));
+        return (char) bytes.get(bytes.position() + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (!ascii()) return toString().subSequence(start, end);
+        if (start < 0 || end > bytes.remaining() || start > end) throw new IndexOutOfBoundsException(start + ", " + end);
+        ByteBuffer slice = bytes.duplicate();
+        slice.limit(bytes.position() + end).position(bytes.position() + start);
+        return new Utf8CharSequence(slice.slice());
+    }
+
+    @Override
+    public String toString() {
+        if (decoded == null) decoded = StandardCharsets.UTF_8.decode(bytes.duplicate()).toString();
+        return decoded;
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Utf8CharSequence && toString().equals(obj.toString());
+    }
+
+    private boolean ascii() {
+        if (ascii < 0) {
+            ascii = 1;
+            for (int i = bytes.position(); i < bytes.limit(); i++) {
+                if (bytes.get(i) < 0) {
+                    ascii = 0;
+                    break;
+                }
+            }
+        }
+        return ascii == 1;
+    }
+}
@@ -0,0 +1,43 @@
+package com.googlecode.totallylazy.iterators;
+
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.functions.Reducer;
+
+import java.util.Iterator;
+
+import static com.googlecode.totallylazy.Objects.equalTo;
+
+public class AdjacentGroupIterator<T, K, R> extends StatefulIterator<Pair<K, R>> {
+    private final Iterator<? extends T> iterator;
+    private final Function1<? super T, ? extends K> callable;
+    private final Reducer<? super T, R> reducer;
+    private boolean pending;
+    private T next;
+
+    public AdjacentGroupIterator(Iterator<? extends T> iterator, Function1<? super T, ? extends K> callable, Reducer<? super T, R> reducer) {
+        this.iterator = iterator;
+        this.callable = callable;
+        this.reducer = reducer;
+    }
+
+    @Override
+    protected Pair<K, R> getNext() throws Exception {
+        if (!pending && !iterator.hasNext()) return finished();
+        T value = pending ? next : iterator.next();
+        pending = false;
+        next = null;
+        K key = callable.call(value);
+        R accumulator = reducer.call(reducer.identity(), value);
+        while (iterator.hasNext()) {
+            value = iterator.next();
+            if (!equalTo(key, callable.call(value))) {
+                pending = true;
+                next = value;
+                break;
+            }
+            accumulator = reducer.call(accumulator, value);
+        }
+        return Pair.pair(key, accumulator);
+    }
+}
@@ -0,0 +1,47 @@
+package com.googlecode.totallylazy.iterators;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+public class MergeIterator<T> extends StatefulIterator<T> {
+    private final PriorityQueue<Head<T>> heads;
+
+    public MergeIterator(Iterable<? extends Iterator<? extends T>> iterators, final Comparator<? super T> comparator) {
+        this.heads = new PriorityQueue<Head<T>>(11, (a, b) -> {
+            int result = comparator.compare(a.value, b.value);
+            return result != 0 ? result : Integer.compare(a.index, b.index);
+        });
+        int index = 0;
+        for (Iterator<? extends T> iterator : iterators) {
+            Head<T> head = new Head<T>(iterator, index++);
+            if (head.advance()) heads.add(head);
+        }
+    }
+
+    @Override
+    protected T getNext() throws Exception {
+        Head<T> head = heads.poll();
+        if (head == null) return finished();
+        T value = head.value;
+        if (head.advance()) heads.add(head);
+        return value;
+    }
+
+    private static final class Head<T> {
+        private final Iterator<? extends T> iterator;
+        private final int index;
+        private T value;
+
+        private Head(Iterator<? extends T> iterator, int index) {
+            this.iterator = iterator;
+            this.index = index;
+        }
+
+        private boolean advance() {
+            if (!iterator.hasNext()) return false;
+            value = iterator.next();
+            return true;
+        }
+    }
+}
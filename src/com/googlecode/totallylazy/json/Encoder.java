@@ -0,0 +1,7 @@
+package com.googlecode.totallylazy.json;
+
+import java.io.IOException;
+
+public interface Encoder<T> {
+    void encode(T value, Appendable appendable) throws IOException;
+}
@@ -11,29 +11,33 @@ import java.util.Map;
 
 import static com.googlecode.totallylazy.Unchecked.cast;
 
+/**
+ * map, list, object, pairs and sequence accept the same separators as {@link Grammar} (optional and trailing commas)
+ * and throw IllegalArgumentException on malformed input. Use {@link JsonReader} directly for strict parsing.
+ */
 public class Json {
     public static String json(Object value) {
         return JsonWriter.write(value, new StringBuilder()).toString();
     }
 
     public static <V> Map<String, V> map(String json) {
-        return Json.<V>parseMap(json).value();
+        return cast(JsonReader.jsonReader(json).lenient().map());
     }
 
     public static <V> List<V> list(String json) {
-        return Json.<V>parseList(json).value();
+        return cast(JsonReader.jsonReader(json).lenient().list());
     }
 
     public static Object object(String json) {
-        return parseObject(json).value();
+        return JsonReader.jsonReader(json).lenient().value();
     }
 
     public static <V> Sequence<Pair<String, V>> pairs(Reader json) {
-        return Json.<V>parsePairs(json).value();
+        return cast(JsonReader.jsonReader(json).lenient().pairs());
     }
 
     public static <V> Sequence<V> sequence(Reader json) {
-        return Json.<V>parseSequence(json).value();
+        return cast(JsonReader.jsonReader(json).lenient().sequence());
     }
 
     public static <V> Result<Map<String, V>> parseMap(String json) {
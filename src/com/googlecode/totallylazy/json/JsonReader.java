@@ -0,0 +1,421 @@
+package com.googlecode.totallylazy.json;
+
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.iterators.StatefulIterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.googlecode.totallylazy.LazyException.lazyException;
+import static com.googlecode.totallylazy.Sequences.forwardOnly;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class JsonReader implements Closeable {
+    public enum Event {START_OBJECT, END_OBJECT, START_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END}
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int DANGLING_NAME = 6;
+    private static final int MAX_EXACT_DIGITS = 18;
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private long consumed;
+
+    private int[] stack = new int[32];
+    private int depth = 1;
+
+    private final StringBuilder builder = new StringBuilder();
+    private char[] number = new char[32];
+    private int numberLength;
+    private long unscaled;
+    private int scale;
+    private boolean exact;
+    private String string;
+    private boolean bool;
+    private boolean lenient;
+
+    private JsonReader(Reader reader, char[] buffer, int position, int limit) {
+        this.reader = reader;
+        this.buffer = buffer;
+        this.position = position;
+        this.limit = limit;
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    public static JsonReader jsonReader(Reader reader) {
+        return new JsonReader(reader, new char[DEFAULT_BUFFER_SIZE], 0, 0);
+    }
+
+    public static JsonReader jsonReader(InputStream stream) {
+        return jsonReader(new InputStreamReader(stream, UTF_8));
+    }
+
+    public static JsonReader jsonReader(char[] json) {
+        return jsonReader(json, 0, json.length);
+    }
+
+    public static JsonReader jsonReader(char[] json, int offset, int length) {
+        return new JsonReader(null, json, offset, offset + length);
+    }
+
+    public static JsonReader jsonReader(byte[] json) {
+        CharBuffer chars = UTF_8.decode(ByteBuffer.wrap(json));
+        return jsonReader(chars.array(), chars.arrayOffset(), chars.remaining());
+    }
+
+    public static JsonReader jsonReader(String json) {
+        return jsonReader(json.toCharArray());
+    }
+
+    /**
+     * Accept the separators the json.Grammar parser accepts: commas between array elements and object
+     * members become optional and a single trailing comma is allowed. Strict RFC 8259 parsing is the default.
+     */
+    public JsonReader lenient() {
+        lenient = true;
+        return this;
+    }
+
+    public Event next() {
+        int context = stack[depth - 1];
+        char c = skipWhitespace();
+        switch (context) {
+            case EMPTY_DOCUMENT:
+            case NONEMPTY_DOCUMENT:
+                if (c == 0 && eof()) return Event.END;
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                return readValue(c);
+            case EMPTY_ARRAY:
+                if (c == ']') return end(Event.END_ARRAY);
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                return readValue(c);
+            case NONEMPTY_ARRAY:
+                if (c == ']') return end(Event.END_ARRAY);
+                c = separator(c);
+                if (lenient && c == ']') return end(Event.END_ARRAY);
+                return readValue(c);
+            case EMPTY_OBJECT:
+                if (c == '}') return end(Event.END_OBJECT);
+                stack[depth - 1] = DANGLING_NAME;
+                return readName(c);
+            case NONEMPTY_OBJECT:
+                if (c == '}') return end(Event.END_OBJECT);
+                c = separator(c);
+                if (lenient && c == '}') return end(Event.END_OBJECT);
+                stack[depth - 1] = DANGLING_NAME;
+                return readName(c);
+            default:
+                expect(c, ':');
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                return readValue(skipWhitespace());
+        }
+    }
+
+    public String string() {
+        return string;
+    }
+
+    public boolean booleanValue() {
+        return bool;
+    }
+
+    public Number number() {
+        if (exact) return BigDecimal.valueOf(unscaled, scale);
+        try {
+            return new BigDecimal(number, 0, numberLength);
+        } catch (NumberFormatException e) {
+            throw error("NUMBER", new String(number, 0, numberLength));
+        }
+    }
+
+    public long longValue() {
+        if (exact && scale == 0) return unscaled;
+        return number().longValue();
+    }
+
+    public double doubleValue() {
+        if (exact && Math.abs(unscaled) <= MAX_EXACT_DOUBLE && scale < POWERS_OF_TEN.length)
+            return unscaled / POWERS_OF_TEN[scale];
+        return number().doubleValue();
+    }
+
+    public Object value() {
+        return value(next());
+    }
+
+    public Map<String, Object> map() {
+        expect(next(), Event.START_OBJECT);
+        return object();
+    }
+
+    public List<Object> list() {
+        expect(next(), Event.START_ARRAY);
+        return array();
+    }
+
+    public Sequence<Object> sequence() {
+        expect(next(), Event.START_ARRAY);
+        return forwardOnly(new StatefulIterator<Object>() {
+            @Override
+            protected Object getNext() throws Exception {
+                Event event = JsonReader.this.next();
+                if (event == Event.END_ARRAY) return finished();
+                return value(event);
+            }
+        });
+    }
+
+    public Sequence<Pair<String, Object>> pairs() {
+        expect(next(), Event.START_OBJECT);
+        return forwardOnly(new StatefulIterator<Pair<String, Object>>() {
+            @Override
+            protected Pair<String, Object> getNext() throws Exception {
+                Event event = JsonReader.this.next();
+                if (event == Event.END_OBJECT) return finished();
+                String name = string;
+                return Pair.pair(name, value(JsonReader.this.next()));
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) reader.close();
+    }
+
+    private Object value(Event event) {
+        switch (event) {
+            case START_OBJECT: return object();
+            case START_ARRAY: return array();
+            case STRING: return string;
+            case NUMBER: return number();
+            case BOOLEAN: return bool;
+            case NULL: return null;
+            default: throw error("VALUE", event);
+        }
+    }
+
+    private Map<String, Object> object() {
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        for (Event event = next(); event != Event.END_OBJECT; event = next()) {
+            String name = string;
+            result.put(name, value(next()));
+        }
+        return result;
+    }
+
+    private List<Object> array() {
+        List<Object> result = new ArrayList<Object>();
+        for (Event event = next(); event != Event.END_ARRAY; event = next()) {
+            result.add(value(event));
+        }
+        return result;
+    }
+
+    private Event end(Event event) {
+        position++;
+        depth--;
+        return event;
+    }
+
+    private Event push(int context, Event event) {
+        position++;
+        if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+        stack[depth++] = context;
+        return event;
+    }
+
+    private Event readName(char c) {
+        if (c != '"') throw error("\"", describe(c));
+        string = readString();
+        return Event.NAME;
+    }
+
+    private Event readValue(char c) {
+        switch (c) {
+            case '{': return push(EMPTY_OBJECT, Event.START_OBJECT);
+            case '[': return push(EMPTY_ARRAY, Event.START_ARRAY);
+            case '"':
+                string = readString();
+                return Event.STRING;
+            case 't':
+                readLiteral("true");
+                bool = true;
+                return Event.BOOLEAN;
+            case 'f':
+                readLiteral("false");
+                bool = false;
+                return Event.BOOLEAN;
+            case 'n':
+                readLiteral("null");
+                return Event.NULL;
+            default:
+                if (isNumberCharacter(c)) return readNumber();
+                throw error("VALUE", describe(c));
+        }
+    }
+
+    private String readString() {
+        int start = ++position;
+        while (position < limit) {
+            char c = buffer[position];
+            if (c == '"') return new String(buffer, start, position++ - start);
+            if (c == '\\') break;
+            position++;
+        }
+        builder.setLength(0);
+        builder.append(buffer, start, position - start);
+        while (true) {
+            if (position == limit && !fill()) throw error("\"", "end of input");
+            char c = buffer[position++];
+            if (c == '"') return builder.toString();
+            if (c == '\\') builder.append(readEscape());
+            else builder.append(c);
+        }
+    }
+
+    private char readEscape() {
+        char c = read();
+        switch (c) {
+            case '"': return '"';
+            case '\\': return '\\';
+            case '/': return '/';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u':
+                int result = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) throw error("HEX DIGIT", describe(buffer[position - 1]));
+                    result = (result << 4) | digit;
+                }
+                return (char) result;
+            default: throw error("ESCAPED CHARACTER", describe(c));
+        }
+    }
+
+    private void readLiteral(String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) throw error(literal, describe(buffer[position - 1]));
+        }
+    }
+
+    private Event readNumber() {
+        numberLength = 0;
+        unscaled = 0;
+        scale = 0;
+        exact = true;
+        boolean negative = false;
+        boolean fraction = false;
+        int digits = 0;
+        while (position < limit || fill()) {
+            char c = buffer[position];
+            if (c >= '0' && c <= '9') {
+                if (digits < MAX_EXACT_DIGITS) {
+                    unscaled = unscaled * 10 + (c - '0');
+                    digits++;
+                    if (fraction) scale++;
+                } else exact = false;
+            } else if (c == '.' && !fraction) fraction = true;
+            else if (c == '-' && numberLength == 0) negative = true;
+            else if (isNumberCharacter(c)) exact = false;
+            else break;
+            if (numberLength == number.length) number = Arrays.copyOf(number, numberLength * 2);
+            number[numberLength++] = c;
+            position++;
+        }
+        exact = exact && digits > 0;
+        if (negative) unscaled = -unscaled;
+        return Event.NUMBER;
+    }
+
+    private static boolean isNumberCharacter(char c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
+    private char skipWhitespace() {
+        while (position < limit || fill()) {
+            char c = buffer[position];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+            position++;
+        }
+        return 0;
+    }
+
+    private char read() {
+        if (position == limit && !fill()) throw error("CHARACTER", "end of input");
+        return buffer[position++];
+    }
+
+    private boolean eof() {
+        return position == limit && !fill();
+    }
+
+    private boolean fill() {
+        if (reader == null) return false;
+        try {
+            consumed += limit;
+            position = limit = 0;
+            int read;
+            while ((read = reader.read(buffer, 0, buffer.length)) == 0) ;
+            if (read < 0) return false;
+            limit = read;
+            return true;
+        } catch (IOException e) {
+            throw lazyException(e);
+        }
+    }
+
+    private char separator(char c) {
+        if (c == ',') {
+            position++;
+            return skipWhitespace();
+        }
+        if (!lenient) throw error(",", describe(c));
+        return c;
+    }
+
+    private void expect(char c, char expected) {
+        if (c != expected) throw error(String.valueOf(expected), describe(c));
+        position++;
+    }
+
+    private void expect(Event actual, Event expected) {
+        if (actual != expected) throw error(expected, actual);
+    }
+
+    private String describe(char c) {
+        return c == 0 && eof() ? "end of input" : String.valueOf(c);
+    }
+
+    private IllegalArgumentException error(Object expected, Object actual) {
+        return new IllegalArgumentException(format("%s expected, %s encountered at position %d.", expected, actual, consumed + position));
+    }
+}
@@ -1,77 +1,213 @@
 package com.googlecode.totallylazy.json;
 
-import com.googlecode.totallylazy.Iterators;
-import com.googlecode.totallylazy.annotations.multimethod;
-import com.googlecode.totallylazy.multi;
-import com.googlecode.totallylazy.time.Dates;
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.time.DateFormatters;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-import static com.googlecode.totallylazy.Appendables.append;
+import static com.googlecode.totallylazy.LazyException.lazyException;
+import static com.googlecode.totallylazy.Unchecked.cast;
 
 public class JsonWriter {
     public static final String SEPARATOR = ",";
 
-    private static multi multi;
+    private static final List<Pair<Class<?>, Encoder<?>>> registered = new CopyOnWriteArrayList<Pair<Class<?>, Encoder<?>>>();
+    private static volatile ClassValue<Encoder<Object>> encoders = encoders();
+
+    public static synchronized <T> void register(final Class<T> aClass, final Encoder<? super T> encoder) {
+        registered.add(0, Pair.<Class<?>, Encoder<?>>pair(aClass, encoder));
+        encoders = encoders();
+    }
+
+    public static synchronized void unregister(final Class<?> aClass) {
+        for (Pair<Class<?>, Encoder<?>> pair : registered) {
+            if (pair.first().equals(aClass)) registered.remove(pair);
+        }
+        encoders = encoders();
+    }
+
     public static <A extends Appendable> A write(final Object o, final A appendable) {
-        if(multi == null) multi = new multi(){};
-        return multi.<A>methodOption(o, appendable).getOrElse(() -> {
-            return write(o.toString(), appendable);
-        });
+        try {
+            encode(o, appendable);
+            return appendable;
+        } catch (IOException e) {
+            throw lazyException(e);
+        }
+    }
+
+    public static <O extends OutputStream> O writeUtf8(final Object o, final O stream) {
+        try {
+            Utf8Appendable appendable = Utf8Appendable.utf8Appendable(stream);
+            try {
+                encode(o, appendable);
+                appendable.finish();
+            } finally {
+                appendable.release();
+            }
+            return stream;
+        } catch (IOException e) {
+            throw lazyException(e);
+        }
     }
 
-    @multimethod
     public static <A extends Appendable> A write(final CharSequence charSequence, final A appendable) {
-        return append(Strings.toString(charSequence), appendable);
+        return write((Object) charSequence, appendable);
     }
 
-    @multimethod
     public static <A extends Appendable> A write(final Iterator<?> iterator, final A appendable) {
-        return iterate(iterator, appendable, "[", SEPARATOR, "]");
+        return write((Object) iterator, appendable);
     }
 
-    @multimethod
     public static <A extends Appendable> A write(final Iterable<?> iterable, final A appendable) {
-        if(iterable instanceof Map) return write((Map) iterable, appendable);
-        return write(iterable.iterator(), appendable);
+        return write((Object) iterable, appendable);
     }
 
-    @multimethod
     public static <A extends Appendable> A write(final Map<?, ?> map, final A appendable) {
-        return iterate(map.entrySet().iterator(), appendable, "{", SEPARATOR, "}");
+        return write((Object) map, appendable);
     }
 
-    @multimethod
     public static <A extends Appendable> A write(final Map.Entry<?, ?> entry, final A appendable) {
-        return write(entry.getValue(), append(':', append(Strings.toString(String.valueOf(entry.getKey())), appendable)));
+        return write((Object) entry, appendable);
     }
 
-    @multimethod
     public static <A extends Appendable> A write(final Void aVoid, final A appendable) {
-        return append("null", appendable);
+        return write((Object) aVoid, appendable);
     }
 
-    @multimethod
     public static <A extends Appendable> A write(final Number number, final A appendable) {
-        return append(number.toString(), appendable);
+        return write((Object) number, appendable);
     }
 
-    @multimethod
     public static <A extends Appendable> A write(final Date date, final A appendable) {
-        return append(Strings.quote(Dates.RFC3339withMilliseconds().format(date)), appendable);
+        return write((Object) date, appendable);
     }
 
-    @multimethod
     public static <A extends Appendable> A write(final Boolean bool, final A appendable) {
-        return append(bool.toString(), appendable);
+        return write((Object) bool, appendable);
+    }
+
+    private static void encode(final Object o, final Appendable appendable) throws IOException {
+        if (o == null) appendable.append("null");
+        else encoder(o.getClass()).encode(o, appendable);
+    }
+
+    private static Encoder<Object> encoder(final Class<?> aClass) {
+        return encoders.get(aClass);
+    }
+
+    private static ClassValue<Encoder<Object>> encoders() {
+        return new ClassValue<Encoder<Object>>() {
+            @Override
+            protected Encoder<Object> computeValue(Class<?> aClass) {
+                return resolve(aClass);
+            }
+        };
+    }
+
+    private static Encoder<Object> resolve(final Class<?> aClass) {
+        for (Pair<Class<?>, Encoder<?>> pair : registered) {
+            if (pair.first().isAssignableFrom(aClass)) return cast(pair.second());
+        }
+        if (CharSequence.class.isAssignableFrom(aClass)) return (value, appendable) -> string((CharSequence) value, appendable);
+        if (Map.class.isAssignableFrom(aClass)) return (value, appendable) -> map((Map<?, ?>) value, appendable);
+        if (Map.Entry.class.isAssignableFrom(aClass)) return (value, appendable) -> entry((Map.Entry<?, ?>) value, appendable);
+        if (Iterable.class.isAssignableFrom(aClass)) return (value, appendable) -> iterator(((Iterable<?>) value).iterator(), appendable);
+        if (Iterator.class.isAssignableFrom(aClass)) return (value, appendable) -> iterator((Iterator<?>) value, appendable);
+        if (Number.class.isAssignableFrom(aClass) || Boolean.class.equals(aClass)) return (value, appendable) -> appendable.append(value.toString());
+        if (Date.class.isAssignableFrom(aClass)) return (value, appendable) -> date((Date) value, appendable);
+        if (Object[].class.isAssignableFrom(aClass)) return (value, appendable) -> array((Object[]) value, appendable);
+        if (int[].class.equals(aClass)) return (value, appendable) -> array((int[]) value, appendable);
+        if (long[].class.equals(aClass)) return (value, appendable) -> array((long[]) value, appendable);
+        if (double[].class.equals(aClass)) return (value, appendable) -> array((double[]) value, appendable);
+        if (aClass.isArray()) return JsonWriter::primitiveArray;
+        return (value, appendable) -> string(value.toString(), appendable);
+    }
+
+    private static void string(final CharSequence value, final Appendable appendable) throws IOException {
+        Strings.escape(value, appendable.append('"')).append('"');
+    }
+
+    private static void map(final Map<?, ?> map, final Appendable appendable) throws IOException {
+        appendable.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) appendable.append(SEPARATOR);
+            first = false;
+            entry(entry, appendable);
+        }
+        appendable.append('}');
+    }
+
+    private static void entry(final Map.Entry<?, ?> entry, final Appendable appendable) throws IOException {
+        string(String.valueOf(entry.getKey()), appendable);
+        appendable.append(':');
+        encode(entry.getValue(), appendable);
+    }
+
+    private static void iterator(final Iterator<?> iterator, final Appendable appendable) throws IOException {
+        appendable.append('[');
+        if (iterator.hasNext()) encode(iterator.next(), appendable);
+        while (iterator.hasNext()) {
+            appendable.append(SEPARATOR);
+            encode(iterator.next(), appendable);
+        }
+        appendable.append(']');
+    }
+
+    private static void date(final Date date, final Appendable appendable) throws IOException {
+        DateFormatters.RFC3339_WITH_MILLISECONDS.format(date, appendable.append('"')).append('"');
+    }
+
+    private static void array(final Object[] values, final Appendable appendable) throws IOException {
+        appendable.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) appendable.append(SEPARATOR);
+            encode(values[i], appendable);
+        }
+        appendable.append(']');
+    }
+
+    private static void array(final int[] values, final Appendable appendable) throws IOException {
+        appendable.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) appendable.append(SEPARATOR);
+            appendable.append(Integer.toString(values[i]));
+        }
+        appendable.append(']');
+    }
+
+    private static void array(final long[] values, final Appendable appendable) throws IOException {
+        appendable.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) appendable.append(SEPARATOR);
+            appendable.append(Long.toString(values[i]));
+        }
+        appendable.append(']');
+    }
+
+    private static void array(final double[] values, final Appendable appendable) throws IOException {
+        appendable.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) appendable.append(SEPARATOR);
+            appendable.append(Double.toString(values[i]));
+        }
+        appendable.append(']');
     }
 
-    private static <A extends Appendable> A iterate(final Iterator<?> iterator, final A appendable, String start, String separator, String end) {
-        return Iterators.appendTo(Iterators.map(iterator, o -> {
-            write(o, appendable);
-            return "";
-        }), appendable, start, separator, end);
+    private static void primitiveArray(final Object values, final Appendable appendable) throws IOException {
+        appendable.append('[');
+        int length = Array.getLength(values);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) appendable.append(SEPARATOR);
+            encode(Array.get(values, i), appendable);
+        }
+        appendable.append(']');
     }
 }
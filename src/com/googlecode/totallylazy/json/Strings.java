@@ -2,7 +2,8 @@ package com.googlecode.totallylazy.json;
 
 import com.googlecode.totallylazy.functions.Function1;
 
-import static com.googlecode.totallylazy.Sequences.characters;
+import java.io.IOException;
+
 import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
 
@@ -12,10 +13,33 @@ public class Strings {
     }
 
     public static String escape(CharSequence value) {
-        return characters(value).map(functions.escape).toString("");
+        try {
+            return escape(value, new StringBuilder(value.length())).toString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public static String escape(Character character) {
+        String escaped = escaped(character);
+        return escaped == null ? character.toString() : escaped;
+    }
+
+    static <A extends Appendable> A escape(CharSequence value, A appendable) throws IOException {
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            String escaped = escaped(value.charAt(i));
+            if (escaped == null) continue;
+            if (start < i) appendable.append(value, start, i);
+            appendable.append(escaped);
+            start = i + 1;
+        }
+        if (start < length) appendable.append(value, start, length);
+        return appendable;
+    }
+
+    private static String escaped(char character) {
         switch (character) {
             case '"': return "\\\"";
             case '\\': return "\\\\";
@@ -23,7 +47,7 @@ public class Strings {
             case '\n': return "\\n";
             case '\r': return "\\r";
             case '\t': return "\\t";
-            default: return character.toString();
+            default: return null;
         }
     }
 
@@ -0,0 +1,98 @@
+package com.googlecode.totallylazy.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+class Utf8Appendable implements Appendable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadLocal<byte[]> buffers = new ThreadLocal<byte[]>();
+
+    private final OutputStream stream;
+    private byte[] buffer;
+    private int position;
+    private char highSurrogate;
+
+    private Utf8Appendable(OutputStream stream, byte[] buffer) {
+        this.stream = stream;
+        this.buffer = buffer;
+    }
+
+    static Utf8Appendable utf8Appendable(OutputStream stream) {
+        byte[] buffer = buffers.get();
+        if (buffer == null) buffer = new byte[BUFFER_SIZE];
+        else buffers.remove();
+        return new Utf8Appendable(stream, buffer);
+    }
+
+    @Override
+    public Utf8Appendable append(CharSequence value) throws IOException {
+        return append(value, 0, value.length());
+    }
+
+    @Override
+    public Utf8Appendable append(CharSequence value, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80 && highSurrogate == 0) {
+                if (position == buffer.length) flush();
+                buffer[position++] = (byte) c;
+            } else {
+                append(c);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public Utf8Appendable append(char c) throws IOException {
+        if (buffer.length - position < 4) flush();
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                return this;
+            }
+            buffer[position++] = '?';
+            return append(c);
+        }
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return this;
+    }
+
+    void finish() throws IOException {
+        if (highSurrogate != 0) {
+            if (position == buffer.length) flush();
+            buffer[position++] = '?';
+            highSurrogate = 0;
+        }
+        flush();
+    }
+
+    void flush() throws IOException {
+        stream.write(buffer, 0, position);
+        position = 0;
+    }
+
+    void release() {
+        buffers.set(buffer);
+        buffer = null;
+    }
+}
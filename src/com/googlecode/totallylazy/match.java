@@ -5,13 +5,18 @@ import com.googlecode.totallylazy.functions.Function1;
 import static com.googlecode.totallylazy.Sequences.sequence;
 
 public abstract class match<A, B> implements Function1<A, Option<B>> {
+    private static final ClassValue<Dispatcher> dispatchers = new ClassValue<Dispatcher>() {
+        @Override
+        protected Dispatcher computeValue(Class<?> aClass) {
+            return Dispatcher.dispatcher(aClass, "value");
+        }
+    };
     private final Extractor<? super A, ?> extractor;
     private final Dispatcher dispatcher;
 
     public match(Extractor<? super A, ?> extractor) {
         this.extractor = extractor;
-        dispatcher = Dispatcher.dispatcher(this, "value");
-
+        dispatcher = dispatchers.get(getClass()).bind(this);
     }
     public match() { this(Extractor.functions.<A>self()); }
 
@@ -6,8 +6,9 @@ import com.googlecode.totallylazy.predicates.Predicates;
 import com.googlecode.totallylazy.reflection.Methods;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import static com.googlecode.totallylazy.Dispatcher.dispatcher;
 import static com.googlecode.totallylazy.reflection.Methods.methodName;
 import static com.googlecode.totallylazy.predicates.Predicates.and;
 import static com.googlecode.totallylazy.predicates.Predicates.is;
@@ -18,24 +19,42 @@ import static com.googlecode.totallylazy.reflection.Reflection.enclosingInstance
 import static java.lang.reflect.Modifier.isStatic;
 
 public abstract class multi {
+    private static final Predicate<Method> annotated = Predicates.<Method, multimethod>where(Methods.annotation(multimethod.class), notNullValue());
+    private static final ClassValue<Method> enclosingMethods = new ClassValue<Method>() {
+        @Override
+        protected Method computeValue(Class<?> aClass) {
+            return aClass.getEnclosingMethod();
+        }
+    };
+    private static final ClassValue<ConcurrentMap<Class<?>, Dispatcher>> dispatchers = new ClassValue<ConcurrentMap<Class<?>, Dispatcher>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, Dispatcher> computeValue(Class<?> aClass) {
+            return new ConcurrentHashMap<Class<?>, Dispatcher>();
+        }
+    };
     private final Dispatcher dispatcher;
 
     protected multi(Predicate<? super Method> predicate) {
+        Method enclosing = enclosing();
+        Object instance = instance(enclosing);
+        this.dispatcher = dispatcher(enclosing, declaringClass(enclosing, instance), predicate).bind(instance);
+    }
+
+    protected multi() {
         Method enclosing = enclosing();
         Object instance = instance(enclosing);
         Class<?> aClass = declaringClass(enclosing, instance);
-        String name = enclosing.getName();
+        this.dispatcher = dispatchers.get(getClass()).computeIfAbsent(aClass,
+                key -> dispatcher(enclosing, aClass, annotated)).bind(instance);
+    }
 
-        this.dispatcher = Dispatcher.dispatcher(aClass, instance,
-                and(where(methodName(), is(name)),
+    private static Dispatcher dispatcher(Method enclosing, Class<?> aClass, Predicate<? super Method> predicate) {
+        return Dispatcher.dispatcher(aClass, null,
+                and(where(methodName(), is(enclosing.getName())),
                         not(enclosing),
                         predicate));
     }
 
-    protected multi() {
-        this(Predicates.<Method, multimethod>where(Methods.annotation(multimethod.class), notNullValue()));
-    }
-
     public <T> T method(Object... args) {
         return this.<T>methodOption(args).get();
     }
@@ -44,7 +63,7 @@ public abstract class multi {
         return dispatcher.invokeOption(args);
     }
 
-    private Method enclosing() {return getClass().getEnclosingMethod();}
+    private Method enclosing() {return enclosingMethods.get(getClass());}
 
     private Class<?> declaringClass(Method method, Object instance) {
         return isStatic(method.getModifiers()) ? method.getDeclaringClass() : instance.getClass();
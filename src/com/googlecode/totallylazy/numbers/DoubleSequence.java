@@ -0,0 +1,278 @@
+package com.googlecode.totallylazy.numbers;
+
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.iterators.ReadOnlyIterator;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+public abstract class DoubleSequence {
+    public abstract PrimitiveIterator.OfDouble iterator();
+
+    public static DoubleSequence doubles(final double... values) {
+        return doubles(values, 0, values.length);
+    }
+
+    public static DoubleSequence doubles(final double[] values, final int start, final int end) {
+        return new DoubleSequence() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                return new PrimitiveIterator.OfDouble() {
+                    private int index = start;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < end;
+                    }
+
+                    @Override
+                    public double nextDouble() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return values[index++];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    public static DoubleSequence doubles(final Iterable<? extends Number> numbers) {
+        return new DoubleSequence() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                final Iterator<? extends Number> iterator = numbers.iterator();
+                return new PrimitiveIterator.OfDouble() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public double nextDouble() {
+                        return iterator.next().doubleValue();
+                    }
+                };
+            }
+        };
+    }
+
+    public DoubleSequence map(final DoubleUnaryOperator mapper) {
+        final DoubleSequence source = this;
+        return new DoubleSequence() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                final PrimitiveIterator.OfDouble iterator = source.iterator();
+                return new PrimitiveIterator.OfDouble() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public double nextDouble() {
+                        return mapper.applyAsDouble(iterator.nextDouble());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return source.size();
+            }
+        };
+    }
+
+    public IntSequence mapToInt(final DoubleToIntFunction mapper) {
+        final DoubleSequence source = this;
+        return new IntSequence() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                final PrimitiveIterator.OfDouble iterator = source.iterator();
+                return new PrimitiveIterator.OfInt() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        return mapper.applyAsInt(iterator.nextDouble());
+                    }
+                };
+            }
+        };
+    }
+
+    public LongSequence mapToLong(final DoubleToLongFunction mapper) {
+        final DoubleSequence source = this;
+        return new LongSequence() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                final PrimitiveIterator.OfDouble iterator = source.iterator();
+                return new PrimitiveIterator.OfLong() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public long nextLong() {
+                        return mapper.applyAsLong(iterator.nextDouble());
+                    }
+                };
+            }
+        };
+    }
+
+    public <T> Sequence<T> mapToObject(final DoubleFunction<? extends T> mapper) {
+        final DoubleSequence source = this;
+        return new Sequence<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                final PrimitiveIterator.OfDouble iterator = source.iterator();
+                return new ReadOnlyIterator<T>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public T next() {
+                        return mapper.apply(iterator.nextDouble());
+                    }
+                };
+            }
+        };
+    }
+
+    public DoubleSequence filter(final DoublePredicate predicate) {
+        final DoubleSequence source = this;
+        return new DoubleSequence() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                final PrimitiveIterator.OfDouble iterator = source.iterator();
+                return new PrimitiveIterator.OfDouble() {
+                    private boolean ready;
+                    private double next;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!ready && iterator.hasNext()) {
+                            double value = iterator.nextDouble();
+                            if (predicate.test(value)) {
+                                next = value;
+                                ready = true;
+                            }
+                        }
+                        return ready;
+                    }
+
+                    @Override
+                    public double nextDouble() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        ready = false;
+                        return next;
+                    }
+                };
+            }
+        };
+    }
+
+    public DoubleSequence each(final DoubleConsumer consumer) {
+        PrimitiveIterator.OfDouble iterator = iterator();
+        while (iterator.hasNext()) consumer.accept(iterator.nextDouble());
+        return this;
+    }
+
+    public double fold(final double seed, final DoubleBinaryOperator operator) {
+        double accumulator = seed;
+        PrimitiveIterator.OfDouble iterator = iterator();
+        while (iterator.hasNext()) accumulator = operator.applyAsDouble(accumulator, iterator.nextDouble());
+        return accumulator;
+    }
+
+    public double reduce(final DoubleBinaryOperator operator) {
+        PrimitiveIterator.OfDouble iterator = iterator();
+        double accumulator = iterator.nextDouble();
+        while (iterator.hasNext()) accumulator = operator.applyAsDouble(accumulator, iterator.nextDouble());
+        return accumulator;
+    }
+
+    public double sum() {
+        double sum = 0;
+        PrimitiveIterator.OfDouble iterator = iterator();
+        while (iterator.hasNext()) sum += iterator.nextDouble();
+        return sum;
+    }
+
+    public double average() {
+        double sum = 0;
+        long count = 0;
+        PrimitiveIterator.OfDouble iterator = iterator();
+        while (iterator.hasNext()) {
+            sum += iterator.nextDouble();
+            count++;
+        }
+        if (count == 0) throw new NoSuchElementException();
+        return sum / count;
+    }
+
+    public double minimum() {
+        return reduce(Math::min);
+    }
+
+    public double maximum() {
+        return reduce(Math::max);
+    }
+
+    public int size() {
+        int size = 0;
+        PrimitiveIterator.OfDouble iterator = iterator();
+        while (iterator.hasNext()) {
+            iterator.nextDouble();
+            size = Math.incrementExact(size);
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    public double[] toArray() {
+        double[] result = new double[16];
+        int size = 0;
+        PrimitiveIterator.OfDouble iterator = iterator();
+        while (iterator.hasNext()) {
+            if (size == result.length) result = Arrays.copyOf(result, size * 2);
+            result[size++] = iterator.nextDouble();
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    public Sequence<Double> boxed() {
+        return mapToObject(Double::valueOf);
+    }
+
+    public Sequence<Number> asNumbers() {
+        return mapToObject(Double::valueOf);
+    }
+
+    @Override
+    public String toString() {
+        return boxed().toString();
+    }
+}
@@ -0,0 +1,308 @@
+package com.googlecode.totallylazy.numbers;
+
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.iterators.ReadOnlyIterator;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+public abstract class IntSequence {
+    public abstract PrimitiveIterator.OfInt iterator();
+
+    public static IntSequence ints(final int... values) {
+        return ints(values, 0, values.length);
+    }
+
+    public static IntSequence ints(final int[] values, final int start, final int end) {
+        return new IntSequence() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                return new PrimitiveIterator.OfInt() {
+                    private int index = start;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < end;
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return values[index++];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    public static IntSequence ints(final Iterable<? extends Number> numbers) {
+        return new IntSequence() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                final Iterator<? extends Number> iterator = numbers.iterator();
+                return new PrimitiveIterator.OfInt() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        return iterator.next().intValue();
+                    }
+                };
+            }
+        };
+    }
+
+    public static IntSequence range(final int start, final int end) {
+        return range(start, end, 1);
+    }
+
+    public static IntSequence range(final int start, final int end, final int step) {
+        if (step == 0) throw new IllegalArgumentException("step can not be zero");
+        return new IntSequence() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                final StepIterator iterator = StepIterator.steps(start, end, step);
+                return new PrimitiveIterator.OfInt() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        return (int) iterator.nextLong();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return StepIterator.size(start, end, step);
+            }
+        };
+    }
+
+    public IntSequence map(final IntUnaryOperator mapper) {
+        final IntSequence source = this;
+        return new IntSequence() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                final PrimitiveIterator.OfInt iterator = source.iterator();
+                return new PrimitiveIterator.OfInt() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        return mapper.applyAsInt(iterator.nextInt());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return source.size();
+            }
+        };
+    }
+
+    public LongSequence mapToLong(final IntToLongFunction mapper) {
+        final IntSequence source = this;
+        return new LongSequence() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                final PrimitiveIterator.OfInt iterator = source.iterator();
+                return new PrimitiveIterator.OfLong() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public long nextLong() {
+                        return mapper.applyAsLong(iterator.nextInt());
+                    }
+                };
+            }
+        };
+    }
+
+    public DoubleSequence mapToDouble(final IntToDoubleFunction mapper) {
+        final IntSequence source = this;
+        return new DoubleSequence() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                final PrimitiveIterator.OfInt iterator = source.iterator();
+                return new PrimitiveIterator.OfDouble() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public double nextDouble() {
+                        return mapper.applyAsDouble(iterator.nextInt());
+                    }
+                };
+            }
+        };
+    }
+
+    public <T> Sequence<T> mapToObject(final IntFunction<? extends T> mapper) {
+        final IntSequence source = this;
+        return new Sequence<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                final PrimitiveIterator.OfInt iterator = source.iterator();
+                return new ReadOnlyIterator<T>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public T next() {
+                        return mapper.apply(iterator.nextInt());
+                    }
+                };
+            }
+        };
+    }
+
+    public IntSequence filter(final IntPredicate predicate) {
+        final IntSequence source = this;
+        return new IntSequence() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                final PrimitiveIterator.OfInt iterator = source.iterator();
+                return new PrimitiveIterator.OfInt() {
+                    private boolean ready;
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!ready && iterator.hasNext()) {
+                            int value = iterator.nextInt();
+                            if (predicate.test(value)) {
+                                next = value;
+                                ready = true;
+                            }
+                        }
+                        return ready;
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        ready = false;
+                        return next;
+                    }
+                };
+            }
+        };
+    }
+
+    public IntSequence each(final IntConsumer consumer) {
+        PrimitiveIterator.OfInt iterator = iterator();
+        while (iterator.hasNext()) consumer.accept(iterator.nextInt());
+        return this;
+    }
+
+    public int fold(final int seed, final IntBinaryOperator operator) {
+        int accumulator = seed;
+        PrimitiveIterator.OfInt iterator = iterator();
+        while (iterator.hasNext()) accumulator = operator.applyAsInt(accumulator, iterator.nextInt());
+        return accumulator;
+    }
+
+    public int reduce(final IntBinaryOperator operator) {
+        PrimitiveIterator.OfInt iterator = iterator();
+        int accumulator = iterator.nextInt();
+        while (iterator.hasNext()) accumulator = operator.applyAsInt(accumulator, iterator.nextInt());
+        return accumulator;
+    }
+
+    public long sum() {
+        long sum = 0;
+        PrimitiveIterator.OfInt iterator = iterator();
+        while (iterator.hasNext()) sum = Math.addExact(sum, iterator.nextInt());
+        return sum;
+    }
+
+    public double average() {
+        long sum = 0;
+        long count = 0;
+        PrimitiveIterator.OfInt iterator = iterator();
+        while (iterator.hasNext()) {
+            sum = Math.addExact(sum, iterator.nextInt());
+            count++;
+        }
+        if (count == 0) throw new NoSuchElementException();
+        return (double) sum / count;
+    }
+
+    public int minimum() {
+        return reduce(Math::min);
+    }
+
+    public int maximum() {
+        return reduce(Math::max);
+    }
+
+    public int size() {
+        int size = 0;
+        PrimitiveIterator.OfInt iterator = iterator();
+        while (iterator.hasNext()) {
+            iterator.nextInt();
+            size = Math.incrementExact(size);
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    public int[] toArray() {
+        int[] result = new int[16];
+        int size = 0;
+        PrimitiveIterator.OfInt iterator = iterator();
+        while (iterator.hasNext()) {
+            if (size == result.length) result = Arrays.copyOf(result, size * 2);
+            result[size++] = iterator.nextInt();
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    public Sequence<Integer> boxed() {
+        return mapToObject(Integer::valueOf);
+    }
+
+    public Sequence<Number> asNumbers() {
+        return mapToObject(Integer::valueOf);
+    }
+
+    @Override
+    public String toString() {
+        return boxed().toString();
+    }
+}
@@ -0,0 +1,302 @@
+package com.googlecode.totallylazy.numbers;
+
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.iterators.ReadOnlyIterator;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+public abstract class LongSequence {
+    public abstract PrimitiveIterator.OfLong iterator();
+
+    public static LongSequence longs(final long... values) {
+        return longs(values, 0, values.length);
+    }
+
+    public static LongSequence longs(final long[] values, final int start, final int end) {
+        return new LongSequence() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                return new PrimitiveIterator.OfLong() {
+                    private int index = start;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < end;
+                    }
+
+                    @Override
+                    public long nextLong() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return values[index++];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    public static LongSequence longs(final Iterable<? extends Number> numbers) {
+        return new LongSequence() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                final Iterator<? extends Number> iterator = numbers.iterator();
+                return new PrimitiveIterator.OfLong() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public long nextLong() {
+                        return iterator.next().longValue();
+                    }
+                };
+            }
+        };
+    }
+
+    public static LongSequence range(final long start, final long end) {
+        return range(start, end, 1);
+    }
+
+    public static LongSequence range(final long start, final long end, final long step) {
+        if (step == 0) throw new IllegalArgumentException("step can not be zero");
+        return new LongSequence() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                return StepIterator.steps(start, end, step);
+            }
+
+            @Override
+            public int size() {
+                return StepIterator.size(start, end, step);
+            }
+        };
+    }
+
+    public LongSequence map(final LongUnaryOperator mapper) {
+        final LongSequence source = this;
+        return new LongSequence() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                final PrimitiveIterator.OfLong iterator = source.iterator();
+                return new PrimitiveIterator.OfLong() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public long nextLong() {
+                        return mapper.applyAsLong(iterator.nextLong());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return source.size();
+            }
+        };
+    }
+
+    public IntSequence mapToInt(final LongToIntFunction mapper) {
+        final LongSequence source = this;
+        return new IntSequence() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                final PrimitiveIterator.OfLong iterator = source.iterator();
+                return new PrimitiveIterator.OfInt() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        return mapper.applyAsInt(iterator.nextLong());
+                    }
+                };
+            }
+        };
+    }
+
+    public DoubleSequence mapToDouble(final LongToDoubleFunction mapper) {
+        final LongSequence source = this;
+        return new DoubleSequence() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                final PrimitiveIterator.OfLong iterator = source.iterator();
+                return new PrimitiveIterator.OfDouble() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public double nextDouble() {
+                        return mapper.applyAsDouble(iterator.nextLong());
+                    }
+                };
+            }
+        };
+    }
+
+    public <T> Sequence<T> mapToObject(final LongFunction<? extends T> mapper) {
+        final LongSequence source = this;
+        return new Sequence<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                final PrimitiveIterator.OfLong iterator = source.iterator();
+                return new ReadOnlyIterator<T>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public T next() {
+                        return mapper.apply(iterator.nextLong());
+                    }
+                };
+            }
+        };
+    }
+
+    public LongSequence filter(final LongPredicate predicate) {
+        final LongSequence source = this;
+        return new LongSequence() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                final PrimitiveIterator.OfLong iterator = source.iterator();
+                return new PrimitiveIterator.OfLong() {
+                    private boolean ready;
+                    private long next;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!ready && iterator.hasNext()) {
+                            long value = iterator.nextLong();
+                            if (predicate.test(value)) {
+                                next = value;
+                                ready = true;
+                            }
+                        }
+                        return ready;
+                    }
+
+                    @Override
+                    public long nextLong() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        ready = false;
+                        return next;
+                    }
+                };
+            }
+        };
+    }
+
+    public LongSequence each(final LongConsumer consumer) {
+        PrimitiveIterator.OfLong iterator = iterator();
+        while (iterator.hasNext()) consumer.accept(iterator.nextLong());
+        return this;
+    }
+
+    public long fold(final long seed, final LongBinaryOperator operator) {
+        long accumulator = seed;
+        PrimitiveIterator.OfLong iterator = iterator();
+        while (iterator.hasNext()) accumulator = operator.applyAsLong(accumulator, iterator.nextLong());
+        return accumulator;
+    }
+
+    public long reduce(final LongBinaryOperator operator) {
+        PrimitiveIterator.OfLong iterator = iterator();
+        long accumulator = iterator.nextLong();
+        while (iterator.hasNext()) accumulator = operator.applyAsLong(accumulator, iterator.nextLong());
+        return accumulator;
+    }
+
+    public long sum() {
+        long sum = 0;
+        PrimitiveIterator.OfLong iterator = iterator();
+        while (iterator.hasNext()) sum = Math.addExact(sum, iterator.nextLong());
+        return sum;
+    }
+
+    public double average() {
+        long sum = 0;
+        long carry = 0;
+        long count = 0;
+        PrimitiveIterator.OfLong iterator = iterator();
+        while (iterator.hasNext()) {
+            long value = iterator.nextLong();
+            long result = sum + value;
+            // the sum wrapped: carry the lost 2^64 rather than failing on valid input
+            if (((sum ^ result) & (value ^ result)) < 0) carry += value < 0 ? -1 : 1;
+            sum = result;
+            count++;
+        }
+        if (count == 0) throw new NoSuchElementException();
+        return (carry * 0x1p64 + sum) / count;
+    }
+
+    public long minimum() {
+        return reduce(Math::min);
+    }
+
+    public long maximum() {
+        return reduce(Math::max);
+    }
+
+    public int size() {
+        int size = 0;
+        PrimitiveIterator.OfLong iterator = iterator();
+        while (iterator.hasNext()) {
+            iterator.nextLong();
+            size = Math.incrementExact(size);
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    public long[] toArray() {
+        long[] result = new long[16];
+        int size = 0;
+        PrimitiveIterator.OfLong iterator = iterator();
+        while (iterator.hasNext()) {
+            if (size == result.length) result = Arrays.copyOf(result, size * 2);
+            result[size++] = iterator.nextLong();
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    public Sequence<Long> boxed() {
+        return mapToObject(Long::valueOf);
+    }
+
+    public Sequence<Number> asNumbers() {
+        return mapToObject(Long::valueOf);
+    }
+
+    @Override
+    public String toString() {
+        return boxed().toString();
+    }
+}
@@ -63,10 +63,14 @@ public class Numbers {
 
     public static Sequence<Number> range(final Number start, final Number end) {
         if (lessThan(end, start)) return range(start, end, 1);
+        Option<Range> range = Range.range(start, end, 1);
+        if (range.isDefined()) return range.get();
         return range(start).takeWhile(lessThanOrEqualTo(end));
     }
 
     public static Sequence<Number> range(final Number start, final Number end, final Number step) {
+        Option<Range> range = Range.range(start, end, step);
+        if (range.isDefined()) return range.get();
         Number absoluteStep = Numbers.absolute(step);
         if (lessThan(end, start)) return iterate(subtract(absoluteStep), start).takeWhile(greaterThanOrEqualTo(end));
         return iterate(add(absoluteStep), start).takeWhile(lessThanOrEqualTo(end));
@@ -0,0 +1,83 @@
+package com.googlecode.totallylazy.numbers;
+
+import com.googlecode.totallylazy.Option;
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.Splittable;
+import com.googlecode.totallylazy.iterators.ReadOnlyIterator;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.googlecode.totallylazy.Option.none;
+import static com.googlecode.totallylazy.Option.some;
+
+public final class Range extends Sequence<Number> implements Splittable<Number> {
+    private final int start;
+    private final int step;
+    private final int size;
+
+    private Range(int start, int step, int size) {
+        this.start = start;
+        this.step = step;
+        this.size = size;
+    }
+
+    static Option<Range> range(Number start, Number end, Number step) {
+        if (!(start instanceof Integer && end instanceof Integer && step instanceof Integer)) return none();
+        int absoluteStep = Math.abs(step.intValue());
+        if (absoluteStep <= 0) return none();
+        long distance = Math.abs(end.longValue() - start.longValue());
+        long size = distance / absoluteStep + 1;
+        if (size > Integer.MAX_VALUE) return none();
+        return some(new Range(start.intValue(), end.intValue() < start.intValue() ? -absoluteStep : absoluteStep, (int) size));
+    }
+
+    @Override
+    public Iterator<Number> iterator() {
+        return new ReadOnlyIterator<Number>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Number next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return value(index++);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Number get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException();
+        return value(index);
+    }
+
+    @Override
+    public Range slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        return new Range(value(fromIndex), step, toIndex - fromIndex);
+    }
+
+    public IntSequence ints() {
+        if (size == 0) return IntSequence.ints();
+        return IntSequence.range(start, value(size - 1), step);
+    }
+
+    private int value(int index) {
+        return (int) (start + (long) index * step);
+    }
+}
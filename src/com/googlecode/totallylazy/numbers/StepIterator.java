@@ -0,0 +1,46 @@
+package com.googlecode.totallylazy.numbers;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+final class StepIterator implements PrimitiveIterator.OfLong {
+    private final long step;
+    private long steps;
+    private long next;
+    private boolean finished;
+
+    private StepIterator(long start, long step, long steps) {
+        this.next = start;
+        this.step = step;
+        this.steps = steps;
+    }
+
+    static StepIterator steps(long start, long end, long step) {
+        long magnitude = step < 0 ? -step : step;
+        long distance = end < start ? start - end : end - start;
+        return new StepIterator(start, end < start ? -magnitude : magnitude, Long.divideUnsigned(distance, magnitude));
+    }
+
+    static int size(long start, long end, long step) {
+        long steps = steps(start, end, step).steps;
+        if (Long.compareUnsigned(steps, Integer.MAX_VALUE) >= 0) throw new ArithmeticException("size exceeds Integer.MAX_VALUE");
+        return (int) steps + 1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !finished;
+    }
+
+    @Override
+    public long nextLong() {
+        if (finished) throw new NoSuchElementException();
+        long result = next;
+        if (steps == 0) finished = true;
+        else {
+            steps--;
+            next += step;
+        }
+        return result;
+    }
+}
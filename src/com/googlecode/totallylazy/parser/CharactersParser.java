@@ -2,6 +2,7 @@ package com.googlecode.totallylazy.parser;
 
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.Segment;
+import com.googlecode.totallylazy.segments.CharSegment;
 
 import static com.googlecode.totallylazy.parser.Success.success;
 
@@ -22,6 +23,7 @@ public class CharactersParser extends Parser<CharSequence> {
 
     @Override
     public Result<CharSequence> parse(Segment<Character> characters) {
+        if(characters instanceof CharSegment) return parse((CharSegment) characters);
         if(characters.isEmpty()) return fail(predicate, "");
         Segment<Character> segment = characters;
         StringBuilder result = new StringBuilder();
@@ -34,4 +36,11 @@ public class CharactersParser extends Parser<CharSequence> {
         if(result.length() == 0) return fail(predicate, characters.head());
         return success(result, segment);
     }
+
+    private Result<CharSequence> parse(CharSegment characters) {
+        int count = 0;
+        while (characters.available(count) && predicate.matches(characters.charAt(count))) count++;
+        if(count == 0) return characters.isEmpty() ? fail(predicate, "") : fail(predicate, characters.head());
+        return success(characters.subSequence(0, count), characters.drop(count));
+    }
 }
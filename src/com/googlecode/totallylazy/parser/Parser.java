@@ -19,6 +19,8 @@ import static com.googlecode.totallylazy.Sequences.foldLeft;
 import static com.googlecode.totallylazy.Sequences.foldRight;
 import static com.googlecode.totallylazy.Sequences.join;
 import static com.googlecode.totallylazy.Strings.UTF8;
+import static com.googlecode.totallylazy.segments.CharacterSegment.characterSegment;
+import static com.googlecode.totallylazy.segments.ReaderSegment.readerSegment;
 
 public abstract class Parser<A> implements Parse<A> {
     protected Failure<A> fail(Object expected, Object actual) {
@@ -86,12 +88,16 @@ public abstract class Parser<A> implements Parse<A> {
         return parse(characters(value));
     }
 
+    public Result<A> parse(char[] value) {
+        return parse(characterSegment(value));
+    }
+
     public Result<A> parse(Reader value) {
-        return parse(characters(value));
+        return parse(readerSegment(value));
     }
 
     public Result<A> parse(InputStream value) {
-        return parse(characters(new InputStreamReader(value, UTF8)));
+        return parse(readerSegment(new InputStreamReader(value, UTF8)));
     }
 
     public Parser<Void> ignore() {
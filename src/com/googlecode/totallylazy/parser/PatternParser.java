@@ -3,6 +3,7 @@ package com.googlecode.totallylazy.parser;
 import com.googlecode.totallylazy.Segment;
 import com.googlecode.totallylazy.Strings;
 import com.googlecode.totallylazy.regex.Regex;
+import com.googlecode.totallylazy.segments.CharSegment;
 
 import java.util.NoSuchElementException;
 import java.util.regex.MatchResult;
@@ -36,12 +37,27 @@ class PatternParser extends Parser<String> {
 
     @Override
     public Result<String> parse(Segment<Character> characters) {
+        if (characters instanceof CharSegment) return parse((CharSegment) characters);
         CharacterSequence sequence = charSequence(characters);
         Matcher matcher = pattern.matcher(sequence);
         if (matches(matcher)) return success(matcher.group(), drop(matcher.end(), characters));
         return fail(toString(), sequence);
     }
 
+    private Result<String> parse(CharSegment characters) {
+        CharSequence sequence = characters.charSequence();
+        Matcher matcher = pattern.matcher(sequence);
+        try {
+            if (matcher.lookingAt()) return success(matcher.group(), characters.drop(matcher.end()));
+        } catch (NoSuchElementException e) {
+            // a ReaderSegment's view fixes its length from remaining() when created; the failed match has read more input, so take a fresh view
+            sequence = characters.charSequence();
+            matcher = pattern.matcher(sequence);
+            if (matches(matcher)) return success(matcher.group(), characters.drop(matcher.end()));
+        }
+        return fail(toString(), sequence);
+    }
+
     private boolean matches(Matcher matcher) {
         try {
             return matcher.lookingAt();
@@ -1,6 +1,7 @@
 package com.googlecode.totallylazy.parser;
 
 import com.googlecode.totallylazy.Segment;
+import com.googlecode.totallylazy.segments.CharSegment;
 
 import static com.googlecode.totallylazy.parser.Success.success;
 
@@ -17,6 +18,7 @@ class StringParser extends Parser<String> {
 
     @Override
     public Result<String> parse(Segment<Character> characters) {
+        if (characters instanceof CharSegment) return parse((CharSegment) characters);
         Segment<Character> segment = characters;
         StringBuilder result = new StringBuilder();
         for (int i = 0, n = expected.length(); i < n; i++) {
@@ -30,6 +32,14 @@ class StringParser extends Parser<String> {
         return success(result.toString(), segment);
     }
 
+    private Result<String> parse(CharSegment characters) {
+        for (int i = 0, n = expected.length(); i < n; i++) {
+            if (!characters.available(i)) return fail(expected, characters.subSequence(0, i).toString());
+            if (expected.charAt(i) != characters.charAt(i)) return fail(expected, characters.subSequence(0, i + 1).toString());
+        }
+        return success(expected, characters.drop(expected.length()));
+    }
+
     @Override
     public String toString() {
         return expected;
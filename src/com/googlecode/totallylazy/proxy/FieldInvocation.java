@@ -1,6 +1,7 @@
 package com.googlecode.totallylazy.proxy;
 
 import com.googlecode.totallylazy.reflection.Fields;
+import com.googlecode.totallylazy.reflection.Invokers;
 import com.googlecode.totallylazy.functions.Function1;
 import com.googlecode.totallylazy.Unchecked;
 
@@ -11,9 +12,11 @@ import static com.googlecode.totallylazy.Sequences.sequence;
 
 public class FieldInvocation<A, B> implements Function1<A, B>, Invocation<A, B> {
     private final Field field;
+    private final Function1<A, B> getter;
 
     public FieldInvocation(Field field) {
         this.field = field;
+        this.getter = Invokers.getter(field);
     }
 
     public Field field() {
@@ -27,6 +30,11 @@ public class FieldInvocation<A, B> implements Function1<A, B>, Invocation<A, B>
 
     @Override
     public B call(A instance) throws InvocationTargetException, IllegalAccessException {
-        return Unchecked.cast(Fields.get(field, instance));
+        if (instance == null || !field.getDeclaringClass().isInstance(instance)) return Unchecked.cast(Fields.get(field, instance));
+        try {
+            return getter.call(instance);
+        } catch (Exception e) {
+            throw new InvocationTargetException(e);
+        }
     }
 }
@@ -2,6 +2,7 @@ package com.googlecode.totallylazy.proxy;
 
 import com.googlecode.totallylazy.functions.Function1;
 import com.googlecode.totallylazy.Unchecked;
+import com.googlecode.totallylazy.reflection.Invokers;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -11,6 +12,7 @@ import static com.googlecode.totallylazy.Sequences.sequence;
 public class MethodInvocation<A, B> implements Function1<A, B>, Invocation<A, B> {
     private final Method method;
     private final Object[] arguments;
+    private volatile Function1<A, B> invoker;
 
     public MethodInvocation(Method method, Object[] arguments) {
         this.method = method;
@@ -32,6 +34,19 @@ public class MethodInvocation<A, B> implements Function1<A, B>, Invocation<A, B>
 
     @Override
     public B call(A instance) throws InvocationTargetException, IllegalAccessException {
-        return Unchecked.cast(method.invoke(instance, arguments));
+        if (instance == null) return Unchecked.cast(method.invoke(null, arguments));
+        try {
+            return invoker().call(instance);
+        } catch (ClassCastException | IllegalArgumentException e) {
+            if (!method.getDeclaringClass().isInstance(instance)) return Unchecked.cast(method.invoke(instance, arguments));
+            throw new InvocationTargetException(e);
+        } catch (Exception e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private Function1<A, B> invoker() {
+        Function1<A, B> current = invoker;
+        return current == null ? invoker = Invokers.invoker(method, arguments) : current;
     }
 }
@@ -31,6 +31,7 @@ import static jdk.internal.org.objectweb.asm.Opcodes.*;
 
 public class Proxy {
     public static final String HANDLER = "handler";
+    private static final String METHOD = "method";
     private static ConcurrentMap<Class<?>, Class<?>> cache = new ConcurrentHashMap<>();
 
     public static <T> T proxy(Class<T> aClass, InvocationHandler handler) {
@@ -77,11 +78,14 @@ public class Proxy {
 
         handlerField(cw);
 
-        for (Method method : sequence(superClass.getMethods()).
+        Method[] methods = sequence(superClass.getMethods()).
                 reject(m -> isFinal(m.getModifiers())).
                 reject(m -> isStatic(m.getModifiers())).
-                reject(m -> m.getName().equals("toString"))) {
-            method(cw, name, method, superName);
+                reject(m -> m.getName().equals("toString")).
+                toArray(Method.class);
+        methodFields(cw, name, methods, superName);
+        for (int i = 0; i < methods.length; i++) {
+            method(cw, name, methods[i], i);
         }
 
         cw.visitEnd();
@@ -92,7 +96,23 @@ public class Proxy {
         cw.visitField(ACC_PROTECTED, HANDLER, "Ljava/lang/reflect/InvocationHandler;", null, null).visitEnd();
     }
 
-    private static void method(ClassWriter cw, String name, Method method, String superClass) {
+    private static void methodFields(ClassWriter cw, String name, Method[] methods, String superClass) {
+        MethodVisitor mv = cw.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+        mv.visitCode();
+        for (int i = 0; i < methods.length; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_STATIC + ACC_FINAL, METHOD + i, "Ljava/lang/reflect/Method;", null, null).visitEnd();
+            mv.visitLdcInsn(superClass);
+            mv.visitLdcInsn(methods[i].getName());
+            mv.visitLdcInsn(Type.getMethodDescriptor(methods[i]));
+            mv.visitMethodInsn(INVOKESTATIC, "com/googlecode/totallylazy/reflection/Methods", "method", "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;)Ljava/lang/reflect/Method;", false);
+            mv.visitFieldInsn(PUTSTATIC, name, METHOD + i, "Ljava/lang/reflect/Method;");
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void method(ClassWriter cw, String name, Method method, int index) {
         String[] exceptions = sequence(method.getExceptionTypes()).map(Type::getInternalName).toArray(String.class);
         String methodName = method.getName();
         String methodDescriptor = Type.getMethodDescriptor(method);
@@ -102,7 +122,7 @@ public class Proxy {
 
         loadHandler(mv, name);
         loadThis(mv);
-        loadMethod(mv, superClass, methodName, methodDescriptor);
+        loadMethod(mv, name, index);
         loadArguments(mv, method);
         invokeHandler(mv);
         returnResult(mv, method);
@@ -124,11 +144,8 @@ public class Proxy {
         mv.visitFieldInsn(GETFIELD, name, HANDLER, "Ljava/lang/reflect/InvocationHandler;");
     }
 
-    private static void loadMethod(MethodVisitor mv, String superClass, String methodName, String methodDescriptor) {
-        mv.visitLdcInsn(superClass);
-        mv.visitLdcInsn(methodName);
-        mv.visitLdcInsn(methodDescriptor);
-        mv.visitMethodInsn(INVOKESTATIC, "com/googlecode/totallylazy/reflection/Methods", "method", "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;)Ljava/lang/reflect/Method;", false);
+    private static void loadMethod(MethodVisitor mv, String name, int index) {
+        mv.visitFieldInsn(GETSTATIC, name, METHOD + index, "Ljava/lang/reflect/Method;");
     }
 
     private static void loadArguments(MethodVisitor mv, Method method) {
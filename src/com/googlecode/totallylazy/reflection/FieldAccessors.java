@@ -0,0 +1,75 @@
+package com.googlecode.totallylazy.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.googlecode.totallylazy.LazyException.lazyException;
+import static java.lang.reflect.Modifier.isStatic;
+
+public final class FieldAccessors {
+    private static final ClassValue<FieldAccessors> cache = new ClassValue<FieldAccessors>() {
+        @Override
+        protected FieldAccessors computeValue(Class<?> aClass) {
+            return new FieldAccessors(Fields.nonSyntheticFields(aClass).toList());
+        }
+    };
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private final String[] names;
+    private final MethodHandle[] getters;
+    private final Map<String, Integer> indexes;
+
+    private FieldAccessors(List<Field> fields) {
+        names = new String[fields.size()];
+        getters = new MethodHandle[fields.size()];
+        indexes = new HashMap<>(fields.size() * 2);
+        for (int i = 0; i < names.length; i++) {
+            Field field = fields.get(i);
+            names[i] = field.getName();
+            getters[i] = compile(field);
+            indexes.put(names[i], i);
+        }
+    }
+
+    public static FieldAccessors accessors(Class<?> aClass) {
+        return cache.get(aClass);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public int index(Object name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    public Object get(int index, Object instance) {
+        try {
+            return getters[index].invokeExact(instance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw lazyException(e);
+        }
+    }
+
+    private static MethodHandle compile(Field field) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(Fields.access(field));
+            if (isStatic(field.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            return handle.asType(GETTER);
+        } catch (IllegalAccessException e) {
+            throw lazyException(e);
+        }
+    }
+}
@@ -48,6 +48,10 @@ public class Fields {
         return aClass -> sequence(aClass.getDeclaredFields());
     }
 
+    public static FieldAccessors accessors(Class<?> aClass) {
+        return FieldAccessors.accessors(aClass);
+    }
+
     public static Sequence<Field> syntheticFields(Class<?> aClass) {
         return sequence(aClass.getDeclaredFields()).
                 filter(where(modifiers, is(Reflection.synthetic)));
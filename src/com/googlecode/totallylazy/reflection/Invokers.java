@@ -0,0 +1,109 @@
+package com.googlecode.totallylazy.reflection;
+
+import com.googlecode.totallylazy.functions.Function1;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.googlecode.totallylazy.LazyException.lazyException;
+import static com.googlecode.totallylazy.Unchecked.cast;
+import static java.lang.reflect.Modifier.isPublic;
+import static java.lang.reflect.Modifier.isStatic;
+
+public class Invokers {
+    private static final MethodType FUNCTION = MethodType.methodType(Object.class, Object.class);
+    private static final PerClass<Method, MethodHandle> methods = new PerClass<>();
+    private static final PerClass<Method, Function1<Object, Object>> functions = new PerClass<>();
+    private static final PerClass<Field, Function1<Object, Object>> fields = new PerClass<>();
+
+    public static <A, B> Function1<A, B> invoker(Method method, Object... arguments) {
+        if (arguments == null || arguments.length == 0) return cast(functions.get(method.getDeclaringClass()).computeIfAbsent(method, Invokers::function));
+        return cast(invoker(MethodHandles.insertArguments(handle(method), 1, (Object) arguments)));
+    }
+
+    public static <A, B> Function1<A, B> getter(Field field) {
+        return cast(fields.get(field.getDeclaringClass()).computeIfAbsent(field, f -> {
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflectGetter(Fields.access(f));
+                if (isStatic(f.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                return invoker(handle.asType(FUNCTION));
+            } catch (IllegalAccessException e) {
+                throw lazyException(e);
+            }
+        }));
+    }
+
+    private static Function1<Object, Object> function(Method method) {
+        if (linkable(method)) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle handle = lookup.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(lookup, "call", MethodType.methodType(Function1.class),
+                        FUNCTION, handle, MethodType.methodType(boxed(method.getReturnType()), method.getDeclaringClass()));
+                return cast(site.getTarget().invoke());
+            } catch (Throwable ignored) {
+            }
+        }
+        return invoker(MethodHandles.insertArguments(handle(method), 1, (Object) new Object[0]));
+    }
+
+    private static Class<?> boxed(Class<?> aClass) {
+        return aClass.isPrimitive() ? Reflection.box(aClass) : aClass;
+    }
+
+    private static boolean linkable(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        return isPublic(method.getModifiers()) && !isStatic(method.getModifiers()) && isPublic(declaringClass.getModifiers()) &&
+                method.getReturnType() != void.class && visible(declaringClass) && visible(method.getReturnType());
+    }
+
+    private static boolean visible(Class<?> aClass) {
+        if (aClass.isPrimitive()) return true;
+        try {
+            return Class.forName(aClass.getName(), false, Invokers.class.getClassLoader()) == aClass;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle handle(Method method) {
+        return methods.get(method.getDeclaringClass()).computeIfAbsent(method, m -> {
+            try {
+                m.setAccessible(true);
+                int arity = m.getParameterTypes().length;
+                MethodHandle handle = MethodHandles.lookup().unreflect(m);
+                if (isStatic(m.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                return handle.asType(MethodType.genericMethodType(arity + 1)).asSpreader(Object[].class, arity);
+            } catch (IllegalAccessException e) {
+                throw lazyException(e);
+            }
+        });
+    }
+
+    private static Function1<Object, Object> invoker(final MethodHandle handle) {
+        final MethodHandle function = handle.asType(FUNCTION);
+        return instance -> {
+            try {
+                return function.invokeExact(instance);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw lazyException(e);
+            }
+        };
+    }
+
+    private static final class PerClass<K, V> extends ClassValue<ConcurrentMap<K, V>> {
+        @Override
+        protected ConcurrentMap<K, V> computeValue(Class<?> aClass) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+}
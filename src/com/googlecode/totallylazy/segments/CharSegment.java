@@ -0,0 +1,17 @@
+package com.googlecode.totallylazy.segments;
+
+import com.googlecode.totallylazy.Segment;
+
+import java.util.NoSuchElementException;
+
+public interface CharSegment extends Segment<Character> {
+    boolean available(int index);
+
+    char charAt(int index) throws NoSuchElementException;
+
+    CharSequence subSequence(int start, int end) throws NoSuchElementException;
+
+    CharSegment drop(int count);
+
+    CharSequence charSequence();
+}
@@ -2,9 +2,10 @@ package com.googlecode.totallylazy.segments;
 
 import com.googlecode.totallylazy.Segment;
 
+import java.nio.CharBuffer;
 import java.util.NoSuchElementException;
 
-public class CharacterSegment extends AbstractSegment<Character> {
+public class CharacterSegment extends AbstractSegment<Character> implements CharSegment {
     private final CharSequence charSequence;
     private final int offset;
 
@@ -17,6 +18,10 @@ public class CharacterSegment extends AbstractSegment<Character> {
         return new CharacterSegment(charSequence, 0);
     }
 
+    public static Segment<Character> characterSegment(char[] characters) {
+        return characterSegment(CharBuffer.wrap(characters));
+    }
+
     @Override
     public boolean isEmpty() {
         return charSequence.length() <= offset;
@@ -36,6 +41,56 @@ public class CharacterSegment extends AbstractSegment<Character> {
         return new CharacterSegment(charSequence, offset + 1);
     }
 
+    @Override
+    public boolean available(int index) {
+        return offset + index < charSequence.length();
+    }
+
+    @Override
+    public char charAt(int index) throws NoSuchElementException {
+        if (!available(index)) throw new NoSuchElementException();
+        return charSequence.charAt(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) throws NoSuchElementException {
+        if (end > 0 && !available(end - 1)) throw new NoSuchElementException();
+        return charSequence.subSequence(offset + start, offset + end);
+    }
+
+    @Override
+    public CharacterSegment drop(int count) {
+        return new CharacterSegment(charSequence, Math.min(offset + count, charSequence.length()));
+    }
+
+    @Override
+    public CharSequence charSequence() {
+        return new CharSequence() {
+            private int examined = 0;
+
+            @Override
+            public int length() {
+                return charSequence.length() - offset;
+            }
+
+            @Override
+            public char charAt(int index) {
+                examined = Math.max(examined, index + 1);
+                return charSequence.charAt(offset + index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return charSequence.subSequence(offset + start, offset + end);
+            }
+
+            @Override
+            public String toString() {
+                return subSequence(0, examined).toString();
+            }
+        };
+    }
+
     @Override
     public String toString() {
         return charSequence.subSequence(offset, charSequence.length()).toString();
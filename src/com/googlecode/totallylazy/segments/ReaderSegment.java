@@ -0,0 +1,219 @@
+package com.googlecode.totallylazy.segments;
+
+import com.googlecode.totallylazy.Segment;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+import static com.googlecode.totallylazy.LazyException.lazyException;
+
+public class ReaderSegment extends AbstractSegment<Character> implements CharSegment {
+    private static final int DEFAULT_BLOCK_SIZE = 8192;
+    private final Block block;
+    private final int index;
+
+    private ReaderSegment(Block block, int index) {
+        this.block = block;
+        this.index = index;
+    }
+
+    public static ReaderSegment readerSegment(Reader reader) {
+        return new ReaderSegment(new Source(reader, DEFAULT_BLOCK_SIZE, Integer.MAX_VALUE, false).first, 0);
+    }
+
+    public static ReaderSegment bufferedSegment(Reader reader, int blockSize, int lookBehind) {
+        return new ReaderSegment(new Source(reader, blockSize, lookBehind, true).first, 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !available(0);
+    }
+
+    @Override
+    public Character head() throws NoSuchElementException {
+        return charAt(0);
+    }
+
+    @Override
+    public Segment<Character> tail() throws NoSuchElementException {
+        if (isEmpty()) throw new NoSuchElementException();
+        return drop(1);
+    }
+
+    @Override
+    public boolean available(int index) {
+        Block block = this.block;
+        int position = this.index + index;
+        while (position >= block.capacity()) {
+            position -= block.capacity();
+            block = block.next();
+        }
+        return block.available(position);
+    }
+
+    @Override
+    public char charAt(int index) throws NoSuchElementException {
+        Block block = this.block;
+        int position = this.index + index;
+        while (position >= block.capacity()) {
+            position -= block.capacity();
+            block = block.next();
+        }
+        if (!block.available(position)) throw new NoSuchElementException();
+        return block.chars()[position];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) throws NoSuchElementException {
+        StringBuilder builder = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) builder.append(charAt(i));
+        return builder.toString();
+    }
+
+    @Override
+    public ReaderSegment drop(int count) {
+        Block block = this.block;
+        int position = index + count;
+        while (position >= block.capacity()) {
+            position -= block.capacity();
+            block = block.next();
+        }
+        return new ReaderSegment(block, position);
+    }
+
+    @Override
+    public CharSequence charSequence() {
+        final int length = block.source.remaining(block, index);
+        return new CharSequence() {
+            private Block cursor = block;
+            private int cursorStart = -index;
+            private int examined = 0;
+
+            @Override
+            public int length() {
+                return length;
+            }
+
+            @Override
+            public char charAt(int index) {
+                if (index < cursorStart) {
+                    cursor = block;
+                    cursorStart = -ReaderSegment.this.index;
+                }
+                while (index - cursorStart >= cursor.capacity()) {
+                    cursorStart += cursor.capacity();
+                    cursor = cursor.next();
+                }
+                if (!cursor.available(index - cursorStart)) throw new NoSuchElementException();
+                examined = Math.max(examined, index + 1);
+                return cursor.chars()[index - cursorStart];
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return ReaderSegment.this.subSequence(start, end);
+            }
+
+            @Override
+            public String toString() {
+                return ReaderSegment.this.subSequence(0, examined).toString();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return sequence().toString("");
+    }
+
+    private static class Source {
+        private final Reader reader;
+        private final int blockSize;
+        private final int lookBehind;
+        private final boolean readAhead;
+        private final Deque<Block> retained = new ArrayDeque<Block>();
+        private final Block first;
+        private long end = -1;
+
+        private Source(Reader reader, int blockSize, int lookBehind, boolean readAhead) {
+            this.reader = reader;
+            this.blockSize = blockSize;
+            this.lookBehind = lookBehind;
+            this.readAhead = readAhead;
+            this.first = block(0);
+        }
+
+        private Block block(long start) {
+            Block block = new Block(this, start, new char[blockSize]);
+            if (lookBehind == Integer.MAX_VALUE) return block;
+            retained.addLast(block);
+            while (retained.peekFirst().start + blockSize < start - lookBehind) retained.removeFirst().release();
+            return block;
+        }
+
+        private synchronized void fill(Block block, int position) {
+            try {
+                while (block.filled <= position && end < 0) {
+                    int length = readAhead ? blockSize - block.filled : position - block.filled + 1;
+                    int read = reader.read(block.chars(), block.filled, length);
+                    if (read < 0) end = block.start + block.filled;
+                    else block.filled += read;
+                }
+            } catch (IOException e) {
+                throw lazyException(e);
+            }
+        }
+
+        private synchronized int remaining(Block block, int index) {
+            if (end < 0) return Integer.MAX_VALUE;
+            return (int) Math.max(0, end - block.start - index);
+        }
+    }
+
+    private static class Block {
+        private final Source source;
+        private final long start;
+        private char[] chars;
+        private volatile int filled;
+        private Block next;
+
+        private Block(Source source, long start, char[] chars) {
+            this.source = source;
+            this.start = start;
+            this.chars = chars;
+        }
+
+        private int capacity() {
+            return source.blockSize;
+        }
+
+        private boolean available(int position) {
+            if (position < filled) return true;
+            source.fill(this, position);
+            return position < filled;
+        }
+
+        private char[] chars() {
+            char[] chars = this.chars;
+            if (chars == null) throw new IllegalStateException("Position " + start + " is outside the look-behind window");
+            return chars;
+        }
+
+        private Block next() {
+            synchronized (source) {
+                if (next != null) return next;
+                source.fill(this, capacity() - 1);
+                next = source.block(start + capacity());
+                return next;
+            }
+        }
+
+        private void release() {
+            chars = null;
+        }
+    }
+}
@@ -7,18 +7,33 @@ import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.proxy.Proxy;
 import com.googlecode.totallylazy.reflection.Methods;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import static com.googlecode.totallylazy.Maps.map;
+import static com.googlecode.totallylazy.LazyException.lazyException;
 import static com.googlecode.totallylazy.Monad.methods.sequenceO;
 import static com.googlecode.totallylazy.Sequences.sequence;
 import static com.googlecode.totallylazy.reflection.Methods.allMethods;
+import static java.lang.reflect.Modifier.isStatic;
 
 public class Structural {
+    private static final ClassValue<ConcurrentMap<Class<?>, Option<Map<Method, MethodHandle>>>> cache = new ClassValue<ConcurrentMap<Class<?>, Option<Map<Method, MethodHandle>>>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, Option<Map<Method, MethodHandle>>> computeValue(Class<?> aClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     public static boolean instanceOf(final Class<?> structuralType, final Object instance) {
-        return castOption(structuralType, instance).isDefined();
+        return extractMethods(instance, structuralType).isDefined();
     }
 
     public static <T> T cast(final Class<T> structuralType, final Object instance) {
@@ -27,14 +42,39 @@ public class Structural {
 
     public static <T> Option<T> castOption(final Class<T> structuralType, final Object instance) {
         return extractMethods(instance, structuralType).
-                map(methods -> Proxy.proxy(structuralType,
-                        (o, method, objects) -> Methods.invoke(methods.get(method), instance, objects)));
+                map(methods -> Proxy.proxy(structuralType, (o, method, objects) -> {
+                    MethodHandle handle = methods.get(method);
+                    if (handle == null) return Methods.invoke(method, instance, objects);
+                    return handle.invokeExact(instance, objects);
+                }));
+    }
+
+    private static Option<Map<Method, MethodHandle>> extractMethods(final Object instance, Class<?> structuralType) {
+        Class<?> aClass = instance.getClass();
+        return cache.get(aClass).computeIfAbsent(structuralType, type -> extractMethods(aClass, type));
     }
 
-    private static <T> Option<Map<Method, Method>> extractMethods(final Object instance, Class<T> structuralType) {
+    private static Option<Map<Method, MethodHandle>> extractMethods(final Class<?> aClass, Class<?> structuralType) {
         final Sequence<Method> requiredMethods = sequence(structuralType.getMethods());
-        final Sequence<Method> instanceMethods = allMethods(instance.getClass());
-        return  sequenceO(requiredMethods.map(findMethod(instanceMethods))).map(foundMethods -> map(requiredMethods.zip(foundMethods)));
+        final Sequence<Method> instanceMethods = allMethods(aClass).realise();
+        return sequenceO(requiredMethods.map(findMethod(instanceMethods))).map(foundMethods -> {
+            Map<Method, MethodHandle> result = new HashMap<>();
+            Iterator<Method> found = foundMethods.iterator();
+            for (Method required : requiredMethods) result.put(required, compile(found.next()));
+            return result;
+        });
+    }
+
+    private static MethodHandle compile(Method method) {
+        try {
+            method.setAccessible(true);
+            int arity = method.getParameterTypes().length;
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (isStatic(method.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            return handle.asType(MethodType.genericMethodType(arity + 1)).asSpreader(Object[].class, arity);
+        } catch (IllegalAccessException e) {
+            throw lazyException(e);
+        }
     }
 
     private static Function1<Method, Option<Method>> findMethod(final Sequence<Method> instanceMethods) {
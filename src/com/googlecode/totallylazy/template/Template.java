@@ -1,7 +1,5 @@
 package com.googlecode.totallylazy.template;
 
-import com.googlecode.totallylazy.Maps;
-import com.googlecode.totallylazy.Pair;
 import com.googlecode.totallylazy.template.ast.Anonymous;
 import com.googlecode.totallylazy.template.ast.Arguments;
 import com.googlecode.totallylazy.template.ast.Attribute;
@@ -17,24 +15,30 @@ import com.googlecode.totallylazy.template.ast.Text;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-import static com.googlecode.totallylazy.Maps.map;
-import static com.googlecode.totallylazy.Maps.mapValues;
-import static com.googlecode.totallylazy.Sequences.one;
+import static com.googlecode.totallylazy.LazyException.lazyException;
 import static com.googlecode.totallylazy.Sequences.sequence;
-import static com.googlecode.totallylazy.Strings.contains;
 import static com.googlecode.totallylazy.Strings.string;
 import static com.googlecode.totallylazy.Unchecked.cast;
 
 public class Template implements Renderer<Map<String, Object>> {
     private final List<Expression> template;
     private final Renderers parent;
+    private final Node node;
 
     private Template(List<Expression> template, Renderers parent) {
         this.template = template;
         this.parent = parent;
+        this.node = compile(template);
     }
 
     public static Template template(String template) {
@@ -52,93 +56,206 @@ public class Template implements Renderer<Map<String, Object>> {
 
     @Override
     public Appendable render(Map<String, Object> context, Appendable appendable) throws IOException {
-        return sequence(template).
-                fold(appendable, (a, node) -> append(node, context, a));
+        try {
+            return node.append(context, appendable);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw lazyException(e);
+        }
     }
 
-    Appendable append(Expression expression, Map<String, Object> context, Appendable appendable) throws Exception {
-        if(expression instanceof Text) return appendable.append(((Text) expression).value());
-        if(expression instanceof Attribute) return append((Attribute) expression, context, appendable);
-        if(expression instanceof FunctionCall) return append((FunctionCall) expression, context, appendable);
-        if(expression instanceof Indirection) return append(((Indirection) expression).value(), context, appendable);
-        if(expression instanceof Anonymous) return append((Anonymous) expression, context, appendable);
-        if(expression instanceof Mapping) return append((Mapping) expression, context, appendable);
-        throw new IllegalArgumentException("Unknown expression type: " + expression);
-    }
-
-    Appendable append(Attribute attribute, Map<String, Object> context, Appendable appendable) throws Exception {
-        return parent.render(value(attribute, context), appendable);
+    private interface Node {
+        Appendable append(Map<String, Object> context, Appendable appendable) throws Exception;
     }
 
-    Appendable append(FunctionCall functionCall, Map<String, Object> context, Appendable appendable) throws Exception {
-        return parent.get(name(functionCall.name(), context)).render(arguments(functionCall.arguments(), context), appendable);
+    private interface Evaluation {
+        Object value(Map<String, Object> context) throws Exception;
     }
 
-    Appendable append(Anonymous anonymous, Map<String, Object> context, Appendable appendable) throws Exception {
-        return new Template(anonymous.template(), parent).render(context, appendable);
+    private Node compile(List<Expression> expressions) {
+        if (expressions.size() == 1) return compile(expressions.get(0));
+        Node[] nodes = sequence(expressions).map(this::compile).toArray(Node.class);
+        return (context, appendable) -> {
+            for (Node node : nodes) node.append(context, appendable);
+            return appendable;
+        };
     }
 
-    Appendable append(Mapping mapping, Map<String, Object> context, Appendable appendable) throws Exception {
-        Anonymous anonymous = mapping.expression();
-        Object value = value(mapping.attribute(), context);
-        if(value instanceof Map) return appendPairs(anonymous, Maps.pairs(cast(value)), appendable);
-        if(value instanceof Iterable) return appendIterable(anonymous, (Iterable<?>) value, appendable);
-        return appendIterable(anonymous, one(value), appendable);
+    private Node compile(Expression expression) {
+        if(expression instanceof Text) {
+            String text = ((Text) expression).value().toString();
+            return (context, appendable) -> appendable.append(text);
+        }
+        if(expression instanceof Attribute) {
+            Evaluation attribute = evaluation((Attribute) expression);
+            return (context, appendable) -> parent.render(attribute.value(context), appendable);
+        }
+        if(expression instanceof FunctionCall) {
+            Lookup renderer = lookup(((FunctionCall) expression).name());
+            Evaluation arguments = arguments(((FunctionCall) expression).arguments());
+            return (context, appendable) -> renderer.get(context).render(arguments.value(context), appendable);
+        }
+        if(expression instanceof Indirection) return compile(((Indirection) expression).value());
+        if(expression instanceof Anonymous) return compile(((Anonymous) expression).template());
+        if(expression instanceof Mapping) return compile((Mapping) expression);
+        throw new IllegalArgumentException("Unknown expression type: " + expression);
     }
 
-    Appendable appendIterable(Anonymous anonymous, Iterable<?> values, Appendable appendable) throws Exception {
-        return appendPairs(anonymous, sequence(values).zipWithIndex(), appendable);
+    private Node compile(Mapping mapping) {
+        Evaluation attribute = evaluation(mapping.attribute());
+        String[] names = mapping.expression().paramaeterNames().toArray(new String[0]);
+        Node body = compile(mapping.expression().template());
+        return (context, appendable) -> {
+            Object value = attribute.value(context);
+            if (value instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    body.append(new Parameters(names, entry.getValue(), entry.getKey()), appendable);
+                }
+            } else if (value instanceof Iterable) {
+                int index = 0;
+                for (Object item : (Iterable<?>) value) body.append(new Parameters(names, item, index++), appendable);
+            } else {
+                body.append(new Parameters(names, value, 0), appendable);
+            }
+            return appendable;
+        };
     }
 
-    Appendable appendPairs(Anonymous anonymous, Iterable<? extends Pair<?, ?>> pairs, Appendable appendable) throws Exception {
-        return sequence(pairs).fold(appendable, (a, p) ->
-                append(anonymous,
-                        map(sequence(anonymous.paramaeterNames()).zip(sequence(p.second(), p.first()))), a));
+    private interface Lookup {
+        Renderer<Object> get(Map<String, Object> context) throws Exception;
     }
 
-    String name(Expression value, Map<String, Object> context) throws Exception {
-        if(value instanceof Name) return ((Name) value).value();
-        if(value instanceof Indirection) return string(value(((Indirection) value).value(), context));
-        throw new IllegalArgumentException("Unknown name type: " + value);
+    private Lookup lookup(Expression name) {
+        if(name instanceof Name) {
+            String value = ((Name) name).value();
+            return context -> parent.get(value);
+        }
+        if(name instanceof Indirection) {
+            Evaluation indirection = evaluation(((Indirection) name).value());
+            return context -> parent.get(string(indirection.value(context)));
+        }
+        throw new IllegalArgumentException("Unknown name type: " + name);
     }
 
-    Object value(Expression value, Map<String, Object> context) throws Exception {
-        if(value instanceof Text) return ((Text)value).value();
-        if(value instanceof Name) return context.get(name(value, context));
-        if(value instanceof Indirection) return context.get(name(value, context));
-        if(value instanceof Attribute) return value((Attribute) value, context);
-        if(value instanceof FunctionCall) return value((FunctionCall) value, context);
-        if(value instanceof Anonymous) return value((Anonymous) value, context);
+    private Evaluation evaluation(Expression value) {
+        if(value instanceof Text) {
+            CharSequence text = ((Text) value).value();
+            return context -> text;
+        }
+        if(value instanceof Name) {
+            String name = ((Name) value).value();
+            return context -> context.get(name);
+        }
+        if(value instanceof Indirection) {
+            Evaluation indirection = evaluation(((Indirection) value).value());
+            return context -> context.get(string(indirection.value(context)));
+        }
+        if(value instanceof Attribute) return evaluation((Attribute) value);
+        if(value instanceof FunctionCall) {
+            Node call = compile(value);
+            return context -> call.append(context, new StringBuilder()).toString();
+        }
+        if(value instanceof Anonymous) {
+            Node anonymous = compile(((Anonymous) value).template());
+            return context -> anonymous.append(context, new StringBuilder()).toString();
+        }
         throw new IllegalArgumentException("Unknown value type: " + value);
     }
 
-    String value(Anonymous anonymous, Map<String, Object> context) throws Exception {
-        return new Template(anonymous.template(), parent).render(context);
+    private Evaluation evaluation(Attribute attribute) {
+        List<Expression> names = attribute.value();
+        if (names.size() == 1) return evaluation(names.get(0));
+        Evaluation[] path = sequence(names).map(this::evaluation).toArray(Evaluation.class);
+        return context -> {
+            Object container = context;
+            for (Evaluation name : path) {
+                if (container == null) return null;
+                if (!(container instanceof Map)) throw new IllegalArgumentException("Unknown container type: " + container);
+                container = name.value(cast(container));
+            }
+            return container;
+        };
     }
 
-    String value(FunctionCall functionCall, Map<String, Object> context) throws Exception {
-        return parent.get(name(functionCall.name(), context)).render(arguments(functionCall.arguments(), context));
+    private Evaluation arguments(Arguments<?> arguments) {
+        if(arguments instanceof ImplicitArguments) return arguments((ImplicitArguments) arguments);
+        if(arguments instanceof NamedArguments) {
+            Map<String, Expression> named = ((NamedArguments) arguments).value();
+            String[] names = named.keySet().toArray(new String[0]);
+            Evaluation[] values = sequence(named.values()).map(this::evaluation).toArray(Evaluation.class);
+            return context -> {
+                Map<String, Object> result = new LinkedHashMap<>(names.length * 2);
+                for (int i = 0; i < names.length; i++) result.put(names[i], values[i].value(context));
+                return result;
+            };
+        }
+        throw new IllegalArgumentException("Unknown arguments type: " + arguments);
     }
 
-    Object value(Attribute attribute, Map<String, Object> context) {
-        return sequence(attribute.value()).fold(context, (Object container, Expression name) -> {
-            if (container instanceof Map) return value(name, cast(container));
-            if (container == null) return null;
-            throw new IllegalArgumentException("Unknown container type: " + container);
-        });
+    private Evaluation arguments(ImplicitArguments arguments) {
+        List<Expression> list = arguments.value();
+        if(list.isEmpty()) return context -> context;
+        if(list.size() == 1) return evaluation(list.get(0));
+        Evaluation[] values = sequence(list).map(this::evaluation).toArray(Evaluation.class);
+        return context -> {
+            List<Object> result = new ArrayList<>(values.length);
+            for (Evaluation value : values) result.add(value.value(context));
+            return result;
+        };
     }
 
-    Object arguments(Arguments<?> arguments, Map<String, Object> context) throws Exception {
-        if(arguments instanceof ImplicitArguments) return arguments((ImplicitArguments) arguments, context);
-        if(arguments instanceof NamedArguments) return mapValues(((NamedArguments) arguments).value(), n -> value(n, context));
-        throw new IllegalArgumentException("Unknown arguments type: " + arguments);
-    }
+    private static class Parameters extends AbstractMap<String, Object> {
+        private final String[] names;
+        private final Object[] values;
+        private final int size;
 
-    Object arguments(ImplicitArguments arguments, Map<String, Object> context) throws Exception {
-        List<Expression> list = arguments.value();
-        if(list.isEmpty()) return context;
-        if(list.size() == 1) return value(list.get(0), context);
-        return sequence(list).map(arg -> value(arg, context)).toList();
+        private Parameters(String[] names, Object value, Object key) {
+            this.names = names;
+            this.values = new Object[]{value, key};
+            this.size = Math.min(names.length, values.length);
+        }
+
+        @Override
+        public Object get(Object key) {
+            for (int i = 0; i < size; i++) if (names[i].equals(key)) return values[i];
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            for (int i = 0; i < size; i++) if (names[i].equals(key)) return true;
+            return false;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            int i = index++;
+                            return new SimpleImmutableEntry<>(names[i], values[i]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return Parameters.this.size;
+                }
+            };
+        }
     }
 
     @Override
@@ -3,11 +3,11 @@ package com.googlecode.totallylazy.template;
 import com.googlecode.totallylazy.functions.Function1;
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.Unchecked;
+import com.googlecode.totallylazy.UrlEncodedMessage;
 import com.googlecode.totallylazy.io.Uri;
 import com.googlecode.totallylazy.xml.Xml;
 
 import java.io.IOException;
-import java.net.URLEncoder;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.googlecode.totallylazy.predicates.Predicates.always;
@@ -16,7 +16,7 @@ import static com.googlecode.totallylazy.template.CompositeRenderer.compositeRen
 
 public class Templates implements Renderers {
     private final Renderers parent;
-    private final ConcurrentHashMap<String, CompositeRenderer> named = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Named> named = new ConcurrentHashMap<>();
     private CompositeRenderer implicit;
 
     private Templates(Renderers parent) {
@@ -34,14 +34,14 @@ public class Templates implements Renderers {
     public static Templates defaultTemplates(Renderers parent) {
         return templates(parent).
                 add("raw", Default.Instance).
-                add("html", Xml.escape()).
-                add("xml", Xml.escape()).
-                add("url", (String s) -> URLEncoder.encode(s, "UTF-8"));
+                add("html", (Renderer<Object>) Xml::escape).
+                add("xml", (Renderer<Object>) Xml::escape).
+                add("url", (Renderer<Object>) (instance, appendable) -> UrlEncodedMessage.encode(instance.toString(), appendable));
     }
 
 
     public <T> Templates add(String name, Predicate<? super T> predicate, Renderer<? super T> callable) {
-        named.compute(name, (n, old) -> (old == null ? create(n) : old).add(predicate, callable));
+        named.computeIfAbsent(name, this::create).add(predicate, callable);
         return this;
     }
 
@@ -84,7 +84,24 @@ public class Templates implements Renderers {
         return named.computeIfAbsent(name, this::create);
     }
 
-    private CompositeRenderer create(String name) {
-        return compositeRenderer(Renderer.lazy( () -> parent.get(name)));
+    private Named create(String name) {
+        return new Named(compositeRenderer(Renderer.lazy( () -> parent.get(name))));
+    }
+
+    private static class Named implements Renderer<Object> {
+        private volatile CompositeRenderer renderer;
+
+        private Named(CompositeRenderer renderer) {
+            this.renderer = renderer;
+        }
+
+        private synchronized <T> void add(Predicate<? super T> predicate, Renderer<? super T> callable) {
+            renderer = renderer.add(predicate, callable);
+        }
+
+        @Override
+        public Appendable render(Object instance, Appendable appendable) throws IOException {
+            return renderer.render(instance, appendable);
+        }
     }
 }
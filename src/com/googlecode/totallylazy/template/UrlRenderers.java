@@ -1,24 +1,29 @@
 package com.googlecode.totallylazy.template;
 
 import com.googlecode.totallylazy.LazyException;
+import com.googlecode.totallylazy.Maps;
 import com.googlecode.totallylazy.io.Uri;
 
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
 
 import static com.googlecode.totallylazy.Unchecked.cast;
 import static com.googlecode.totallylazy.io.Uri.packageUri;
 
 public class UrlRenderers implements Renderers {
+    static final int DEFAULT_CACHE_SIZE = 256;
     private final Uri baseUrl;
     private final String extension;
-    private final ConcurrentHashMap<String, Template> cache = new ConcurrentHashMap<>();
+    private final Map<String, Template> cache;
     private final Renderers parent;
 
-    UrlRenderers(Uri baseUrl, Renderers parent, String extension) {
+    UrlRenderers(Uri baseUrl, Renderers parent, String extension, int cacheSize) {
         this.baseUrl = baseUrl;
         this.parent = parent;
         this.extension = extension;
+        this.cache = Collections.synchronizedMap(Maps.<String, Template>lruMap(cacheSize));
     }
 
     static Renderers renderers(Class<?> baseUrl){
@@ -30,18 +35,26 @@ public class UrlRenderers implements Renderers {
     }
 
     static Renderers renderers(Uri baseUrl, Renderers parent, final String extension){
-        return new UrlRenderers(baseUrl, parent, extension);
+        return renderers(baseUrl, parent, extension, DEFAULT_CACHE_SIZE);
+    }
+
+    static Renderers renderers(Uri baseUrl, Renderers parent, final String extension, int cacheSize){
+        return new UrlRenderers(baseUrl, parent, extension, cacheSize);
     }
 
     @Override
     public Renderer<Object> get(String name) {
-        return cast(cache.computeIfAbsent(name, (n) -> {
-            try {
-                return Template.template(baseUrl.mergePath(name + "." + extension).toURL().openStream(), this);
-            } catch (IOException e) {
-                throw LazyException.lazyException(e);
-            }
-        }));
+        Uri uri = baseUrl.mergePath(name + "." + extension);
+        String key = uri.toString();
+        Template template = cache.get(key);
+        if (template != null) return cast(template);
+        try (InputStream stream = uri.toURL().openStream()) {
+            template = Template.template(stream, this);
+        } catch (IOException e) {
+            throw LazyException.lazyException(e);
+        }
+        cache.put(key, template);
+        return cast(template);
     }
 
     @Override
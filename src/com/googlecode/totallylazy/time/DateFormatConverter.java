@@ -4,9 +4,9 @@ import com.googlecode.totallylazy.functions.Function1;
 import com.googlecode.totallylazy.Sequence;
 
 import java.text.DateFormat;
+import java.text.ParsePosition;
 import java.util.Date;
 
-import static com.googlecode.totallylazy.functions.Callables.callThrows;
 import static com.googlecode.totallylazy.Sequences.sequence;
 
 public class DateFormatConverter implements DateConverter {
@@ -40,12 +40,24 @@ public class DateFormatConverter implements DateConverter {
     }
 
     public String format(final Date value) {
-        return formats.head().format(value);
+        DateFormat format = formats.head();
+        synchronized (format) {
+            return format.format(value);
+        }
     }
 
     public Date parse(final String value) {
-        return formats.tryPick(parseToDate(value).optional()).
-                getOrElse(callThrows(new IllegalArgumentException("Invalid date string: " + value), Date.class));
+        for (DateFormat format : formats) {
+            Date result = parse(format, value);
+            if (result != null) return result;
+        }
+        throw new IllegalArgumentException("Invalid date string: " + value);
+    }
+
+    private static Date parse(DateFormat format, String value) {
+        synchronized (format) {
+            return format.parse(value, new ParsePosition(0));
+        }
     }
 
     public static Function1<DateFormat, Date> parseToDate(final String value) {
@@ -0,0 +1,27 @@
+package com.googlecode.totallylazy.time;
+
+import com.googlecode.totallylazy.Option;
+
+import java.util.Date;
+
+public interface DateFormatter extends DateConverter {
+    <A extends Appendable> A format(Date value, A appendable);
+
+    boolean matches(CharSequence value, int start, int end);
+
+    Option<Date> tryParse(CharSequence value, int start, int end);
+
+    default Date parse(CharSequence value, int start, int end) {
+        return tryParse(value, start, end).getOrThrow(new IllegalArgumentException("Invalid date string: " + value.subSequence(start, end)));
+    }
+
+    @Override
+    default String format(Date value) {
+        return format(value, new StringBuilder(32)).toString();
+    }
+
+    @Override
+    default Date parse(String value) {
+        return parse(value, 0, value.length());
+    }
+}
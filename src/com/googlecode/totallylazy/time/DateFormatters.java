@@ -0,0 +1,351 @@
+package com.googlecode.totallylazy.time;
+
+import com.googlecode.totallylazy.Option;
+
+import java.io.IOException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.googlecode.totallylazy.LazyException.lazyException;
+import static com.googlecode.totallylazy.Option.none;
+import static com.googlecode.totallylazy.Option.some;
+
+public class DateFormatters {
+    private static final long MILLISECONDS_PER_DAY = 86400000L;
+    private static final long EARLIEST = days(1600, 1, 1) * MILLISECONDS_PER_DAY;
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    public static final DateFormatter RFC3339 = new Rfc3339(Dates.RFC3339, true, false);
+    public static final DateFormatter RFC3339_WITH_MILLISECONDS = new Rfc3339(Dates.RFC3339_WITH_MILLISECONDS, true, true);
+    public static final DateFormatter RFC3339_WITHOUT_TIME = new Rfc3339(Dates.RFC3339_WITHOUT_TIME, false, false);
+    public static final DateFormatter LEXICAL = new Lexical();
+    public static final DateFormatter APACHE = new Apache();
+
+    private static final ConcurrentMap<String, DateFormatter> formatters = new ConcurrentHashMap<String, DateFormatter>();
+
+    static {
+        for (DateFormatter formatter : new DateFormatter[]{RFC3339, RFC3339_WITH_MILLISECONDS, RFC3339_WITHOUT_TIME, LEXICAL, APACHE}) {
+            formatters.put(((Pattern) formatter).pattern, formatter);
+        }
+    }
+
+    private static final DateConverter defaultConverter = converter(RFC3339_WITH_MILLISECONDS, RFC3339, RFC3339_WITHOUT_TIME,
+            formatter(Dates.RFC822), formatter(Dates.JAVA_UTIL_DATE_TO_STRING), LEXICAL, APACHE);
+
+    public static DateFormatter formatter(String pattern) {
+        DateFormatter formatter = formatters.get(pattern);
+        if (formatter != null) return formatter;
+        formatter = new Pattern(pattern);
+        DateFormatter existing = formatters.putIfAbsent(pattern, formatter);
+        return existing == null ? formatter : existing;
+    }
+
+    public static DateConverter defaultConverter() {
+        return defaultConverter;
+    }
+
+    public static DateConverter converter(final DateFormatter... formatters) {
+        if (formatters.length == 0) throw new IllegalArgumentException("No format specified");
+        return new DateConverter() {
+            @Override
+            public String format(Date value) {
+                return formatters[0].format(value);
+            }
+
+            @Override
+            public Date parse(String value) {
+                int length = value.length();
+                for (DateFormatter formatter : formatters) {
+                    if (!formatter.matches(value, 0, length)) continue;
+                    Option<Date> result = formatter.tryParse(value, 0, length);
+                    if (!result.isEmpty()) return result.get();
+                }
+                for (DateFormatter formatter : formatters) {
+                    if (formatter.matches(value, 0, length)) continue;
+                    Option<Date> result = formatter.tryParse(value, 0, length);
+                    if (!result.isEmpty()) return result.get();
+                }
+                throw new IllegalArgumentException("Invalid date string: " + value);
+            }
+        };
+    }
+
+    private static class Pattern implements DateFormatter {
+        private final String pattern;
+        private final ThreadLocal<SimpleDateFormat> format;
+
+        private Pattern(final String pattern) {
+            this.pattern = pattern;
+            this.format = ThreadLocal.withInitial(() -> Dates.format(pattern));
+        }
+
+        @Override
+        public <A extends Appendable> A format(Date value, A appendable) {
+            try {
+                appendable.append(format.get().format(value));
+                return appendable;
+            } catch (IOException e) {
+                throw lazyException(e);
+            }
+        }
+
+        @Override
+        public boolean matches(CharSequence value, int start, int end) {
+            return false;
+        }
+
+        @Override
+        public Option<Date> tryParse(CharSequence value, int start, int end) {
+            ParsePosition position = new ParsePosition(0);
+            Date result = format.get().parse(value.subSequence(start, end).toString(), position);
+            return result == null ? none(Date.class) : some(result);
+        }
+
+        @Override
+        public String toString() {
+            return pattern;
+        }
+    }
+
+    private static abstract class Fast extends Pattern {
+        private Fast(String pattern) {
+            super(pattern);
+        }
+
+        @Override
+        public <A extends Appendable> A format(Date value, A appendable) {
+            long time = value.getTime();
+            long days = Math.floorDiv(time, MILLISECONDS_PER_DAY);
+            int year = year(civil(days));
+            if (year < 1600 || year > 9999) return super.format(value, appendable);
+            try {
+                format(days, (int) Math.floorMod(time, MILLISECONDS_PER_DAY), appendable);
+                return appendable;
+            } catch (IOException e) {
+                throw lazyException(e);
+            }
+        }
+
+        @Override
+        public Option<Date> tryParse(CharSequence value, int start, int end) {
+            if (!matches(value, start, end)) return super.tryParse(value, start, end);
+            long time = parse(value, start);
+            if (time == Long.MIN_VALUE) return none(Date.class);
+            if (time < EARLIEST) return super.tryParse(value, start, end);
+            return some(new Date(time));
+        }
+
+        protected abstract void format(long days, int milliseconds, Appendable appendable) throws IOException;
+
+        protected abstract long parse(CharSequence value, int start);
+    }
+
+    private static class Rfc3339 extends Fast {
+        private final boolean time;
+        private final boolean milliseconds;
+        private final int length;
+
+        private Rfc3339(String pattern, boolean time, boolean milliseconds) {
+            super(pattern);
+            this.time = time;
+            this.milliseconds = milliseconds;
+            this.length = !time ? 10 : milliseconds ? 24 : 20;
+        }
+
+        @Override
+        protected void format(long days, int milliseconds, Appendable appendable) throws IOException {
+            date(days, appendable, '-');
+            if (!time) return;
+            appendable.append('T');
+            time(milliseconds, appendable);
+            if (this.milliseconds) digits(appendable.append('.'), milliseconds % 1000, 3);
+            appendable.append('Z');
+        }
+
+        @Override
+        public boolean matches(CharSequence value, int start, int end) {
+            if (end - start != length) return false;
+            if (!digits(value, start, 4) || value.charAt(start + 4) != '-' || !digits(value, start + 5, 2) ||
+                    value.charAt(start + 7) != '-' || !digits(value, start + 8, 2)) return false;
+            if (!time) return true;
+            if (value.charAt(start + 10) != 'T' || !time(value, start + 11)) return false;
+            if (milliseconds && (value.charAt(start + 19) != '.' || !digits(value, start + 20, 3))) return false;
+            return value.charAt(end - 1) == 'Z';
+        }
+
+        @Override
+        protected long parse(CharSequence value, int start) {
+            return epoch(number(value, start, 4), number(value, start + 5, 2), number(value, start + 8, 2),
+                    time ? number(value, start + 11, 2) : 0,
+                    time ? number(value, start + 14, 2) : 0,
+                    time ? number(value, start + 17, 2) : 0,
+                    milliseconds ? number(value, start + 20, 3) : 0);
+        }
+    }
+
+    private static class Lexical extends Fast {
+        private Lexical() {
+            super(Dates.LEXICAL);
+        }
+
+        @Override
+        protected void format(long days, int milliseconds, Appendable appendable) throws IOException {
+            date(days, appendable, (char) 0);
+            int seconds = milliseconds / 1000;
+            digits(appendable, seconds / 3600, 2);
+            digits(appendable, seconds / 60 % 60, 2);
+            digits(appendable, seconds % 60, 2);
+            digits(appendable, milliseconds % 1000, 3);
+        }
+
+        @Override
+        public boolean matches(CharSequence value, int start, int end) {
+            return end - start == 17 && digits(value, start, 17);
+        }
+
+        @Override
+        protected long parse(CharSequence value, int start) {
+            return epoch(number(value, start, 4), number(value, start + 4, 2), number(value, start + 6, 2),
+                    number(value, start + 8, 2), number(value, start + 10, 2), number(value, start + 12, 2), number(value, start + 14, 3));
+        }
+    }
+
+    private static class Apache extends Fast {
+        private static final int MAXIMUM_POSITIVE_OFFSET = 14 * 60;
+        private static final int MAXIMUM_NEGATIVE_OFFSET = 13 * 60;
+
+        private Apache() {
+            super(Dates.APACHE);
+        }
+
+        @Override
+        protected void format(long days, int milliseconds, Appendable appendable) throws IOException {
+            long civil = civil(days);
+            digits(appendable, day(civil), 2);
+            appendable.append('/').append(MONTHS[month(civil) - 1]).append('/');
+            digits(appendable, year(civil), 4);
+            appendable.append(':');
+            time(milliseconds, appendable);
+            appendable.append(" +0000");
+        }
+
+        @Override
+        public boolean matches(CharSequence value, int start, int end) {
+            if (end - start != 26) return false;
+            char sign = value.charAt(start + 21);
+            return digits(value, start, 2) && value.charAt(start + 2) == '/' && monthName(value, start + 3) > 0 &&
+                    value.charAt(start + 6) == '/' && digits(value, start + 7, 4) && value.charAt(start + 11) == ':' &&
+                    time(value, start + 12) && value.charAt(start + 20) == ' ' && (sign == '+' || sign == '-') && digits(value, start + 22, 4);
+        }
+
+        @Override
+        protected long parse(CharSequence value, int start) {
+            long time = epoch(number(value, start + 7, 4), monthName(value, start + 3), number(value, start, 2),
+                    number(value, start + 12, 2), number(value, start + 15, 2), number(value, start + 18, 2), 0);
+            boolean negative = value.charAt(start + 21) == '-';
+            int minutes = number(value, start + 24, 2);
+            int offset = number(value, start + 22, 2) * 60 + minutes;
+            if (time == Long.MIN_VALUE || minutes > 59 || offset > (negative ? MAXIMUM_NEGATIVE_OFFSET : MAXIMUM_POSITIVE_OFFSET)) return Long.MIN_VALUE;
+            return negative ? time + offset * 60000L : time - offset * 60000L;
+        }
+
+        private static int monthName(CharSequence value, int start) {
+            for (int i = 0; i < MONTHS.length; i++) {
+                String month = MONTHS[i];
+                if (Character.toLowerCase(value.charAt(start)) == Character.toLowerCase(month.charAt(0)) &&
+                        Character.toLowerCase(value.charAt(start + 1)) == month.charAt(1) &&
+                        Character.toLowerCase(value.charAt(start + 2)) == month.charAt(2)) return i + 1;
+            }
+            return 0;
+        }
+    }
+
+    private static void date(long days, Appendable appendable, char separator) throws IOException {
+        long civil = civil(days);
+        digits(appendable, year(civil), 4);
+        if (separator != 0) appendable.append(separator);
+        digits(appendable, month(civil), 2);
+        if (separator != 0) appendable.append(separator);
+        digits(appendable, day(civil), 2);
+    }
+
+    private static void time(int milliseconds, Appendable appendable) throws IOException {
+        int seconds = milliseconds / 1000;
+        digits(appendable, seconds / 3600, 2);
+        digits(appendable.append(':'), seconds / 60 % 60, 2);
+        digits(appendable.append(':'), seconds % 60, 2);
+    }
+
+    private static boolean time(CharSequence value, int start) {
+        return digits(value, start, 2) && value.charAt(start + 2) == ':' && digits(value, start + 3, 2) &&
+                value.charAt(start + 5) == ':' && digits(value, start + 6, 2);
+    }
+
+    private static void digits(Appendable appendable, int value, int width) throws IOException {
+        for (int divisor = width == 4 ? 1000 : width == 3 ? 100 : 10; divisor > 0; divisor /= 10) {
+            appendable.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static boolean digits(CharSequence value, int start, int count) {
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    private static int number(CharSequence value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) result = result * 10 + (value.charAt(i) - '0');
+        return result;
+    }
+
+    private static long epoch(int year, int month, int day, int hour, int minute, int second, int millisecond) {
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) ||
+                hour > 23 || minute > 59 || second > 59) return Long.MIN_VALUE;
+        return ((days(year, month, day) * 24 + hour) * 60 + minute) * 60000L + second * 1000L + millisecond;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private static long days(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static long civil(long days) {
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (year << 9) | (month << 5) | day;
+    }
+
+    private static int year(long civil) {
+        return (int) (civil >> 9);
+    }
+
+    private static int month(long civil) {
+        return (int) (civil >> 5) & 0xF;
+    }
+
+    private static int day(long civil) {
+        return (int) civil & 0x1F;
+    }
+}
@@ -51,6 +51,10 @@ public class Dates {
         return simpleDateFormat;
     }
 
+    public static DateFormatter formatter(final String pattern) {
+        return DateFormatters.formatter(pattern);
+    }
+
     public static Function1<Date, String> format(final DateFormat format) {
         return value -> format.format(value);
     }
@@ -129,7 +133,7 @@ public class Dates {
     }
 
     public static Date date(String value) {
-        return DateFormatConverter.defaultConverter().parse(value);
+        return DateFormatters.defaultConverter().parse(value);
     }
 
     public static Date date(long value) {
@@ -335,12 +335,16 @@ public class Xml {
                 escape(value);
     }
 
+    public static <A extends Appendable> A escape(Object value, A appendable) {
+        return DEFAULT_ESCAPER.escape(value, appendable);
+    }
+
     public static Function1<Object, String> escape() {
         return Xml::escape;
     }
 
     public static Function1<Character, String> toXmlEntity() {
-        return character -> String.format("&#%s;", Integer.toString(character, 10));
+        return character -> "&#" + (int) character + ";";
     }
 
     public static class functions {
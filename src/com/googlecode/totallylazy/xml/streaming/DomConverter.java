@@ -2,22 +2,59 @@ package com.googlecode.totallylazy.xml.streaming;
 
 import com.googlecode.totallylazy.Pair;
 import com.googlecode.totallylazy.Sequence;
-import com.googlecode.totallylazy.xml.Xml;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
+import static com.googlecode.totallylazy.LazyException.lazyException;
 import static com.googlecode.totallylazy.xml.streaming.XPath.node;
 import static com.googlecode.totallylazy.xml.streaming.XPath.xpath;
 
 public class DomConverter {
+    private static final ThreadLocal<DocumentBuilder> builders = ThreadLocal.withInitial(() -> {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw lazyException(e);
+        }
+    });
+
     public static Node convert(Context context) throws Exception {
         return children(copyAttributes(context, element(context.name())), context.relative());
     }
 
+    public static Node convert(XMLStreamReader reader) throws XMLStreamException {
+        Document document = builders.get().newDocument();
+        if (ReaderNode.isText(reader.getEventType())) return document.createTextNode(reader.getText());
+        Node root = document.appendChild(start(document, reader));
+        Node current = root;
+        while (current != null && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) current = current.appendChild(start(document, reader));
+            else if (event == XMLStreamConstants.END_ELEMENT) current = current == root ? null : current.getParentNode();
+            else if (ReaderNode.isText(event)) current.appendChild(document.createTextNode(reader.getText()));
+        }
+        return root;
+    }
+
+    private static Element start(Document document, XMLStreamReader reader) {
+        Element element = document.createElement(reader.getLocalName());
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
     static Element element(String name) {
-        return Xml.document("<" + name + "/>").getDocumentElement();
+        Document document = builders.get().newDocument();
+        return (Element) document.appendChild(document.createElement(name));
     }
 
     static Node children(Node parent, Sequence<Context> contexts) throws XMLStreamException {
@@ -0,0 +1,43 @@
+package com.googlecode.totallylazy.xml.streaming;
+
+import com.googlecode.totallylazy.functions.Function1;
+import com.googlecode.totallylazy.iterators.StatefulIterator;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+class MatchIterator<T> extends StatefulIterator<T> {
+    private final XMLStreamReader reader;
+    private final StreamingXPath.Matcher matcher;
+    private final Function1<? super XMLStreamReader, ? extends T> extractor;
+    private final ReaderNode node;
+
+    MatchIterator(XMLStreamReader reader, StreamingXPath xpath, Function1<? super XMLStreamReader, ? extends T> extractor) {
+        this.reader = reader;
+        this.matcher = xpath.matcher();
+        this.extractor = extractor;
+        this.node = new ReaderNode(reader);
+    }
+
+    @Override
+    protected T getNext() throws Exception {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                long states = matcher.enter(node);
+                matcher.push(states);
+                if (matcher.matches(states)) {
+                    T result = extractor.call(reader);
+                    if (reader.getEventType() == XMLStreamConstants.END_ELEMENT) matcher.pop();
+                    return result;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                matcher.pop();
+            } else if (ReaderNode.isText(event)) {
+                if (matcher.matches(matcher.enter(node))) return extractor.call(reader);
+            }
+        }
+        reader.close();
+        return finished();
+    }
+}
@@ -0,0 +1,63 @@
+package com.googlecode.totallylazy.xml.streaming;
+
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.collections.PersistentMap;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.googlecode.totallylazy.collections.PersistentMap.constructors.emptyMap;
+import static com.googlecode.totallylazy.collections.PersistentMap.constructors.map;
+
+class ReaderNode implements Node {
+    private final XMLStreamReader reader;
+
+    ReaderNode(XMLStreamReader reader) {
+        this.reader = reader;
+    }
+
+    static boolean isText(int event) {
+        return event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE;
+    }
+
+    static PersistentMap<String, String> attributes(XMLStreamReader reader) {
+        int count = reader.getAttributeCount();
+        List<Pair<String, String>> attributes = new ArrayList<Pair<String, String>>(count);
+        for (int i = 0; i < count; i++) {
+            attributes.add(Pair.pair(reader.getAttributeLocalName(i), reader.getAttributeValue(i)));
+        }
+        return map(attributes);
+    }
+
+    @Override
+    public String name() {
+        return isElement() ? reader.getLocalName() : null;
+    }
+
+    @Override
+    public String text() {
+        return isText() ? reader.getText() : null;
+    }
+
+    @Override
+    public PersistentMap<String, String> attributes() {
+        return isElement() ? attributes(reader) : emptyMap();
+    }
+
+    @Override
+    public boolean isText() {
+        return isText(reader.getEventType());
+    }
+
+    @Override
+    public boolean isElement() {
+        return reader.getEventType() == XMLStreamConstants.START_ELEMENT;
+    }
+
+    @Override
+    public String toString() {
+        return isElement() ? String.format("<%s>", name()) : text();
+    }
+}
@@ -0,0 +1,93 @@
+package com.googlecode.totallylazy.xml.streaming;
+
+import com.googlecode.totallylazy.predicates.Predicate;
+
+import static java.util.Arrays.copyOf;
+
+public class StreamingXPath {
+    private static final int MAXIMUM_STEPS = 63;
+    private final boolean[] descendants;
+    private final Predicate<? super Node>[] predicates;
+
+    private StreamingXPath(boolean[] descendants, Predicate<? super Node>[] predicates) {
+        this.descendants = descendants;
+        this.predicates = predicates;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static StreamingXPath streamingXPath() {
+        return new StreamingXPath(new boolean[0], new Predicate[0]);
+    }
+
+    public static StreamingXPath descendantOf(String name) {
+        return streamingXPath().descendant(name);
+    }
+
+    public static StreamingXPath childOf(String name) {
+        return streamingXPath().child(name);
+    }
+
+    public StreamingXPath descendant(String name) {
+        return descendant(XPath.name(name));
+    }
+
+    public StreamingXPath descendant(Predicate<? super Node> predicate) {
+        return step(true, predicate);
+    }
+
+    public StreamingXPath child(String name) {
+        return child(XPath.name(name));
+    }
+
+    public StreamingXPath child(Predicate<? super Node> predicate) {
+        return step(false, predicate);
+    }
+
+    private StreamingXPath step(boolean descendant, Predicate<? super Node> predicate) {
+        int length = predicates.length;
+        if (length == MAXIMUM_STEPS) throw new IllegalArgumentException("A streaming xpath supports at most " + MAXIMUM_STEPS + " steps");
+        boolean[] newDescendants = copyOf(descendants, length + 1);
+        Predicate<? super Node>[] newPredicates = copyOf(predicates, length + 1);
+        newDescendants[length] = descendant;
+        newPredicates[length] = predicate;
+        return new StreamingXPath(newDescendants, newPredicates);
+    }
+
+    Matcher matcher() {
+        return new Matcher();
+    }
+
+    final class Matcher {
+        private final long complete = 1L << predicates.length;
+        private long[] stack = new long[16];
+        private int depth = 0;
+
+        private Matcher() {
+            stack[0] = 1L;
+        }
+
+        long enter(Node node) {
+            long parent = stack[depth];
+            long states = 0;
+            for (long remaining = parent & (complete - 1); remaining != 0; remaining &= remaining - 1) {
+                int step = Long.numberOfTrailingZeros(remaining);
+                if (descendants[step]) states |= 1L << step;
+                if (predicates[step].matches(node)) states |= 1L << (step + 1);
+            }
+            return states;
+        }
+
+        boolean matches(long states) {
+            return (states & complete) != 0;
+        }
+
+        void push(long states) {
+            if (++depth == stack.length) stack = copyOf(stack, depth * 2);
+            stack[depth] = states;
+        }
+
+        void pop() {
+            if (depth > 0) depth--;
+        }
+    }
+}
@@ -2,14 +2,17 @@ package com.googlecode.totallylazy.xml.streaming;
 
 import com.googlecode.totallylazy.Computation;
 import com.googlecode.totallylazy.LazyException;
+import com.googlecode.totallylazy.functions.Function1;
 import com.googlecode.totallylazy.predicates.Predicate;
 import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.Sequences;
 import com.googlecode.totallylazy.Unchecked;
 import org.w3c.dom.Node;
 
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.XMLEvent;
 import java.io.Reader;
 import java.io.StringReader;
@@ -21,16 +24,28 @@ import static com.googlecode.totallylazy.xml.streaming.XPath.name;
 import static com.googlecode.totallylazy.xml.streaming.XPath.xpath;
 
 public class Xml {
+    private static XMLInputFactory xmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.IS_VALIDATING, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true); // so we can ignore them!
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        return factory;
+    }
+
     private static XMLEventReader xmlEventReader(Reader reader) {
         try {
-            XMLInputFactory factory = XMLInputFactory.newInstance();
-            factory.setProperty(XMLInputFactory.IS_COALESCING, true);
-            factory.setProperty(XMLInputFactory.IS_VALIDATING, false);
-            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true); // so we can ignore them!
-            factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
-            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-            return factory.createXMLEventReader(reader);
+            return xmlInputFactory().createXMLEventReader(reader);
+        } catch (XMLStreamException e) {
+            throw lazyException(e);
+        }
+    }
+
+    private static XMLStreamReader xmlStreamReader(Reader reader) {
+        try {
+            return xmlInputFactory().createXMLStreamReader(reader);
         } catch (XMLStreamException e) {
             throw lazyException(e);
         }
@@ -40,6 +55,22 @@ public class Xml {
         return nodes(reader, xpath(descendant(name(localName))));
     }
 
+    /**
+     * Builds a DOM fragment for each match. Building a fragment consumes the matched subtree, so matches nested
+     * inside an earlier match are not reported; use {@link #elements} or the Context based methods to see them.
+     */
+    public static Sequence<Node> nodes(Reader reader, StreamingXPath xpath) {
+        return matches(reader, xpath, DomConverter::convert);
+    }
+
+    public static Sequence<Element> elements(Reader reader, StreamingXPath xpath) {
+        return matches(reader, xpath, xmlStreamReader -> Element.element(xmlStreamReader.getLocalName(), ReaderNode.attributes(xmlStreamReader)));
+    }
+
+    public static <T> Sequence<T> matches(Reader reader, StreamingXPath xpath, Function1<? super XMLStreamReader, ? extends T> extractor) {
+        return Sequences.memorise(new MatchIterator<T>(xmlStreamReader(reader), xpath, extractor));
+    }
+
     public static Sequence<Node> nodes(Reader reader, Predicate<Context> predicate) {
         return contexts(reader).filter(predicate).map(DomConverter::convert);
     }
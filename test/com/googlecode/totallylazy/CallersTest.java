@@ -3,7 +3,10 @@ package com.googlecode.totallylazy;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 
 import static com.googlecode.totallylazy.Callers.callConcurrently;
 import static java.lang.Thread.currentThread;
@@ -16,4 +19,13 @@ public class CallersTest {
     public void callConcurrentlyIgnoresAnEmptyIterator() throws Exception {
         callConcurrently(new ArrayList<Callable<Object>>());
     }
+
+    @Test
+    public void runsEveryCallableOnItsOwnThreadSoTheyCanCoordinate() throws Exception {
+        int parties = Runtime.getRuntime().availableProcessors() * 8 + 2;
+        CyclicBarrier barrier = new CyclicBarrier(parties);
+        List<Callable<Integer>> callables = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < parties; i++) callables.add(() -> barrier.await(10, TimeUnit.SECONDS));
+        assertThat(callConcurrently(callables).size(), is(parties));
+    }
 }
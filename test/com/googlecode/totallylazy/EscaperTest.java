@@ -0,0 +1,46 @@
+package com.googlecode.totallylazy;
+
+import com.googlecode.totallylazy.xml.Xml;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import static com.googlecode.totallylazy.predicates.Predicates.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class EscaperTest {
+    @Test
+    public void returnsTheOriginalStringWhenNothingNeedsEscaping() throws Exception {
+        String value = "nothing to see here";
+        assertThat(Xml.escape(value), sameInstance(value));
+    }
+
+    @Test
+    public void escapesIntoAnAppendable() throws Exception {
+        assertThat(Xml.escape("a < b & \"c\"", new StringBuilder("> ")).toString(), Matchers.is("> a &lt; b &amp; &quot;c&quot;"));
+        assertThat(Xml.escape("caf\u00e9", new StringBuilder()).toString(), Matchers.is("caf&#233;"));
+    }
+
+    @Test
+    public void escapesCharacterArrays() throws Exception {
+        char[] characters = "x<y>z".toCharArray();
+        assertThat(Xml.DEFAULT_ESCAPER.escape(characters, 1, 4, new StringBuilder()).toString(), Matchers.is("&lt;y&gt;"));
+    }
+
+    @Test
+    public void laterRulesTakePrecedence() throws Exception {
+        Escaper escaper = new Escaper().
+                withRule('a', "1").
+                withRule(is('a'), character -> "2").
+                withRule('\u4e16', "world");
+        assertThat(escaper.escape("ab\u4e16"), Matchers.is("2bworld"));
+        escaper.withRule('a', "3");
+        assertThat(escaper.escape("ab"), Matchers.is("3b"));
+    }
+
+    @Test
+    public void encodesHtmlEntities() throws Exception {
+        assertThat(HtmlEncodedMessage.encode("<p>caf\u00e9 \u2665</p>"), Matchers.is("&lt;p&gt;caf&eacute; &hearts;&lt;/p&gt;"));
+        assertThat(HtmlEncodedMessage.decode("&lt;p&gt;caf&eacute; &hearts;&lt;/p&gt;"), Matchers.is("<p>caf\u00e9 \u2665</p>"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.googlecode.totallylazy;
+
+import com.googlecode.totallylazy.io.Serialiser;
+import com.googlecode.totallylazy.numbers.Numbers;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.googlecode.totallylazy.Files.emptyTemporaryDirectory;
+import static com.googlecode.totallylazy.Sequences.mergeSorted;
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.Sequences.sortBy;
+import static com.googlecode.totallylazy.matchers.IterableMatcher.hasExactly;
+import static com.googlecode.totallylazy.matchers.IterableMatcher.isEmpty;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ExternalSortTest {
+    private final File directory = emptyTemporaryDirectory("ExternalSortTest");
+
+    @Test
+    public void sortsInMemoryWhenEverythingFitsInOneRun() throws Exception {
+        assertThat(sequence("c", "a", "b").sortBy(Comparator.<String>naturalOrder(), Serialiser.strings(), 10), hasExactly("a", "b", "c"));
+    }
+
+    @Test
+    public void spillsRunsToDiskAndMergesThemBack() throws Exception {
+        Sequence<Long> values = Numbers.range(1, 10000).map(n -> (n.longValue() * 7919) % 10007);
+        Sequence<Long> sorted = sortBy(values, Comparator.<Long>naturalOrder(), Serialiser.longs(), 100, directory);
+        assertThat(sorted.toList(), is(values.toSortedList(Comparator.<Long>naturalOrder())));
+        assertThat(sequence(directory.listFiles()), isEmpty());
+    }
+
+    @Test
+    public void mergesInSeveralPassesWhenThereAreManyRuns() throws Exception {
+        Sequence<String> values = Numbers.range(1, 1000).map(n -> String.valueOf((n.intValue() * 31) % 1000));
+        Sequence<String> sorted = sortBy(values, Comparator.<String>naturalOrder(), Serialiser.strings(), 3, directory);
+        assertThat(sorted.toList(), is(values.toSortedList(Comparator.<String>naturalOrder())));
+        assertThat(sequence(directory.listFiles()), isEmpty());
+    }
+
+    @Test
+    public void leavesNoRunFilesBehindWhenOnlyAPrefixIsConsumed() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        Sequence<Long> values = Numbers.range(1, 10000).map(n -> {
+            reads.incrementAndGet();
+            return (n.longValue() * 7919) % 10007;
+        });
+        Sequence<Long> sorted = sortBy(values, Comparator.<Long>naturalOrder(), Serialiser.longs(), 100, directory);
+        List<Long> expected = values.toSortedList(Comparator.<Long>naturalOrder());
+        assertThat(sorted.head(), is(expected.get(0)));
+        assertThat(sorted.take(5).toList(), is(expected.subList(0, 5)));
+        assertThat(sorted.contains(42L), is(true));
+        assertThat(sequence(directory.listFiles()), isEmpty());
+        assertThat(reads.get(), is(20000));
+    }
+
+    @Test
+    public void releasesRunsOnceEveryIteratorIsExhaustedOrTheSequenceIsClosed() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        Sequence<Long> values = Numbers.range(1, 1000).map(n -> (n.longValue() * 7919) % 10007);
+        List<Long> expected = values.toSortedList(Comparator.<Long>naturalOrder());
+        Sequence<Long> sorted = sortBy(values.map(n -> {
+            reads.incrementAndGet();
+            return n;
+        }), Comparator.<Long>naturalOrder(), Serialiser.longs(), 100, directory);
+
+        Iterator<Long> unfinished = sorted.iterator();
+        assertThat(unfinished.next(), is(expected.get(0)));
+        assertThat(sorted.toList(), is(expected));
+        assertThat(reads.get(), is(1000));
+
+        ((Memory) sorted).close();
+        assertThat(sorted.toList(), is(expected));
+        assertThat(reads.get(), is(2000));
+        assertThat(sorted.toList(), is(expected));
+        assertThat(reads.get(), is(3000));
+        assertThat(sequence(directory.listFiles()), isEmpty());
+    }
+
+    @Test
+    public void isStable() throws Exception {
+        Sequence<String> values = sequence("2a", "1b", "2c", "1d", "2e", "1f");
+        Sequence<String> sorted = sortBy(values, Comparator.comparing((String value) -> value.charAt(0)), Serialiser.<String>serializable(), 2, directory);
+        assertThat(sorted, hasExactly("1b", "1d", "1f", "2a", "2c", "2e"));
+    }
+
+    @Test
+    public void mergesAlreadySortedSequences() throws Exception {
+        assertThat(mergeSorted(sequence(sequence(1, 4, 7), Sequences.<Integer>empty(), sequence(2, 5), sequence(3, 6, 8, 9)), Comparator.<Integer>naturalOrder()),
+                hasExactly(1, 2, 3, 4, 5, 6, 7, 8, 9));
+    }
+}
@@ -3,8 +3,11 @@ package com.googlecode.totallylazy;
 import com.googlecode.totallylazy.functions.CountCalls0;
 import com.googlecode.totallylazy.functions.Function0;
 import com.googlecode.totallylazy.matchers.NumberMatcher;
+import com.googlecode.totallylazy.numbers.Numbers;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static com.googlecode.totallylazy.functions.Callables.call;
 import static com.googlecode.totallylazy.Callers.callConcurrently;
 import static com.googlecode.totallylazy.Runnables.doNothing;
@@ -88,4 +91,61 @@ public class MemoriseTest {
         assertThat(sequence.size(), NumberMatcher.is(1));
         assertThat(counting.count(), is(1));
     }
+
+    @Test
+    public void memorisesAcrossChunks() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Sequence<Integer> sequence = Numbers.range(0, 4999).map(n -> calls.getAndIncrement()).memorise();
+        assertThat(sequence.size(), NumberMatcher.is(5000));
+        assertThat(sequence.get(4999), is(4999));
+        assertThat(sequence.get(1024), is(1024));
+        assertThat(sequence.reduce(Integer::sum), is(12497500));
+        assertThat(calls.get(), is(5000));
+    }
+
+    @Test
+    public void supportsNullElements() throws Exception {
+        Sequence<Integer> sequence = sequence(1, null, 3).memorise();
+        assertThat(sequence, hasExactly(1, null, 3));
+        assertThat(sequence, hasExactly(1, null, 3));
+    }
+
+    @Test
+    public void forgettingAnIterableStartsAgainFromTheBeginning() throws Exception {
+        Sequence<Integer> sequence = memorise(asList(1, 2, 3));
+        assertThat(sequence, hasExactly(1, 2, 3));
+        ((Memory) sequence).forget();
+        assertThat(sequence, hasExactly(1, 2, 3));
+    }
+
+    @Test
+    public void concurrentReadersSeeTheSameElements() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        final Sequence<Integer> sequence = Numbers.range(0, 9999).map(n -> calls.getAndIncrement()).memorise();
+        Function0<Integer> sum = () -> sequence.reduce(Integer::sum);
+
+        Sequence<Integer> result = callConcurrently(sum, sum, sum, sum);
+
+        assertThat(result, hasExactly(49995000, 49995000, 49995000, 49995000));
+        assertThat(calls.get(), is(10000));
+    }
+
+    @Test
+    public void tailSharesTheMemoInsteadOfNestingIterators() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Sequence<Integer> sequence = Sequences.iterate(i -> i + 1, 1).take(20000).map(n -> { calls.incrementAndGet(); return n; }).memorise();
+        for (int i = 0; i < 19999; i++) sequence = sequence.tail();
+        assertThat(sequence, hasExactly(20000));
+        assertThat(sequence.drop(5).isEmpty(), is(true));
+        assertThat(calls.get(), is(20000));
+        assertThat(Sequences.iterate(i -> i + 1, 1).take(20000).memorise().windowed(3).last(), hasExactly(19998, 19999, 20000));
+    }
+
+    @Test
+    public void forgettingAnIteratorKeepsWhatHasBeenConsumed() throws Exception {
+        Sequence<Integer> sequence = memorise(asList(1, 2, 3).iterator());
+        assertThat(sequence.head(), is(1));
+        ((Memory) sequence).forget();
+        assertThat(sequence, hasExactly(1, 2, 3));
+    }
 }
@@ -0,0 +1,110 @@
+package com.googlecode.totallylazy;
+
+import com.googlecode.totallylazy.collections.PersistentList;
+import com.googlecode.totallylazy.functions.Associative;
+import com.googlecode.totallylazy.functions.Count;
+import com.googlecode.totallylazy.functions.Function2;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.matchers.IterableMatcher.hasExactly;
+import static com.googlecode.totallylazy.numbers.Numbers.even;
+import static com.googlecode.totallylazy.numbers.Numbers.maximum;
+import static com.googlecode.totallylazy.numbers.Numbers.range;
+import static com.googlecode.totallylazy.numbers.Numbers.sum;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ParallelSequenceTest {
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void preservesOrderWhenMappingAnArray() throws Exception {
+        assertThat(sequence(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).parallel(pool).map(i -> i * 2),
+                hasExactly(2, 4, 6, 8, 10, 12, 14, 16, 18, 20));
+    }
+
+    @Test
+    public void canFilterARange() throws Exception {
+        assertThat(range(1, 10).parallel(pool).filter(even), hasExactly(2, 4, 6, 8, 10));
+    }
+
+    @Test
+    public void foldsWithAMonoid() throws Exception {
+        assertThat(range(1, 100000).parallel(pool).fold(0, sum), is((Number) 5000050000L));
+        assertThat(range(1, 100000).parallel(pool).reduce(maximum), is((Number) 100000));
+    }
+
+    @Test
+    public void foldsWithACombinerAndSeed() throws Exception {
+        assertThat(range(1, 1000).parallel(pool).filter(even).fold(10, Count.count()), is((Number) 510));
+    }
+
+    @Test
+    public void combinesPartialResultsInOrder() throws Exception {
+        assertThat(sequence("a", "b", "c", "d", "e", "f", "g").parallel(pool).reduce(Strings.join), is("abcdefg"));
+    }
+
+    @Test
+    public void groupsByKeyMergingPartialAggregates() throws Exception {
+        assertThat(range(1, 10000).parallel(pool).groupBy(n -> n.intValue() % 3, sum), hasExactly(
+                Pair.pair(1, (Number) 16671667), Pair.pair(2, (Number) 16665000), Pair.pair(0, (Number) 16668333)));
+        assertThat(sequence("a", "b", "c", "d").parallel(pool).groupBy(s -> 0, Strings.join).head().second(), is("abcd"));
+    }
+
+    @Test
+    public void splitsPersistentLists() throws Exception {
+        PersistentList<Number> list = range(1, 1000).toPersistentList();
+        assertThat(list.toSequence().parallel(pool).reduce(sum), is((Number) 500500));
+        assertThat(list.toSequence().parallel(pool).map(Number::intValue).toList(), is(range(1, 1000).map(Number::intValue).toList()));
+    }
+
+    @Test
+    public void supportsAnyIterable() throws Exception {
+        List<Integer> values = new ArrayList<Integer>(sequence(3, 1, 2).toList());
+        assertThat(sequence(values).parallel(pool).map(i -> i + 1), hasExactly(4, 2, 3));
+        assertThat(sequence(3, 1, 2).map(i -> i).parallel(pool).reduce(sum), is((Number) 6));
+    }
+
+    @Test
+    public void fallsBackToSequentialForNonAssociativeFunctions() throws Exception {
+        Function2<String, Integer, String> append = (a, b) -> a + b;
+        assertThat(sequence(1, 2, 3).parallel(pool).fold("", append), is("123"));
+    }
+
+    @Test
+    public void supportsEmptySources() throws Exception {
+        assertThat(Sequences.<Number>empty().parallel(pool).fold(0, sum), is((Number) 0));
+        assertThat(Sequences.<Number>empty().parallel(pool).reduce(sum), is((Number) 0));
+    }
+
+    @Test
+    public void reducesAssociativeFunctionsWithoutAnIdentity() throws Exception {
+        Associative<String> concat = (a, b) -> a + b;
+        assertThat(sequence("a", "b", "c", "d", "e", "f", "g").parallel(pool).reduce(concat), is("abcdefg"));
+    }
+
+    @Test
+    public void foldsAssociativeFunctionsInParallel() throws Exception {
+        Associative<String> concat = (a, b) -> a + b;
+        assertThat(sequence("a", "b", "c", "d", "e", "f", "g").parallel(pool).fold(">", concat), is(">abcdefg"));
+        assertThat(Sequences.<String>empty().parallel(pool).fold(">", concat), is(">"));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void reducingAnEmptySourceWithoutAnIdentityThrows() throws Exception {
+        Associative<String> concat = (a, b) -> a + b;
+        Sequences.<String>empty().parallel(pool).reduce(concat);
+    }
+}
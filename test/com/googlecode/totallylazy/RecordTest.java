@@ -2,6 +2,9 @@ package com.googlecode.totallylazy;
 
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static com.googlecode.totallylazy.matchers.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -25,4 +28,25 @@ public class RecordTest {
     public void isImmutable() throws Exception {
         new Record(){ int x = 1; int y = 2; }.remove("x");
     }
+
+    @Test
+    public void supportsKeyLookupAndIndexedAccess() throws Exception {
+        Record record = new Record(){ int x = 1; String y = "2"; };
+        assertThat(record.get("y"), is((Object) "2"));
+        assertThat(record.get("z") == null, is(true));
+        assertThat(record.containsKey("x"), is(true));
+        assertThat(record.size(), is(2));
+        assertThat(record.key(1), is("y"));
+        assertThat(record.value(0), is((Object) 1));
+    }
+
+    @Test
+    public void hasTheSameHashCodeAsAnEquivalentMap() throws Exception {
+        Record record = new Record(){ int x = 1; String y = "2"; };
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put("x", 1);
+        map.put("y", "2");
+        assertThat(record.equals(map), is(true));
+        assertThat(record.hashCode(), is(map.hashCode()));
+    }
 }
@@ -304,6 +304,27 @@ public class SequenceTest {
         assertThat(groups.second(), hasExactly(2, 4));
     }
 
+    @Test
+    public void supportsGroupByWithAReducer() throws Exception {
+        assertThat(sequence(1, 2, 3, 4, 5).groupBy(Numbers.mod(2), Numbers.sum), hasExactly(
+                pair((Number) 1, (Number) 9), pair((Number) 0, (Number) 6)));
+        assertThat(sequence("a", "bb", "c").groupBy(String::length, count()), hasExactly(
+                pair(1, (Number) 2), pair(2, (Number) 1)));
+    }
+
+    @Test
+    public void supportsGroupAdjacent() throws Exception {
+        assertThat(sequence(1, 1, 2, 2, 2, 1).groupAdjacent(Callables.<Integer>returnArgument(), count()), hasExactly(
+                pair(1, (Number) 2), pair(2, (Number) 3), pair(1, (Number) 1)));
+        assertThat(Sequences.<Integer>empty().groupAdjacent(Callables.<Integer>returnArgument(), count()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void groupAdjacentIsLazy() throws Exception {
+        assertThat(Numbers.range(0).groupAdjacent(n -> n.intValue() / 3, Numbers.sum).take(2), hasExactly(
+                pair(0, (Number) 3), pair(1, (Number) 12)));
+    }
+
     @Test
     public void supportsGrouped() throws Exception {
         Sequence<Integer> sequence = sequence(1, 2, 3, 4, 5);
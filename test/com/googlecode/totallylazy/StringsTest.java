@@ -28,6 +28,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 public class StringsTest {
     @Test
@@ -69,6 +70,32 @@ public class StringsTest {
         assertThat(lines, hasExactly("1", "2"));
     }
 
+    @Test
+    public void readsFilesThatReportNoSize() throws Exception {
+        File status = new File("/proc/self/status");
+        assumeTrue(status.isFile());
+        assertThat(lines(status).isEmpty(), is(false));
+    }
+
+    @Test
+    public void readsLargeFilesThroughAMapping() throws Exception {
+        File file = temporaryFile();
+        String content = Sequences.repeat("a line of text").take(100000).toString("\n");
+        write(bytes(content), file);
+        assertThat(Streams.lines(file).size(), is(100000));
+        assertThat(Streams.lines(file).last(), is("a line of text"));
+    }
+
+    @Test
+    public void opensFilesWhenIterated() throws Exception {
+        Sequence<String> lines = Streams.lines(new File(temporaryFile(), "missing"));
+        try {
+            lines.isEmpty();
+            fail("Expected a failure when iterating a missing file");
+        } catch (LazyException ignored) {
+        }
+    }
+
     @Test
     public void canMapToStringFunctions() throws Exception {
         assertThat(sequence("Dan").map(toLowerCase()), hasExactly("dan"));
@@ -54,6 +54,26 @@ public class UrlEncodedMessageTest {
         assertThat(result, Matchers.is("The+string=%C3%BC%40foo-bar"));
     }
 
+    @Test
+    public void parsesLikeSplittingOnAmpersandsAndEquals() throws Exception {
+        List<Pair<String, String>> pairs = UrlEncodedMessage.parse("&a&&b=1==&=c&d==e&=&e=%20+x&&");
+        assertThat(pairs, Matchers.<Pair<String, String>>contains(
+                Pair.<String, String>pair("", null),
+                Pair.<String, String>pair("a", null),
+                Pair.<String, String>pair("", null),
+                Pair.pair("b", "1"),
+                Pair.pair("", "c"),
+                Pair.pair("e", "  x")));
+    }
+
+    @Test
+    public void encodesOnlyWhenNeeded() throws Exception {
+        String safe = "Safe-value_1.*";
+        assertThat(UrlEncodedMessage.encode(safe), Matchers.sameInstance(safe));
+        assertThat(UrlEncodedMessage.encode("a b&c=\u00fc\ud83d\ude00"), Matchers.is("a+b%26c%3D%C3%BC%F0%9F%98%80"));
+        assertThat(UrlEncodedMessage.encode("x/y", new StringBuilder("?")).toString(), Matchers.is("?x%2Fy"));
+    }
+
     private static boolean runningOnAMac() {
         return System.getProperty("os.name").contains("Mac OS");
     }
@@ -0,0 +1,109 @@
+package com.googlecode.totallylazy.collections;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static com.googlecode.totallylazy.Option.none;
+import static com.googlecode.totallylazy.Option.some;
+import static com.googlecode.totallylazy.matchers.Matchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class HashTrieMapTest extends MapContract {
+    @Override
+    protected <K extends Comparable<K>, V> MapFactory<K, V, ? extends PersistentMap<K, V>> factory() {
+        return HashTrieMap.<K, V>factory();
+    }
+
+    @Test
+    public void supportsKeysWithTheSameHashCode() throws Exception {
+        HashTrieMap<Collision, String> map = HashTrieMap.<Collision, String>hashTrieMap().
+                insert(new Collision("a"), "1").insert(new Collision("b"), "2").insert(new Collision("c"), "3");
+        assertThat(map.size(), is(3));
+        assertThat(map.lookup(new Collision("b")), is(some("2")));
+        HashTrieMap<Collision, String> deleted = map.delete(new Collision("a")).delete(new Collision("c"));
+        assertThat(deleted.size(), is(1));
+        assertThat(deleted.lookup(new Collision("a")), is(none(String.class)));
+        assertThat(deleted.lookup(new Collision("b")), is(some("2")));
+        assertThat(deleted, is(HashTrieMap.<Collision, String>hashTrieMap().insert(new Collision("b"), "2")));
+    }
+
+    @Test
+    public void behavesLikeAHashMapUnderRandomInsertsAndDeletes() throws Exception {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        HashTrieMap<Integer, Integer> actual = HashTrieMap.hashTrieMap();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000) * 0x10001;
+            if (random.nextBoolean()) {
+                expected.put(key, i);
+                actual = actual.insert(key, i);
+            } else {
+                expected.remove(key);
+                actual = actual.delete(key);
+            }
+        }
+        assertThat(actual.size(), is(expected.size()));
+        assertThat(actual.toMutableMap(), is(expected));
+    }
+
+    @Test
+    public void equalityIgnoresInsertionOrder() throws Exception {
+        HashTrieMap<Integer, String> map = HashTrieMap.<Integer, String>hashTrieMap().insert(1, "a").insert(33, "b").insert(1057, "c");
+        HashTrieMap<Integer, String> other = HashTrieMap.<Integer, String>hashTrieMap().insert(1057, "c").insert(1, "a").insert(33, "b");
+        assertThat(map, is(other));
+        assertThat(map.hashCode(), is(other.hashCode()));
+        assertThat(map.delete(33).delete(1057), is(other.delete(1057).delete(33)));
+    }
+
+    @Test
+    public void transientMapMutatesInPlaceWithoutChangingTheSource() throws Exception {
+        HashTrieMap<Integer, String> source = HashTrieMap.<Integer, String>hashTrieMap().insert(1, "a").insert(2, "b");
+        TransientHashTrieMap<Integer, String> transientMap = source.transientMap();
+        for (int i = 0; i < 1000; i++) transientMap.insert(i, String.valueOf(i));
+        transientMap.delete(2).insert(1, "z");
+        HashTrieMap<Integer, String> result = transientMap.persistent();
+        assertThat(result.size(), is(999));
+        assertThat(result.lookup(1), is(some("z")));
+        assertThat(result.lookup(2), is(none(String.class)));
+        assertThat(source.size(), is(2));
+        assertThat(source.lookup(1), is(some("a")));
+        assertThat(source.lookup(2), is(some("b")));
+    }
+
+    @Test(expected = IllegalMutationException.class)
+    public void transientMapCanNotBeUsedOncePersistent() throws Exception {
+        TransientHashTrieMap<Integer, String> transientMap = HashTrieMap.<Integer, String>hashTrieMap().transientMap();
+        transientMap.insert(1, "a").persistent();
+        transientMap.insert(2, "b");
+    }
+
+    @Test
+    public void setSupportsBasicOperations() throws Exception {
+        PersistentSet<String> set = PersistentSet.constructors.set("a", "b", "c", "b");
+        assertThat(set.size(), is(3));
+        assertThat(set.contains("b"), is(true));
+        assertThat(set.delete("b").contains("b"), is(false));
+        assertThat(set.filter(s -> !s.equals("a")), is(PersistentSet.constructors.set("c", "b")));
+    }
+
+    private static class Collision {
+        private final String value;
+
+        private Collision(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Collision && ((Collision) obj).value.equals(value);
+        }
+    }
+}
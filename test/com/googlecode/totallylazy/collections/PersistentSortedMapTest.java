@@ -1,5 +1,6 @@
 package com.googlecode.totallylazy.collections;
 
+import com.googlecode.totallylazy.functions.Callables;
 import com.googlecode.totallylazy.functions.Function1;
 import com.googlecode.totallylazy.Option;
 import com.googlecode.totallylazy.Pair;
@@ -9,6 +10,9 @@ import com.googlecode.totallylazy.functions.TimeReport;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import static com.googlecode.totallylazy.Option.none;
 import static com.googlecode.totallylazy.Option.some;
 import static com.googlecode.totallylazy.Pair.pair;
@@ -185,4 +189,116 @@ public class PersistentSortedMapTest {
     public void supportsMappingValues() throws Exception {
         assertThat(sortedMap("Dan", 2).map(add(2)), is(sortedMap("Dan", (Number) 4)));
     }
+
+    @Test
+    public void bulkLoadingKeepsTheLastValueForDuplicateKeys() throws Exception {
+        PersistentSortedMap<Integer, String> map = sortedMap(sequence(pair(2, "a"), pair(1, "b"), pair(2, "c")));
+        assertThat(map.size(), is(2));
+        assertThat(map, hasExactly(pair(1, "b"), pair(2, "c")));
+    }
+
+    @Test
+    public void supportsFloorCeilingLowerAndHigher() throws Exception {
+        PersistentSortedMap<Integer, String> map = sortedMap(2, "Two", 4, "Four", 6, "Six");
+        assertThat(map.floor(4), is(some(pair(4, "Four"))));
+        assertThat(map.floor(5), is(some(pair(4, "Four"))));
+        assertThat(map.floor(1), is(none(Pair.class)));
+        assertThat(map.ceiling(3), is(some(pair(4, "Four"))));
+        assertThat(map.ceiling(7), is(none(Pair.class)));
+        assertThat(map.lower(4), is(some(pair(2, "Two"))));
+        assertThat(map.higher(4), is(some(pair(6, "Six"))));
+        assertThat(map.higher(6), is(none(Pair.class)));
+    }
+
+    @Test
+    public void supportsRangeViews() throws Exception {
+        PersistentSortedMap<Integer, Integer> map = sortedMap(range(1, 10).map(i -> pair(i.intValue(), i.intValue())));
+        assertThat(map.headMap(4).keys(), hasExactly(1, 2, 3));
+        assertThat(map.headMap(4, true).keys(), hasExactly(1, 2, 3, 4));
+        assertThat(map.tailMap(8).keys(), hasExactly(8, 9, 10));
+        assertThat(map.tailMap(8, false).keys(), hasExactly(9, 10));
+        assertThat(map.subMap(3, 6).keys(), hasExactly(3, 4, 5));
+        assertThat(map.subMap(3, false, 6, true).keys(), hasExactly(4, 5, 6));
+        assertThat(map.subMap(20, 30).isEmpty(), is(true));
+    }
+
+    @Test
+    public void rangeViewsMatchJavaTreeMapAndStayBalanced() throws Exception {
+        Random random = new Random(7);
+        java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<Integer, Integer>();
+        PersistentSortedMap<Integer, Integer> map = emptySortedMap();
+        for (int i = 0; i < 500; i++) {
+            int key = random.nextInt(1000);
+            expected.put(key, i);
+            map = map.insert(key, i);
+        }
+        assertBalanced((AVLTree<Integer, Integer>) map);
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(1100) - 50, to = from + random.nextInt(300);
+            boolean fromInclusive = random.nextBoolean(), toInclusive = random.nextBoolean();
+            AVLTree<Integer, Integer> sub = (AVLTree<Integer, Integer>) map.subMap(from, fromInclusive, to, toInclusive);
+            assertThat(sub.keys(), hasExactly(sequence(expected.subMap(from, fromInclusive, to, toInclusive).keySet())));
+            assertThat(sub.size(), is(expected.subMap(from, fromInclusive, to, toInclusive).size()));
+            assertBalanced(sub);
+            assertThat(map.floor(from).map(Callables.<Integer>first()), is(Option.option(expected.floorKey(from))));
+            assertThat(map.higher(to).map(Callables.<Integer>first()), is(Option.option(expected.higherKey(to))));
+            assertThat(map.ascendingFrom(from).map(Callables.<Integer>first()), hasExactly(sequence(expected.tailMap(from, true).keySet())));
+            assertThat(map.descendingFrom(to).map(Callables.<Integer>first()), hasExactly(sequence(expected.headMap(to, true).descendingKeySet())));
+        }
+        assertThat(map.descending().map(Callables.<Integer>first()), hasExactly(sequence(expected.descendingKeySet())));
+    }
+
+    @Test
+    public void supportsSetAlgebra() throws Exception {
+        PersistentSortedMap<Integer, String> first = sortedMap(1, "a", 2, "b", 3, "c");
+        PersistentSortedMap<Integer, String> second = sortedMap(2, "B", 3, "C", 4, "D");
+        assertThat(first.union(second), hasExactly(pair(1, "a"), pair(2, "B"), pair(3, "C"), pair(4, "D")));
+        assertThat(first.intersection(second), hasExactly(pair(2, "b"), pair(3, "c")));
+        assertThat(first.difference(second), hasExactly(pair(1, "a")));
+        assertThat(first.union(emptySortedMap()), hasExactly(pair(1, "a"), pair(2, "b"), pair(3, "c")));
+        assertThat(first.intersection(emptySortedMap()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void setAlgebraMatchesJavaTreeMapAndStaysBalanced() throws Exception {
+        Random random = new Random(11);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int round = 0; round < 20; round++) {
+            java.util.TreeMap<Integer, Integer> first = new java.util.TreeMap<Integer, Integer>(), second = new java.util.TreeMap<Integer, Integer>();
+            PersistentSortedMap<Integer, Integer> a = emptySortedMap(), b = a;
+            int size = random.nextInt(20000);
+            for (int i = 0; i < size; i++) {
+                int key = random.nextInt(40000);
+                if (random.nextBoolean()) { first.put(key, i); a = a.insert(key, i); }
+                else { second.put(key, -i); b = b.insert(key, -i); }
+            }
+            java.util.TreeMap<Integer, Integer> union = new java.util.TreeMap<Integer, Integer>(first);
+            union.putAll(second);
+            java.util.TreeMap<Integer, Integer> intersection = new java.util.TreeMap<Integer, Integer>(first);
+            intersection.keySet().retainAll(second.keySet());
+            java.util.TreeMap<Integer, Integer> difference = new java.util.TreeMap<Integer, Integer>(first);
+            difference.keySet().removeAll(second.keySet());
+
+            assertMatches((TreeMap<Integer, Integer>) a.union(b), union);
+            assertMatches((TreeMap<Integer, Integer>) a.intersection(b), intersection);
+            assertMatches((TreeMap<Integer, Integer>) a.difference(b), difference);
+            assertMatches(TreeMap.methods.union((TreeMap<Integer, Integer>) a, (TreeMap<Integer, Integer>) b, pool), union);
+            assertMatches(TreeMap.methods.intersection((TreeMap<Integer, Integer>) a, (TreeMap<Integer, Integer>) b, pool), intersection);
+            assertMatches(TreeMap.methods.difference((TreeMap<Integer, Integer>) a, (TreeMap<Integer, Integer>) b, pool), difference);
+        }
+        pool.shutdown();
+    }
+
+    private static void assertMatches(TreeMap<Integer, Integer> actual, java.util.TreeMap<Integer, Integer> expected) {
+        assertThat(actual.size(), is(expected.size()));
+        assertThat(actual, hasExactly(sequence(expected.entrySet()).map(entry -> pair(entry.getKey(), entry.getValue()))));
+        assertBalanced((AVLTree<Integer, Integer>) actual);
+    }
+
+    private static int assertBalanced(AVLTree<Integer, Integer> tree) {
+        if (tree.isEmpty()) return 0;
+        int left = assertBalanced(tree.left()), right = assertBalanced(tree.right());
+        assertThat(Math.abs(left - right) <= 1, is(true));
+        return Math.max(left, right) + 1;
+    }
 }
@@ -71,4 +71,28 @@ public class PersistentSortedSetTest {
         assertThat(get(1).call(sortedSet(1, 2, 3)), is(some(1)));
         assertThat(get(5).call(sortedSet(1, 2, 3)), is(none(Integer.class)));
     }
+
+    @Test
+    public void supportsNavigation() throws Exception {
+        PersistentSortedSet<Integer> sortedSet = sortedSet(sequence(8, 6, 4, 1, 7, 3, 5));
+        assertThat(sortedSet.floor(2), is(some(1)));
+        assertThat(sortedSet.ceiling(2), is(some(3)));
+        assertThat(sortedSet.lower(1), is(none(Integer.class)));
+        assertThat(sortedSet.higher(8), is(none(Integer.class)));
+        assertThat(sortedSet.subSet(3, 6), hasExactly(3, 4, 5));
+        assertThat(sortedSet.headSet(3, true), hasExactly(1, 3));
+        assertThat(sortedSet.tailSet(7), hasExactly(7, 8));
+        assertThat(sortedSet.ascendingFrom(5), hasExactly(5, 6, 7, 8));
+        assertThat(sortedSet.descendingFrom(5), hasExactly(5, 4, 3, 1));
+        assertThat(sortedSet.descending(), hasExactly(8, 7, 6, 5, 4, 3, 1));
+    }
+
+    @Test
+    public void supportsSetAlgebra() throws Exception {
+        PersistentSortedSet<Integer> first = sortedSet(1, 2, 3, 4), second = sortedSet(3, 4, 5);
+        assertThat(first.union(second), hasExactly(1, 2, 3, 4, 5));
+        assertThat(first.intersection(second), hasExactly(3, 4));
+        assertThat(first.difference(second), hasExactly(1, 2));
+        assertThat(second.difference(first), hasExactly(5));
+    }
 }
@@ -0,0 +1,90 @@
+package com.googlecode.totallylazy.collections;
+
+import com.googlecode.totallylazy.Option;
+import com.googlecode.totallylazy.Pair;
+import com.googlecode.totallylazy.functions.Callables;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static com.googlecode.totallylazy.Option.none;
+import static com.googlecode.totallylazy.Option.some;
+import static com.googlecode.totallylazy.Pair.pair;
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.collections.RadixTrie.radixTrie;
+import static com.googlecode.totallylazy.matchers.IterableMatcher.hasExactly;
+import static com.googlecode.totallylazy.matchers.Matchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class RadixTrieTest {
+    private final RadixTrie<Integer> trie = RadixTrie.<Integer>radixTrie().
+            insert("romane", 1).insert("romanus", 2).insert("romulus", 3).insert("rubens", 4).insert("ruber", 5).insert("rubicon", 6);
+
+    @Test
+    public void supportsLookupOfCompressedKeys() throws Exception {
+        assertThat(trie.size(), is(6));
+        assertThat(trie.lookup("romanus"), is(some(2)));
+        assertThat(trie.lookup("roman"), is(none(Integer.class)));
+        assertThat(trie.lookup("rubiconx"), is(none(Integer.class)));
+        assertThat(trie.get(new StringBuilder("ruber")), is(5));
+        assertThat(trie.contains("rom"), is(false));
+        assertThat(trie.insert("roman", 7).lookup("roman"), is(some(7)));
+        assertThat(trie.insert("", 0).lookup(""), is(some(0)));
+    }
+
+    @Test
+    public void iteratesInKeyOrder() throws Exception {
+        assertThat(trie.keys(), hasExactly("romane", "romanus", "romulus", "rubens", "ruber", "rubicon"));
+    }
+
+    @Test
+    public void supportsPrefixScans() throws Exception {
+        assertThat(trie.prefixed("rom").map(Callables.<String>first()), hasExactly("romane", "romanus", "romulus"));
+        assertThat(trie.prefixed("rube").map(Callables.<String>first()), hasExactly("rubens", "ruber"));
+        assertThat(trie.prefixed("rubicon"), hasExactly(pair("rubicon", 6)));
+        assertThat(trie.prefixed("rubicons").isEmpty(), is(true));
+        assertThat(trie.prefixed("x").isEmpty(), is(true));
+        assertThat(trie.prefixed("").size(), is(6));
+    }
+
+    @Test
+    public void findsLongestPrefix() throws Exception {
+        RadixTrie<String> routes = RadixTrie.<String>radixTrie().insert("/", "root").insert("/users", "users").insert("/users/admin", "admin");
+        assertThat(routes.longestPrefix("/users/admin/settings"), is(some(pair("/users/admin", "admin"))));
+        assertThat(routes.longestPrefix("/users/bob"), is(some(pair("/users", "users"))));
+        assertThat(routes.longestPrefix("/use"), is(some(pair("/", "root"))));
+        assertThat(routes.longestPrefix("users"), is(Option.<Pair<String, String>>none()));
+    }
+
+    @Test
+    public void deletingCompactsEdges() throws Exception {
+        RadixTrie<Integer> deleted = trie.delete("romane").delete("romanus").delete("romulus");
+        assertThat(deleted.keys(), hasExactly("rubens", "ruber", "rubicon"));
+        assertThat(deleted.delete("missing"), is(deleted));
+        RadixTrie<Integer> none = sequence(trie.keys()).fold(trie, RadixTrie::delete);
+        assertThat(none.isEmpty(), is(true));
+        assertThat(none, is(RadixTrie.<Integer>radixTrie()));
+    }
+
+    @Test
+    public void behavesLikeATreeMapUnderRandomInsertsAndDeletes() throws Exception {
+        Random random = new Random(23);
+        java.util.TreeMap<String, Integer> expected = new java.util.TreeMap<String, Integer>();
+        RadixTrie<Integer> actual = radixTrie();
+        for (int i = 0; i < 20000; i++) {
+            String key = Integer.toString(random.nextInt(5000), 4 + random.nextInt(3));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.delete(key);
+            } else {
+                expected.put(key, i);
+                actual = actual.insert(key, i);
+            }
+        }
+        assertThat(actual.size(), is(expected.size()));
+        assertThat(actual.keys(), hasExactly(sequence(expected.keySet())));
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) assertThat(actual.get(entry.getKey()), is(entry.getValue()));
+        assertThat(actual.prefixed("12").map(Callables.<String>first()), hasExactly(sequence(expected.subMap("12", "13").keySet())));
+    }
+}
@@ -0,0 +1,103 @@
+package com.googlecode.totallylazy.collections;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.collections.Vector.vector;
+import static com.googlecode.totallylazy.matchers.IterableMatcher.hasExactly;
+import static com.googlecode.totallylazy.matchers.Matchers.is;
+import static com.googlecode.totallylazy.numbers.Numbers.range;
+import static com.googlecode.totallylazy.numbers.Numbers.sum;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class VectorTest {
+    @Test
+    public void supportsIndexedAccessAcrossManyLevels() throws Exception {
+        Vector<Integer> vector = Vector.vector();
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 40000; i++) {
+            vector = vector.append(i);
+            expected.add(i);
+        }
+        assertThat(vector.size(), is(40000));
+        assertThat(vector.get(0), is(0));
+        assertThat(vector.get(1055), is(1055));
+        assertThat(vector.get(39999), is(39999));
+        assertThat(vector.toMutableList(), is(expected));
+    }
+
+    @Test
+    public void appendingDoesNotChangeTheOriginal() throws Exception {
+        Vector<String> original = vector("Dan", "Matt");
+        Vector<String> appended = original.append("Ray");
+        assertThat(original, hasExactly("Dan", "Matt"));
+        assertThat(appended, hasExactly("Dan", "Matt", "Ray"));
+    }
+
+    @Test
+    public void canUpdateByIndex() throws Exception {
+        Vector<Integer> vector = vector(sequence(range(0, 99)).map(Number::intValue));
+        Vector<Integer> updated = vector.update(3, -3).update(98, -98);
+        assertThat(updated.get(3), is(-3));
+        assertThat(updated.get(98), is(-98));
+        assertThat(vector.get(3), is(3));
+        assertThat(vector.get(98), is(98));
+    }
+
+    @Test
+    public void slicesShareStructure() throws Exception {
+        Vector<Integer> vector = vector(sequence(range(0, 99)).map(Number::intValue));
+        Vector<Integer> slice = vector.subList(30, 35);
+        assertThat(slice, hasExactly(30, 31, 32, 33, 34));
+        assertThat(slice.get(2), is(32));
+        assertThat(slice.append(100), hasExactly(30, 31, 32, 33, 34, 100));
+        assertThat(vector.tail().head(), is(1));
+        assertThat(vector.subList(95, 100).append(100).size(), is(6));
+    }
+
+    @Test
+    public void supportsListOperations() throws Exception {
+        Vector<String> vector = vector("Dan", "Matt", "Ray");
+        assertThat(vector.cons("Stu"), hasExactly("Stu", "Dan", "Matt", "Ray"));
+        assertThat(vector.delete("Matt"), hasExactly("Dan", "Ray"));
+        assertThat(vector.reverse(), hasExactly("Ray", "Matt", "Dan"));
+        assertThat(vector.map(String::length), hasExactly(3, 4, 3));
+        assertThat(vector.filter(s -> s.startsWith("D")), hasExactly("Dan"));
+        assertThat(vector.join(sequence("Stu")), hasExactly("Dan", "Matt", "Ray", "Stu"));
+        assertThat(vector.last(), is("Ray"));
+        assertThat(vector, is(vector("Dan", "Matt", "Ray")));
+    }
+
+    @Test
+    public void transientVectorFreezesIntoAVector() throws Exception {
+        Vector<Integer> base = vector(1, 2, 3);
+        TransientVector<Integer> transientVector = base.transientVector();
+        for (int i = 4; i <= 2000; i++) transientVector.append(i);
+        Vector<Integer> result = transientVector.persistent();
+        assertThat(result.size(), is(2000));
+        assertThat(result.get(1999), is(2000));
+        assertThat(base, hasExactly(1, 2, 3));
+        assertThat(result.append(2001).get(2000), is(2001));
+
+        TransientVector<Integer> larger = result.transientVector();
+        for (int i = 2001; i <= 40000; i++) larger.append(i);
+        assertThat(larger.persistent().toSequence(), is(range(1, 40000).map(Number::intValue)));
+        assertThat(result.size(), is(2000));
+        assertThat(result.get(1999), is(2000));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void headOfEmptyVectorThrows() throws Exception {
+        Vector.vector().head();
+    }
+
+    @Test
+    public void canBeProcessedInParallel() throws Exception {
+        assertThat(range(1, 10000).toVector().toSequence().parallel(new ForkJoinPool(4)).reduce(sum), is((Number) 50005000));
+    }
+}
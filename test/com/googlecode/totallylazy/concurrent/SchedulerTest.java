@@ -0,0 +1,69 @@
+package com.googlecode.totallylazy.concurrent;
+
+import com.googlecode.totallylazy.Sequence;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.matchers.Matchers.is;
+import static com.googlecode.totallylazy.numbers.Numbers.range;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class SchedulerTest {
+    @Test
+    public void mapsInOrderWithABoundedNumberOfTasksInFlight() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maximum = new AtomicInteger();
+        Sequence<Integer> result = range(1, 100).mapConcurrently(number -> {
+            maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(1);
+            running.decrementAndGet();
+            return number.intValue() * 2;
+        }, 4).realise();
+
+        assertThat(result, is(range(1, 100).map(number -> number.intValue() * 2).realise()));
+        assertThat(maximum.get(), lessThanOrEqualTo(4));
+    }
+
+    @Test
+    public void doesNotRealiseAnInfiniteInput() throws Exception {
+        assertThat(range(1).mapConcurrently(number -> number.intValue() + 1, 8).take(3), is(sequence(2, 3, 4)));
+    }
+
+    @Test
+    public void canDeliverResultsAsTheyComplete() throws Exception {
+        final CountDownLatch firstMayFinish = new CountDownLatch(1);
+        Iterator<Integer> result = sequence(1, 2).mapConcurrentlyUnordered(number -> {
+            if (number == 1) firstMayFinish.await(10, SECONDS);
+            return number;
+        }, 2).iterator();
+
+        assertThat(result.next(), is(2));
+        firstMayFinish.countDown();
+        assertThat(result.next(), is(1));
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void propagatesFailures() throws Exception {
+        sequence(1, 2, 3).mapConcurrently(number -> {
+            if (number == 2) throw new IllegalStateException();
+            return number;
+        }, 2).realise();
+    }
+
+    @Test
+    public void runsInTheCallerWhenTheSchedulerIsSaturated() throws Exception {
+        try (Scheduler scheduler = Scheduler.scheduler(1)) {
+            Sequence<Integer> result = scheduler.map(sequence(1, 2), (Integer outer) ->
+                    scheduler.map(sequence(10, 20), (Integer inner) -> outer * inner, 2).fold(0, (Integer a, Integer b) -> a + b), 2).realise();
+
+            assertThat(result, is(sequence(30, 60)));
+        }
+    }
+}
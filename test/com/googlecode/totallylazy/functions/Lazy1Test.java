@@ -2,13 +2,22 @@ package com.googlecode.totallylazy.functions;
 
 import com.googlecode.totallylazy.Sequence;
 import com.googlecode.totallylazy.matchers.Matchers;
+import com.googlecode.totallylazy.time.SettableClock;
 import org.junit.Test;
 
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.googlecode.totallylazy.Callers.callConcurrently;
+import static com.googlecode.totallylazy.functions.Memoise.memoise;
 import static com.googlecode.totallylazy.matchers.NumberMatcher.is;
 import static com.googlecode.totallylazy.numbers.Numbers.increment;
+import static com.googlecode.totallylazy.numbers.Numbers.range;
+import static com.googlecode.totallylazy.time.Dates.date;
 import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -58,4 +67,79 @@ public class Lazy1Test {
         assertThat(lazyCallable.call(0), is(1));
         assertThat(counting.count(0), is(1));
     }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntriesBeyondTheMaximumSize() throws Exception {
+        CountCalls1<Number, Number> counting = CountCalls1.counting(increment);
+        Lazy1<Number, Number> lazy = Lazy1.lazy(counting, memoise().maximumSize(10));
+
+        lazy.call(0);
+        for (Number number : range(1, 20)) {
+            lazy.call(number);
+            lazy.call(0);
+        }
+
+        assertThat(lazy.size() <= 10, Matchers.is(true));
+        assertThat(counting.count(0), is(1));
+        assertThat(lazy.statistics().evictions() > 0, Matchers.is(true));
+    }
+
+    @Test
+    public void evictsLeastFrequentlyUsedEntries() throws Exception {
+        CountCalls1<Number, Number> counting = CountCalls1.counting(increment);
+        Lazy1<Number, Number> lazy = Lazy1.lazy(counting, memoise().maximumSize(5).lfu());
+
+        for (int i = 0; i < 5; i++) lazy.call(0);
+        for (Number number : range(1, 20)) lazy.call(number);
+
+        assertThat(counting.count(0), is(1));
+    }
+
+    @Test
+    public void expiresEntriesUsingTheClock() throws Exception {
+        SettableClock clock = new SettableClock(date(2001, 1, 1));
+        CountCalls1<Number, Number> counting = CountCalls1.counting(increment);
+        Function1<Number, Number> lazy = counting.lazy(memoise().expireAfterWrite(1, TimeUnit.MINUTES).clock(clock));
+
+        lazy.call(0);
+        lazy.call(0);
+        assertThat(counting.count(0), is(1));
+
+        clock.now(date(2001, 1, 1, 0, 2, 0));
+        lazy.call(0);
+        assertThat(counting.count(0), is(2));
+    }
+
+    @Test
+    public void recordsStatisticsAndCanForgetAKey() throws Exception {
+        CountCalls1<Number, Number> counting = CountCalls1.counting(increment);
+        Lazy1<Number, Number> lazy = Lazy1.lazy(counting);
+
+        lazy.call(0);
+        lazy.call(0);
+        lazy.call(1);
+        lazy.forget(0);
+        lazy.call(0);
+
+        assertThat(lazy.statistics().hits(), is(1L));
+        assertThat(lazy.statistics().misses(), is(3L));
+        assertThat(counting.count(0), is(2));
+    }
+
+    @Test
+    public void closesEvictedAndExpiredValues() throws Exception {
+        List<Integer> closed = new CopyOnWriteArrayList<Integer>();
+        Lazy1<Integer, Closeable> bounded = Lazy1.lazy(i -> () -> closed.add(i), memoise().maximumSize(5));
+        for (int i = 0; i < 20; i++) bounded.call(i);
+        assertThat(closed.size(), is(20 - bounded.size()));
+        assertThat((long) closed.size(), is(bounded.statistics().evictions()));
+
+        closed.clear();
+        SettableClock clock = new SettableClock(date(2001, 1, 1));
+        Lazy1<Integer, Closeable> expiring = Lazy1.lazy(i -> () -> closed.add(i), memoise().expireAfterWrite(1, TimeUnit.MINUTES).clock(clock));
+        expiring.call(0);
+        clock.now(date(2001, 1, 1, 0, 2, 0));
+        expiring.call(0);
+        assertThat(closed, Matchers.is(Collections.singletonList(0)));
+    }
 }
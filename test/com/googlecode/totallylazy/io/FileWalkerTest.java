@@ -0,0 +1,126 @@
+package com.googlecode.totallylazy.io;
+
+import com.googlecode.totallylazy.Files;
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.Strings;
+import com.googlecode.totallylazy.predicates.Predicates;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.googlecode.totallylazy.Files.emptyVMDirectory;
+import static com.googlecode.totallylazy.Files.write;
+import static com.googlecode.totallylazy.Strings.bytes;
+import static com.googlecode.totallylazy.io.FileWalker.glob;
+import static com.googlecode.totallylazy.matchers.Matchers.is;
+import static com.googlecode.totallylazy.predicates.Not.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.Assume.assumeTrue;
+
+public class FileWalkerTest {
+    private final File root = tree();
+
+    @Test
+    public void walksDirectoriesFirst() throws Exception {
+        List<String> paths = FileWalker.directoriesFirst(root.toPath()).map(FileWalker.Entry::relativePath).toList();
+        assertThat(paths, containsInAnyOrder("a/", "a/b/", "a/b/c.txt", "a/d.txt", "e.txt", "skip/", "skip/x.txt"));
+        assertThat(paths.indexOf("a/") < paths.indexOf("a/b/"), is(true));
+        assertThat(paths.indexOf("a/b/") < paths.indexOf("a/b/c.txt"), is(true));
+    }
+
+    @Test
+    public void walksDirectoriesLast() throws Exception {
+        List<String> paths = FileWalker.directoriesLast(root.toPath()).map(FileWalker.Entry::relativePath).toList();
+        assertThat(paths.size(), is(7));
+        assertThat(paths.indexOf("a/b/c.txt") < paths.indexOf("a/b/"), is(true));
+        assertThat(paths.indexOf("a/b/") < paths.indexOf("a/"), is(true));
+    }
+
+    @Test
+    public void prunesBeforeDescending() throws Exception {
+        Sequence<String> paths = FileWalker.directoriesFirst(root.toPath(), not(glob("skip"))).map(FileWalker.Entry::relativePath);
+        assertThat(paths.toList(), containsInAnyOrder("a/", "a/b/", "a/b/c.txt", "a/d.txt", "e.txt", "skip/"));
+        assertThat(FileWalker.directoriesFirst(root.toPath()).filter(glob("**/*.txt")).size(), is(3));
+    }
+
+    @Test
+    public void walksSubtreesInParallel() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<String> parallel = FileWalker.parallel(root.toPath(), not(glob("a/b")), pool).map(FileWalker.Entry::relativePath).toList();
+        assertThat(parallel, containsInAnyOrder("a/", "a/b/", "a/d.txt", "e.txt", "skip/", "skip/x.txt"));
+        assertThat(parallel.indexOf("a/") < parallel.indexOf("a/d.txt"), is(true));
+        pool.shutdown();
+    }
+
+    @Test
+    public void supportsMissingRoots() throws Exception {
+        assertThat(FileWalker.directoriesFirst(new File(root, "missing").toPath()).isEmpty(), is(true));
+        assertThat(Files.recursiveFiles(new File(root, "e.txt")).isEmpty(), is(true));
+    }
+
+    @Test
+    public void feedsFileSourceWithoutOpeningEveryFile() throws Exception {
+        FileSource source = FileSource.fileSource(root, not(glob("skip")));
+        assertThat(source.sources().map(Sources.functions.name).toList(), containsInAnyOrder("a/", "a/b/", "a/b/c.txt", "a/d.txt", "e.txt", "skip/"));
+        Sources.Source file = source.sources().find(s -> s.name.equals("a/d.txt")).get();
+        assertThat(Strings.toString(file.input), is("d"));
+        source.close();
+    }
+
+    @Test
+    public void skipsDirectoriesThatCanNotBeRead() throws Exception {
+        File locked = Files.directory(root, "locked");
+        write(bytes("s"), Files.file(locked, "secret.txt"));
+        assumeTrue(locked.setReadable(false) && locked.list() == null);
+        try {
+            assertThat(Files.recursiveFiles(root).map(f -> root.toPath().relativize(f.toPath()).toString()).toList(), hasItems("locked", "e.txt"));
+            assertThat(FileWalker.directoriesFirst(root.toPath()).map(FileWalker.Entry::relativePath).contains("locked/secret.txt"), is(false));
+        } finally {
+            locked.setReadable(true);
+        }
+    }
+
+    @Test
+    public void followsSymbolicLinksWithoutLooping() throws Exception {
+        File links = emptyVMDirectory("file-walker-links");
+        write(bytes("f"), Files.file(Files.directory(Files.directory(links, "real"), "sub"), "f.txt"));
+        assumeTrue(link(new File(links, "link"), Paths.get("real")));
+        assumeTrue(link(new File(links, "real/sub/loop"), Paths.get("..")));
+        assertThat(Files.recursiveFiles(links).map(f -> links.toPath().relativize(f.toPath()).toString().replace(File.separatorChar, '/')).toList(),
+                hasItems("link", "link/sub", "link/sub/f.txt", "link/sub/loop", "real/sub/loop"));
+        assertThat(FileWalker.directoriesFirst(links.toPath()).find(e -> e.relativePath().equals("link/")).isDefined(), is(true));
+        assertThat(FileWalker.parallel(links.toPath(), Predicates.always()).map(FileWalker.Entry::relativePath).toList(),
+                hasItems("link/", "link/sub/f.txt", "real/sub/loop/"));
+        assertThat(FileWalker.directoriesFirst(links.toPath(), Predicates.always(), LinkOption.NOFOLLOW_LINKS).map(FileWalker.Entry::relativePath).toList(),
+                containsInAnyOrder("link", "real/", "real/sub/", "real/sub/f.txt", "real/sub/loop"));
+        FileSource source = FileSource.fileSource(links, Predicates.always());
+        assertThat(Strings.toString(source.sources().find(s -> s.name.equals("link/sub/f.txt")).get().input), is("f"));
+        source.close();
+    }
+
+    private static boolean link(File link, Path target) {
+        try {
+            java.nio.file.Files.createSymbolicLink(link.toPath(), target);
+            return true;
+        } catch (UnsupportedOperationException | IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private static File tree() {
+        File root = emptyVMDirectory("file-walker-test");
+        write(bytes("c"), Files.file(Files.directory(Files.directory(root, "a"), "b"), "c.txt"));
+        write(bytes("d"), Files.file(Files.directory(root, "a"), "d.txt"));
+        write(bytes("e"), Files.file(root, "e.txt"));
+        write(bytes("x"), Files.file(Files.directory(root, "skip"), "x.txt"));
+        return root;
+    }
+}
@@ -0,0 +1,87 @@
+package com.googlecode.totallylazy.io;
+
+import com.googlecode.totallylazy.Sequence;
+import com.googlecode.totallylazy.Streams;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.googlecode.totallylazy.Files.temporaryFile;
+import static com.googlecode.totallylazy.Files.write;
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.Strings.bytes;
+import static com.googlecode.totallylazy.matchers.IterableMatcher.hasExactly;
+import static com.googlecode.totallylazy.matchers.Matchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MappedRecordsTest {
+    @Test
+    public void splitsLinesLikeABufferedReader() throws Exception {
+        File file = file("one\r\ntwo\n\nthree\rfour\n");
+        assertThat(MappedRecords.lines(file).map(Object::toString), hasExactly("one", "two", "", "three", "four"));
+        assertThat(MappedRecords.lines(file("")).isEmpty(), is(true));
+        assertThat(MappedRecords.lines(file("last")).map(Object::toString), hasExactly("last"));
+    }
+
+    @Test
+    public void decodesUtf8Lazily() throws Exception {
+        Sequence<CharSequence> lines = MappedRecords.lines(file("caf\u00e9\nabc\n"));
+        CharSequence first = lines.first();
+        assertThat(first.length(), is(4));
+        assertThat(first.charAt(3), is('\u00e9'));
+        CharSequence second = lines.second();
+        assertThat(second.charAt(1), is('b'));
+        assertThat(second.subSequence(1, 3).toString(), is("bc"));
+    }
+
+    @Test
+    public void supportsCustomDelimiters() throws Exception {
+        Sequence<ByteBuffer> records = MappedRecords.records(file("a,bb,,ccc"), (byte) ',');
+        assertThat(records.map(ByteBuffer::remaining), hasExactly(1, 2, 0, 3));
+    }
+
+    @Test
+    public void readsRecordsThatSpanMappedChunks() throws Exception {
+        String content = randomLines(new Random(3), 500);
+        File file = file(content);
+        List<String> expected = Streams.lines(new StringReader(content)).toList();
+        assertThat(MappedRecords.lines(file, 7).map(Object::toString), hasExactly(sequence(expected)));
+        assertThat(MappedRecords.lines(file, 4096).map(Object::toString), hasExactly(sequence(expected)));
+    }
+
+    @Test
+    public void splitsOnRecordBoundariesForParallelProcessing() throws Exception {
+        File file = file(randomLines(new Random(5), 2000));
+        MappedRecords<String> lines = MappedRecords.lines(file, 64).map(Object::toString);
+        List<String> expected = lines.toList();
+        for (int parts : new int[]{1, 2, 3, 7, 64, 10000}) {
+            assertThat(lines.split(parts).flatMap(part -> part), hasExactly(sequence(expected)));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        assertThat(lines.parallel(pool).map(String::length).reduce(Integer::sum), is(sequence(expected).map(String::length).reduce(Integer::sum)));
+        assertThat(lines.parallel(pool).toList(), is(expected));
+        pool.shutdown();
+    }
+
+    private static String randomLines(Random random, int count) {
+        StringBuilder builder = new StringBuilder();
+        String[] terminators = {"\n", "\r\n", "\r"};
+        for (int i = 0; i < count; i++) {
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++) builder.append(random.nextInt(10) == 0 ? '\u00e9' : (char) ('a' + random.nextInt(26)));
+            builder.append(terminators[random.nextInt(terminators.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static File file(String content) {
+        File file = temporaryFile();
+        write(bytes(content), file);
+        return file;
+    }
+}
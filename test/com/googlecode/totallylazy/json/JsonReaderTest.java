@@ -0,0 +1,126 @@
+package com.googlecode.totallylazy.json;
+
+import org.junit.Test;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+import static com.googlecode.totallylazy.Pair.pair;
+import static com.googlecode.totallylazy.json.JsonReader.Event.BOOLEAN;
+import static com.googlecode.totallylazy.json.JsonReader.Event.END;
+import static com.googlecode.totallylazy.json.JsonReader.Event.END_ARRAY;
+import static com.googlecode.totallylazy.json.JsonReader.Event.END_OBJECT;
+import static com.googlecode.totallylazy.json.JsonReader.Event.NAME;
+import static com.googlecode.totallylazy.json.JsonReader.Event.NULL;
+import static com.googlecode.totallylazy.json.JsonReader.Event.NUMBER;
+import static com.googlecode.totallylazy.json.JsonReader.Event.START_ARRAY;
+import static com.googlecode.totallylazy.json.JsonReader.Event.START_OBJECT;
+import static com.googlecode.totallylazy.json.JsonReader.Event.STRING;
+import static com.googlecode.totallylazy.json.JsonReader.jsonReader;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class JsonReaderTest {
+    private static final String DOCUMENT = "{\"name\" : \"Dan \\\"the man\\\" \\u03BB\", \"age\": 37, \"height\" : 1.85, " +
+            "\"tags\" : [true, false, null, -12.50e1, {}, []], \"nested\": {\"empty\":\"\"}}";
+
+    @Test
+    public void pullsEvents() throws Exception {
+        JsonReader reader = jsonReader("{\"a\":[1, \"two\", true, null]}");
+        assertThat(reader.next(), is(START_OBJECT));
+        assertThat(reader.next(), is(NAME));
+        assertThat(reader.string(), is("a"));
+        assertThat(reader.next(), is(START_ARRAY));
+        assertThat(reader.next(), is(NUMBER));
+        assertThat(reader.longValue(), is(1L));
+        assertThat(reader.next(), is(STRING));
+        assertThat(reader.string(), is("two"));
+        assertThat(reader.next(), is(BOOLEAN));
+        assertThat(reader.booleanValue(), is(true));
+        assertThat(reader.next(), is(NULL));
+        assertThat(reader.next(), is(END_ARRAY));
+        assertThat(reader.next(), is(END_OBJECT));
+        assertThat(reader.next(), is(END));
+    }
+
+    @Test
+    public void producesTheSameShapesAsTheGrammar() throws Exception {
+        assertThat(jsonReader(DOCUMENT).map(), is(Grammar.OBJECT.parse(DOCUMENT).value()));
+        assertThat(jsonReader("[1, 2.0, -3]").list(), is(Grammar.ARRAY.parse("[1, 2.0, -3]").value()));
+        assertThat(jsonReader(" 123 ").value(), is(Grammar.VALUE.parse(" 123 ").value()));
+    }
+
+    @Test
+    public void readsAcrossBufferBoundaries() throws Exception {
+        assertThat(jsonReader(oneCharacterAtATime(DOCUMENT)).map(), is(jsonReader(DOCUMENT).map()));
+    }
+
+    @Test
+    public void decodesBytesAsUtf8() throws Exception {
+        assertThat(jsonReader("[\"λ\"]".getBytes("UTF-8")).list().get(0), is((Object) "λ"));
+    }
+
+    @Test
+    public void numbersHaveLongAndDoubleFastPaths() throws Exception {
+        JsonReader reader = jsonReader("[12, 12.10, -0.5, 1e3, 123456789012345678901234567890]");
+        reader.next();
+        reader.next();
+        assertThat(reader.number(), is((Number) new BigDecimal("12")));
+        assertThat(reader.longValue(), is(12L));
+        reader.next();
+        assertThat(reader.number(), is((Number) new BigDecimal("12.10")));
+        assertThat(reader.doubleValue(), is(12.1));
+        reader.next();
+        assertThat(reader.doubleValue(), is(-0.5));
+        reader.next();
+        assertThat(reader.longValue(), is(1000L));
+        reader.next();
+        assertThat(reader.number(), is((Number) new BigDecimal("123456789012345678901234567890")));
+    }
+
+    @Test
+    public void streamsTopLevelArrayElementsAndObjectPairs() throws Exception {
+        Iterator<Object> elements = jsonReader(new StringReader("[{\"a\":1}, \"two\"")).sequence().iterator();
+        assertThat(elements.next(), is((Object) Json.map("{\"a\":1}")));
+        assertThat(elements.next(), is((Object) "two"));
+
+        assertThat(jsonReader(new StringReader("{\"a\":1, \"b\":[]}")).pairs().last(), is(pair("b", (Object) Json.list("[]"))));
+    }
+
+    @Test
+    public void supportsConcatenatedDocuments() throws Exception {
+        JsonReader reader = jsonReader(new StringReader("{\"a\":1}\n{\"a\":2}\n"));
+        assertThat(reader.map().get("a"), is((Object) BigDecimal.valueOf(1)));
+        assertThat(reader.map().get("a"), is((Object) BigDecimal.valueOf(2)));
+        assertThat(reader.next(), is(END));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failsOnMalformedInput() throws Exception {
+        jsonReader("{\"a\" 1}").map();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void isStrictAboutSeparatorsUnlessLenient() throws Exception {
+        assertThat(jsonReader("[1,]").lenient().list().size(), is(1));
+        jsonReader("[1,]").list();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failsOnUnterminatedInput() throws Exception {
+        jsonReader(new StringReader("[\"a")).list();
+    }
+
+    private static Reader oneCharacterAtATime(String value) {
+        return new FilterReader(new StringReader(value)) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+    }
+}
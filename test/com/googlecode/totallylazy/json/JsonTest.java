@@ -33,6 +33,18 @@ public class JsonTest {
         assertThat(Json.object(("123")), instanceOf(Number.class));
     }
 
+    @Test
+    public void acceptsTheSameSeparatorsAsTheGrammar() throws Exception {
+        for (String json : new String[]{"[1,]", "[1 2]", "[1, 2]", "{\"a\":1,}", "{\"a\":1 \"b\":2}"}) {
+            assertThat(Json.object(json), is(Grammar.VALUE.parse(json).value()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyElements() throws Exception {
+        Json.list("[1,,2]");
+    }
+
     @Test
     public void correctlyParsesASingleRootElement() throws Exception {
         Map<String, Object> result = Json.map(("{\"root\" : \"text\"}"));
@@ -3,8 +3,10 @@ package com.googlecode.totallylazy.json;
 import com.googlecode.totallylazy.Sequence;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static com.googlecode.totallylazy.Sequences.sequence;
@@ -78,5 +80,69 @@ public class JsonWriterTest {
         assertThat(actual, is("{\"one\":1,\"two\":2}"));
         assertThat(actual, is(Json.json(values)));
     }
-}
 
+    @Test
+    public void writesArraysAsJsonArrays() throws Exception {
+        assertThat(Json.json(new Object[]{"1", null, new int[]{1, 2}}), is("[\"1\",null,[1,2]]"));
+        assertThat(Json.json(new long[]{3L}), is("[3]"));
+        assertThat(Json.json(new double[]{1.5}), is("[1.5]"));
+        assertThat(Json.json(new boolean[]{true, false}), is("[true,false]"));
+    }
+
+    @Test
+    public void canStreamUtf8ToAnOutputStream() throws Exception {
+        Map<String, ?> model = sortedMap("text", "λ \"quoted\" \uD83D\uDE00", "values", list(1, false));
+
+        ByteArrayOutputStream stream = JsonWriter.writeUtf8(model, new ByteArrayOutputStream());
+
+        assertThat(stream.toString("UTF-8"), is(Json.json(model)));
+        assertThat(stream.toString("UTF-8"), is("{\"text\":\"λ \\\"quoted\\\" \uD83D\uDE00\",\"values\":[1,false]}"));
+    }
+
+    @Test
+    public void usesRegisteredEncoders() throws Exception {
+        JsonWriter.register(Point.class, (point, appendable) -> appendable.append("[").append(String.valueOf(point.x)).append(",").append(String.valueOf(point.y)).append("]"));
+        try {
+            assertThat(Json.json(list(new Point(1, 2))), is("[[1,2]]"));
+        } finally {
+            JsonWriter.unregister(Point.class);
+        }
+        assertThat(Json.json(list(new Point(1, 2))), is("[\"point\"]"));
+    }
+
+    @Test
+    public void registeredStringEncodersTakePrecedence() throws Exception {
+        JsonWriter.register(String.class, (value, appendable) -> appendable.append("'").append(value).append("'"));
+        try {
+            assertThat(Json.json(list("a")), is("['a']"));
+        } finally {
+            JsonWriter.unregister(String.class);
+        }
+        assertThat(Json.json(list("a\"b")), is("[\"a\\\"b\"]"));
+    }
+
+    @Test
+    public void replacesADanglingHighSurrogateAtTheEndOfInput() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Utf8Appendable appendable = Utf8Appendable.utf8Appendable(stream);
+        appendable.append("a\uD83D");
+        appendable.finish();
+        appendable.release();
+        assertThat(stream.toByteArray(), is("a\uD83D".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static class Point {
+        private final int x;
+        private final int y;
+
+        private Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public String toString() {
+            return "point";
+        }
+    }
+}
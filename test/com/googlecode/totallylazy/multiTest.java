@@ -6,6 +6,7 @@ import com.googlecode.totallylazy.matchers.NumberMatcher;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.AbstractMap;
@@ -17,6 +18,7 @@ import static com.googlecode.totallylazy.predicates.Predicates.any;
 import static com.googlecode.totallylazy.functions.TimeReport.time;
 import static com.googlecode.totallylazy.matchers.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 
 public class multiTest {
     public static class StaticSingle {
@@ -191,4 +193,57 @@ public class multiTest {
         }
         assertThat(new Instance().process((Object)1.0f), is("Float"));
     }
+
+    public static class Megamorphic {
+        public static String process(Object o) { return new multi(){}.<String>methodOption(o).getOrElse("No match found"); }
+        @multimethod static String process(Integer s) { return "Integer"; }
+        @multimethod static String process(Number s) { return "Number"; }
+        @multimethod static String process(CharSequence s) { return "CharSequence"; }
+    }
+
+    @Test
+    public void dispatchesCorrectlyBeyondTheInlineCache() throws Exception {
+        Object[] values = {1, 1L, 1.0, 1.0f, (short) 1, (byte) 1, "a", new StringBuilder("b"), 'c', true, new java.math.BigDecimal(1), 2};
+        String[] expected = {"Integer", "Number", "Number", "Number", "Number", "Number", "CharSequence", "CharSequence", "No match found", "No match found", "Number", "Integer"};
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < values.length; i++) {
+                assertThat(Megamorphic.process(values[i]), is(expected[i]));
+            }
+        }
+    }
+
+    @Test
+    public void canBindASharedDispatcherToDifferentInstances() throws Exception {
+        class Greeter {
+            private final String greeting;
+            Greeter(String greeting) { this.greeting = greeting; }
+            String greet(String name) { return greeting + " " + name; }
+            String greet(Integer number) { return greeting + " #" + number; }
+        }
+        Dispatcher dispatcher = Dispatcher.dispatcher(Greeter.class, "greet");
+        assertThat(dispatcher.bind(new Greeter("Hello")).<String>invoke("Dan"), is("Hello Dan"));
+        assertThat(dispatcher.bind(new Greeter("Bye")).<String>invoke("Dan"), is("Bye Dan"));
+        assertThat(dispatcher.bind(new Greeter("Hi")).<String>invoke(1), is("Hi #1"));
+    }
+
+    @Test
+    public void wrapsExceptionsFromTheTargetInLazyException() throws Exception {
+        class Instance {
+            public String process(Object o) { return new multi(){}.method(o); }
+            @multimethod String process(String s) { throw new IllegalStateException(); }
+            @multimethod String process(Integer i) throws Exception { throw new IOException(); }
+        }
+        try {
+            new Instance().process((Object) "A String");
+            fail("should have thrown");
+        } catch (LazyException e) {
+            assertThat(e.getCause() instanceof IllegalStateException, is(true));
+        }
+        try {
+            new Instance().process((Object) 1);
+            fail("should have thrown");
+        } catch (LazyException e) {
+            assertThat(e.getCause() instanceof IOException, is(true));
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.googlecode.totallylazy.numbers;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.matchers.IterableMatcher.hasExactly;
+import static com.googlecode.totallylazy.numbers.IntSequence.ints;
+import static com.googlecode.totallylazy.numbers.IntSequence.range;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class IntSequenceTest {
+    @Test
+    public void supportsRanges() throws Exception {
+        assertThat(range(1, 5).toArray(), is(new int[]{1, 2, 3, 4, 5}));
+        assertThat(range(5, 1).toArray(), is(new int[]{5, 4, 3, 2, 1}));
+        assertThat(range(0, 4, 2).toArray(), is(new int[]{0, 2, 4}));
+        assertThat(range(4, 0, 2).toArray(), is(new int[]{4, 2, 0}));
+        assertThat(range(Integer.MAX_VALUE - 1, Integer.MAX_VALUE).toArray(), is(new int[]{Integer.MAX_VALUE - 1, Integer.MAX_VALUE}));
+    }
+
+    @Test
+    public void supportsMapAndFilterWithoutBoxing() throws Exception {
+        assertThat(ints(1, 2, 3, 4).map(i -> i * 3).filter(i -> i % 2 == 0).toArray(), is(new int[]{6, 12}));
+        assertThat(ints(1, 2, 3).mapToLong(i -> i * 10000000000L).sum(), is(60000000000L));
+        assertThat(ints(1, 2).mapToDouble(i -> i / 2.0).toArray(), is(new double[]{0.5, 1.0}));
+    }
+
+    @Test
+    public void supportsAggregates() throws Exception {
+        assertThat(range(1, 100).sum(), is(5050L));
+        assertThat(ints(Integer.MAX_VALUE, Integer.MAX_VALUE).sum(), is(2L * Integer.MAX_VALUE));
+        assertThat(ints(1, 2, 3, 4).average(), is(2.5));
+        assertThat(ints(3, 1, 2).minimum(), is(1));
+        assertThat(ints(3, 1, 2).maximum(), is(3));
+        assertThat(ints(1, 2, 3).fold(10, (a, b) -> a + b), is(16));
+        assertThat(ints(1, 2, 3).reduce((a, b) -> a * b), is(6));
+        assertThat(range(1, 10).filter(i -> i > 5).size(), is(5));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void reducingAnEmptySequenceThrows() throws Exception {
+        ints().filter(i -> i > 0).maximum();
+    }
+
+    @Test
+    public void canBridgeToAndFromBoxedSequences() throws Exception {
+        assertThat(ints(1, 2, 3).boxed(), hasExactly(1, 2, 3));
+        assertThat(ints(Numbers.range(1, 3)).toArray(), is(new int[]{1, 2, 3}));
+        assertThat(ints(sequence(1, 2L, 3.0)).sum(), is(6L));
+        assertThat(ints(1, 2, 3).asNumbers().reduce(Numbers.sum), is((Number) 6));
+    }
+
+    @Test
+    public void rangesCanBeUnboxed() throws Exception {
+        Range range = (Range) Numbers.range(1, 10, 3);
+        assertThat(range.ints().toArray(), is(new int[]{1, 4, 7, 10}));
+    }
+
+    @Test
+    public void supportsLongsAndDoubles() throws Exception {
+        assertThat(LongSequence.range(1, 3).map(l -> l * l).sum(), is(14L));
+        assertThat(LongSequence.longs(5L, 2L, 9L).maximum(), is(9L));
+        assertThat(DoubleSequence.doubles(1.5, 2.5).sum(), is(4.0));
+        assertThat(DoubleSequence.doubles(1.0, 2.0, 6.0).average(), is(3.0));
+        assertThat(DoubleSequence.doubles(1.5, 2.5).mapToInt(d -> (int) d).toArray(), is(new int[]{1, 2}));
+    }
+
+    @Test
+    public void longRangesDoNotOverflow() throws Exception {
+        assertThat(LongSequence.range(Long.MAX_VALUE - 1, Long.MAX_VALUE).toArray(), is(new long[]{Long.MAX_VALUE - 1, Long.MAX_VALUE}));
+        assertThat(LongSequence.range(Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE).toArray(), is(new long[]{Long.MIN_VALUE, -1, Long.MAX_VALUE - 1}));
+        assertThat(LongSequence.range(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE).toArray(), is(new long[]{Long.MIN_VALUE, 0}));
+        assertThat(LongSequence.range(Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE).toArray(), is(new long[]{Long.MAX_VALUE, -1}));
+        assertThat(LongSequence.range(Long.MIN_VALUE, Long.MAX_VALUE).isEmpty(), is(false));
+        assertThat(LongSequence.range(Long.MIN_VALUE, Long.MAX_VALUE).filter(l -> l > Long.MIN_VALUE + 1).iterator().nextLong(), is(Long.MIN_VALUE + 2));
+        assertThat(range(Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE).toArray(), is(new int[]{Integer.MIN_VALUE, 0}));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void rejectsSizesThatDoNotFitAnInt() throws Exception {
+        LongSequence.range(Long.MIN_VALUE, Long.MAX_VALUE).size();
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void longSumsFailRatherThanWrap() throws Exception {
+        LongSequence.longs(Long.MAX_VALUE, 1L).sum();
+    }
+
+    @Test
+    public void longAveragesDoNotOverflow() throws Exception {
+        assertThat(LongSequence.longs(Long.MAX_VALUE, Long.MAX_VALUE).average(), is((double) Long.MAX_VALUE));
+        assertThat(LongSequence.longs(Long.MIN_VALUE, Long.MIN_VALUE).average(), is((double) Long.MIN_VALUE));
+        assertThat(LongSequence.longs(Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, -1L).average(), is(Long.MAX_VALUE / 4.0));
+        assertThat(LongSequence.longs(1L, 2L, 3L, 4L).average(), is(2.5));
+    }
+
+    @Test
+    public void doublesFollowIeeeArithmetic() throws Exception {
+        assertThat(DoubleSequence.doubles(Double.MAX_VALUE, Double.MAX_VALUE).sum(), is(Double.POSITIVE_INFINITY));
+        assertThat(Double.isNaN(DoubleSequence.doubles(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY).sum()), is(true));
+        assertThat(DoubleSequence.doubles(-0.0, 1.0).minimum(), is(-0.0));
+        assertThat(DoubleSequence.doubles(Double.MIN_VALUE, -Double.MAX_VALUE).maximum(), is(Double.MIN_VALUE));
+        assertThat(DoubleSequence.doubles(new double[]{1, 2, 3, 4}, 1, 3).size(), is(2));
+    }
+}
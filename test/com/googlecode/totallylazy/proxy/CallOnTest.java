@@ -3,10 +3,14 @@ package com.googlecode.totallylazy.proxy;
 import com.googlecode.totallylazy.Sequence;
 import org.junit.Test;
 
+import java.lang.reflect.InvocationTargetException;
+
 import static com.googlecode.totallylazy.Sequences.sequence;
 import static com.googlecode.totallylazy.matchers.IterableMatcher.hasExactly;
 import static com.googlecode.totallylazy.proxy.User.user;
+import static com.googlecode.totallylazy.matchers.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 public class CallOnTest {
     @Test
     public void canUseInstanceInsteadOfCallForReadability() throws Exception {
@@ -38,4 +42,56 @@ public class CallOnTest {
         Sequence<String> firstNames = users.map(new CallOn<User, String>(){{call.say("Hello");}});
         assertThat(firstNames, hasExactly("Dan says 'Hello'", "Matt says 'Hello'"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void canMapAMethodWithoutArguments() throws Exception {
+        Sequence<Counter> counters = sequence(new Counter(1), new Counter(2));
+        assertThat(counters.map(new CallOn<Counter, Integer>(){{call.doubled();}}), hasExactly(2, 4));
+    }
+
+    @Test
+    public void canMapAMethodOnANonPublicClass() throws Exception {
+        Sequence<Hidden> hidden = sequence(new Hidden(1), new Hidden(2));
+        assertThat(hidden.map(new CallOn<Hidden, Integer>(){{call.tripled();}}), hasExactly(3, 6));
+    }
+
+    @Test
+    public void wrapsExceptionsThrownByTheMethod() throws Exception {
+        MethodInvocation<Counter, Integer> invocation = new CallOn<Counter, Integer>(){{call.fail(true);}}.invocation();
+        try {
+            invocation.call(new Counter(1));
+            fail("Should have thrown");
+        } catch (InvocationTargetException e) {
+            assertThat(e.getCause() instanceof IllegalStateException, is(true));
+        }
+    }
+
+    public static class Counter {
+        private final int value;
+
+        public Counter(int value) {
+            this.value = value;
+        }
+
+        public Integer doubled() {
+            return value * 2;
+        }
+
+        public Integer fail(Boolean fail) {
+            if (fail) throw new IllegalStateException();
+            return value;
+        }
+    }
+
+    static class Hidden {
+        private final int value;
+
+        Hidden(int value) {
+            this.value = value;
+        }
+
+        public Integer tripled() {
+            return value * 3;
+        }
+    }
+}
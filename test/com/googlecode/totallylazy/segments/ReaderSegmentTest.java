@@ -0,0 +1,66 @@
+package com.googlecode.totallylazy.segments;
+
+import com.googlecode.totallylazy.Segment;
+import com.googlecode.totallylazy.parser.Parser;
+import com.googlecode.totallylazy.parser.Result;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static com.googlecode.totallylazy.Segment.constructors.characters;
+import static com.googlecode.totallylazy.matchers.Matchers.is;
+import static com.googlecode.totallylazy.parser.Parsers.characters;
+import static com.googlecode.totallylazy.parser.Parsers.isChar;
+import static com.googlecode.totallylazy.parser.Parsers.pattern;
+import static com.googlecode.totallylazy.parser.Parsers.string;
+import static com.googlecode.totallylazy.predicates.Predicates.not;
+import static com.googlecode.totallylazy.segments.ReaderSegment.bufferedSegment;
+import static com.googlecode.totallylazy.segments.ReaderSegment.readerSegment;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ReaderSegmentTest {
+    @Test
+    public void readsAcrossBlocks() throws Exception {
+        Segment<Character> segment = bufferedSegment(new StringReader("Hello"), 2, Integer.MAX_VALUE);
+        assertThat(segment.head(), is('H'));
+        assertThat(segment.tail().tail().tail().head(), is('l'));
+        assertThat(segment.tail().tail().tail().tail().tail().isEmpty(), is(true));
+        assertThat(segment.toString(), is("Hello"));
+    }
+
+    @Test
+    public void supportsRandomAccessFromAnyPosition() throws Exception {
+        ReaderSegment segment = readerSegment(new StringReader("abcdefghij"));
+        assertThat(segment.drop(3).charAt(2), is('f'));
+        assertThat(segment.subSequence(1, 4).toString(), is("bcd"));
+        assertThat(segment.available(9), is(true));
+        assertThat(segment.available(10), is(false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failsWhenReadingBehindTheWindow() throws Exception {
+        ReaderSegment segment = bufferedSegment(new StringReader("0123456789abcdefghij"), 4, 4);
+        segment.charAt(19);
+        segment.charAt(0);
+    }
+
+    @Test
+    public void runsCombinatorsOverAStream() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) builder.append(i).append(',');
+        Parser<List<CharSequence>> parser = characters(not(',')).followedBy(isChar(',')).many();
+        Result<List<CharSequence>> result = parser.parse(bufferedSegment(new StringReader(builder.toString()), 64, 128));
+        assertThat(result.value().size(), is(10000));
+        assertThat(result.value().get(9999).toString(), is("9999"));
+    }
+
+    @Test
+    public void matchesPatternsThatRunToTheEndOfTheStream() throws Exception {
+        Result<String> result = pattern("[a-z]+").parse(readerSegment(new StringReader("hello")));
+        assertThat(result.value(), is("hello"));
+        assertThat(result.remainder().isEmpty(), is(true));
+        assertThat(string("he").then(string("llo")).parse(readerSegment(new StringReader("hello"))).success(), is(true));
+        assertThat(string("hello").parse("hello".toCharArray()).remainder(), is(characters("")));
+    }
+}
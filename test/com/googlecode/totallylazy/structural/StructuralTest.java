@@ -5,11 +5,13 @@ import org.junit.Test;
 
 import java.io.Closeable;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.googlecode.totallylazy.Option.none;
 import static com.googlecode.totallylazy.matchers.Matchers.is;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 
 public class StructuralTest {
     @Test
@@ -49,4 +51,45 @@ public class StructuralTest {
         }), is(true));
         assertThat(Structural.instanceOf(Closeable.class, new Object()), is(false));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void forwardsArgumentsReturnValuesAndExceptions() throws Exception {
+        Measure measure = Structural.cast(Measure.class, new Object() {
+            int length(String value) {
+                if (value == null) throw new IllegalStateException();
+                return value.length();
+            }
+        });
+        assertThat(measure.length("abc"), is(3));
+        try {
+            measure.length(null);
+            fail("Should have thrown");
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Test
+    public void castingTheSameClassRepeatedlyWorksForEachInstance() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            Structural.cast(Closeable.class, new Counter(calls)).close();
+        }
+        assertThat(calls.get(), is(3));
+    }
+
+    public interface Measure {
+        int length(String value);
+    }
+
+    private static class Counter {
+        private final AtomicInteger calls;
+
+        private Counter(AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        void close() {
+            calls.incrementAndGet();
+        }
+    }
+}
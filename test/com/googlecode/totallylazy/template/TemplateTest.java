@@ -3,6 +3,8 @@ package com.googlecode.totallylazy.template;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static com.googlecode.totallylazy.Lists.list;
@@ -94,4 +96,34 @@ public class TemplateTest {
         String result = template.render(map("root", null));
         assertThat(result, is(""));
     }
+
+    @Test
+    public void supportsNestedMappingsAcrossRepeatedRenders() throws Exception {
+        Template template = template("$rows:{ row | [$row:{ cell, index | $index$=$cell$ }$]}$");
+        Map<String, Object> model = map("rows", list(list("a", "b"), list("c")));
+        assertThat(template.render(model), is("[0=a 1=b ][0=c ]"));
+        assertThat(template.render(model), is("[0=a 1=b ][0=c ]"));
+    }
+
+    @Test
+    public void usesRenderersAddedAfterTheTemplateWasCreated() throws Exception {
+        Templates templates = Templates.templates().add("greet", ignore -> "Hello");
+        Template template = template("$greet()$ $first$", templates);
+        assertThat(template.render(map("first", "Dan")), is("Hello Dan"));
+        templates.add("greet", ignore -> "Goodbye");
+        assertThat(template.render(map("first", "Dan")), is("Goodbye Dan"));
+    }
+
+    @Test
+    public void eachMappedElementGetsItsOwnParameters() throws Exception {
+        List<Object> captured = new ArrayList<Object>();
+        Templates templates = Templates.templates().add("capture", context -> {
+            captured.add(context);
+            return "";
+        });
+        template("$users:{ user | $capture()$}$", templates).render(map("users", list("Dan", "Bob")));
+        assertThat(captured.size(), is(2));
+        assertThat(((Map<?, ?>) captured.get(0)).get("user"), is((Object) "Dan"));
+        assertThat(((Map<?, ?>) captured.get(1)).get("user"), is((Object) "Bob"));
+    }
 }
@@ -4,6 +4,7 @@ import org.junit.Test;
 
 import static com.googlecode.totallylazy.Assert.assertThat;
 import static com.googlecode.totallylazy.Maps.map;
+import static com.googlecode.totallylazy.io.Uri.packageUri;
 import static com.googlecode.totallylazy.predicates.Predicates.is;
 
 public class UrlRenderersTest {
@@ -20,4 +21,12 @@ public class UrlRenderersTest {
         String result = renderers.get("parent").render(map("name", "Dan"));
         assertThat(result, is("Say Hello Dan"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void boundedCacheStillRendersEvictedTemplates() throws Exception {
+        Renderers renderers = UrlRenderers.renderers(packageUri(getClass()), Renderers.Empty.Instance, "st", 1);
+        assertThat(renderers.get("parent").render(map("name", "Dan")), is("Say Hello Dan"));
+        assertThat(renderers.get("hello").render(map("name", "Dan")), is("Hello Dan"));
+        assertThat(renderers.get("parent").render(map("name", "Bob")), is("Say Hello Bob"));
+    }
+}
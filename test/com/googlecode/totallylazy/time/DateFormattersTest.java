@@ -0,0 +1,120 @@
+package com.googlecode.totallylazy.time;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.googlecode.totallylazy.time.Dates.date;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class DateFormattersTest {
+    @Test
+    public void formatsTheSameAsSimpleDateFormat() throws Exception {
+        Random random = new Random(42);
+        for (String pattern : new String[]{Dates.RFC3339_WITH_MILLISECONDS, Dates.RFC3339, Dates.RFC3339_WITHOUT_TIME, Dates.LEXICAL, Dates.APACHE}) {
+            DateFormatter formatter = DateFormatters.formatter(pattern);
+            for (int i = 0; i < 1000; i++) {
+                Date value = new Date((long) (random.nextDouble() * 400L * 365 * 86400000L) - 200L * 365 * 86400000L);
+                String expected = Dates.format(pattern).format(value);
+                assertThat(formatter.format(value), is(expected));
+                assertThat(formatter.parse(expected), is(Dates.format(pattern).parse(expected)));
+            }
+        }
+    }
+
+    @Test
+    public void cachesFormattersByPattern() throws Exception {
+        assertThat(Dates.formatter(Dates.RFC3339), sameInstance(DateFormatters.RFC3339));
+        assertThat(Dates.formatter("dd MM yyyy"), sameInstance(Dates.formatter("dd MM yyyy")));
+    }
+
+    @Test
+    public void canFormatIntoAnAppendable() throws Exception {
+        StringBuilder builder = DateFormatters.RFC3339_WITH_MILLISECONDS.format(date(2011, 7, 19, 12, 43, 26, 7), new StringBuilder("at "));
+        assertThat(builder.toString(), is("at 2011-07-19T12:43:26.007Z"));
+    }
+
+    @Test
+    public void canParseARange() throws Exception {
+        assertThat(DateFormatters.LEXICAL.parse("id:20110908071414123;", 3, 20), is(date(2011, 9, 8, 7, 14, 14, 123)));
+        assertThat(DateFormatters.RFC3339.parse("[2011-07-19T12:43:26Z]", 1, 21), is(date(2011, 7, 19, 12, 43, 26)));
+    }
+
+    @Test
+    public void parsesApacheOffsetsAndMonthNamesCaseInsensitively() throws Exception {
+        assertThat(DateFormatters.APACHE.parse("03/dec/2012:01:02:05 +0130"), is(date(2012, 12, 2, 23, 32, 5)));
+        assertThat(DateFormatters.APACHE.parse("03/DEC/2012:01:02:05 -0100"), is(date(2012, 12, 3, 2, 2, 5)));
+    }
+
+    @Test
+    public void rejectsInvalidDates() throws Exception {
+        assertThat(DateFormatters.RFC3339.tryParse("2011-02-30T00:00:00Z", 0, 20).isEmpty(), is(true));
+        assertThat(DateFormatters.RFC3339.tryParse("2011-13-01T00:00:00Z", 0, 20).isEmpty(), is(true));
+        assertThat(DateFormatters.LEXICAL.tryParse("20110908241414123", 0, 17).isEmpty(), is(true));
+        assertThat(DateFormatters.RFC3339_WITHOUT_TIME.tryParse("2012-02-29", 0, 10).isEmpty(), is(false));
+        assertThat(DateFormatters.APACHE.tryParse("03/Dec/2012:01:02:05 +0080", 0, 26).isEmpty(), is(true));
+        assertThat(DateFormatters.APACHE.tryParse("03/Dec/2012:01:02:05 +2400", 0, 26).isEmpty(), is(true));
+        assertThat(DateFormatters.APACHE.tryParse("03/Dec/2012:01:02:05 +2000", 0, 26).isEmpty(), is(true));
+        assertThat(DateFormatters.APACHE.tryParse("03/Dec/2012:01:02:05 +1401", 0, 26).isEmpty(), is(true));
+        assertThat(DateFormatters.APACHE.tryParse("03/Dec/2012:01:02:05 -1301", 0, 26).isEmpty(), is(true));
+        assertThat(DateFormatters.APACHE.parse("03/Dec/2012:01:02:05 +1400"), is(date(2012, 12, 2, 11, 2, 5)));
+        assertThat(DateFormatters.APACHE.parse("03/Dec/2012:01:02:05 -1300"), is(date(2012, 12, 3, 14, 2, 5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void apacheRejectsOffsetMinutesOutOfRange() throws Exception {
+        DateFormatters.defaultConverter().parse("03/Dec/2012:01:02:05 +0060");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void defaultConverterThrowsWhenNothingParses() throws Exception {
+        DateFormatters.defaultConverter().parse("2011-02-30T00:00:00Z");
+    }
+
+    @Test
+    public void defaultConverterDispatchesOnShape() throws Exception {
+        DateConverter converter = DateFormatters.defaultConverter();
+        assertThat(converter.parse("2011-07-19T12:43:26.123Z"), is(date(2011, 7, 19, 12, 43, 26, 123)));
+        assertThat(converter.parse("2011-07-19T12:43:26Z"), is(date(2011, 7, 19, 12, 43, 26)));
+        assertThat(converter.parse("2011-07-19"), is(date(2011, 7, 19)));
+        assertThat(converter.parse("Tue, 02 Aug 2011 09:22:53 GMT"), is(date(2011, 8, 2, 9, 22, 53)));
+        assertThat(converter.parse("20110908071414123"), is(date(2011, 9, 8, 7, 14, 14, 123)));
+        assertThat(converter.parse("03/Dec/2012:01:02:05 +0000"), is(date(2012, 12, 3, 1, 2, 5)));
+        assertThat(converter.parse("1500-01-01"), is(Dates.format(Dates.RFC3339_WITHOUT_TIME).parse("1500-01-01")));
+    }
+
+    @Test
+    public void isSafeToShareBetweenThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                final int seed = t;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        Random random = new Random(seed);
+                        DateFormatter formatter = Dates.formatter(Dates.RFC822);
+                        for (int i = 0; i < 500; i++) {
+                            Date value = new Date(random.nextInt() * 1000L);
+                            if (!formatter.parse(formatter.format(value)).equals(value)) return false;
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) assertThat(result.get(), is(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -20,12 +20,16 @@ import static com.googlecode.totallylazy.Maps.map;
 import static com.googlecode.totallylazy.Pair.pair;
 import static com.googlecode.totallylazy.predicates.Predicates.is;
 import static com.googlecode.totallylazy.Sequences.sequence;
+import static com.googlecode.totallylazy.xml.streaming.StreamingXPath.childOf;
+import static com.googlecode.totallylazy.xml.streaming.StreamingXPath.descendantOf;
 import static com.googlecode.totallylazy.xml.streaming.XPath.attribute;
 import static com.googlecode.totallylazy.xml.streaming.XPath.child;
 import static com.googlecode.totallylazy.xml.streaming.XPath.descendant;
 import static com.googlecode.totallylazy.xml.streaming.XPath.name;
 import static com.googlecode.totallylazy.xml.streaming.XPath.xpath;
 import static com.googlecode.totallylazy.xml.streaming.Xml.contexts;
+import static com.googlecode.totallylazy.xml.streaming.Xml.elements;
+import static com.googlecode.totallylazy.xml.streaming.Xml.matches;
 import static com.googlecode.totallylazy.xml.streaming.Xml.nodes;
 
 public class XmlTest {
@@ -166,4 +170,39 @@ public class XmlTest {
         assertThat(Xml.asString(stream.first()), is("<item><child foo=\"bar\"/><child/></item>"));
         assertThat(Xml.asString(stream.second()), is("<item><child/><child baz=\"bar\"/></item>"));
     }
+
+    @Test
+    public void supportsCompiledStreamingXPaths() throws Exception {
+        String xml = "<stream><user id='1'><first>Dan</first></user><group><user id='2'><first>Jason</first></user></group></stream>";
+        assertThat(elements(new StringReader(xml), descendantOf("user")).map(user -> user.attributes().get("id")), is(sequence("1", "2")));
+        assertThat(elements(new StringReader(xml), childOf("stream").child("user")).map(user -> user.attributes().get("id")), is(sequence("1")));
+        assertThat(nodes(new StringReader(xml), descendantOf("user").child(name("first"))).map(Xml::asString), is(sequence("<first>Dan</first>", "<first>Jason</first>")));
+        assertThat(nodes(new StringReader(xml), descendantOf("stream").descendant(name("user").and(attribute("id", is("2"))))).map(Xml::asString),
+                is(sequence("<user id=\"2\"><first>Jason</first></user>")));
+    }
+
+    @Test
+    public void streamingXPathsCanMatchText() throws Exception {
+        String xml = "<stream><first>Dan</first><last>Bod</last></stream>";
+        assertThat(matches(new StringReader(xml), descendantOf("last").child(XPath.text()), reader -> reader.getText()), is(sequence("Bod")));
+    }
+
+    @Test
+    public void streamingXPathsFindNestedElementsWhenNotConsumingThem() throws Exception {
+        String xml = "<stream><item id='1'><item id='2'/></item></stream>";
+        assertThat(elements(new StringReader(xml), descendantOf("item")).map(item -> item.attributes().get("id")), is(sequence("1", "2")));
+    }
+
+    @Test
+    public void attributeStepsSkipTextInMixedContent() throws Exception {
+        String xml = "<r>hello<a id='1'/>world<b id='2'/></r>";
+        assertThat(elements(new StringReader(xml), descendantOf("r").child(attribute("id", is("1")))).map(Element::name), is(sequence("a")));
+    }
+
+    @Test
+    public void nodesByNameIncludesNestedMatches() throws Exception {
+        String xml = "<r><a><a>inner</a></a></r>";
+        assertThat(nodes(new StringReader(xml), "a").map(Xml::asString), is(sequence("<a><a>inner</a></a>", "<a>inner</a>")));
+        assertThat(nodes(new StringReader(xml), descendantOf("a")).map(Xml::asString), is(sequence("<a><a>inner</a></a>")));
+    }
 }